@@ -0,0 +1,49 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.benchmarks;
+
+import com.phoenixnap.oss.ramlapisync.generation.RamlParser;
+import com.phoenixnap.oss.ramlapisync.naming.SchemaCodeModelCache;
+import com.phoenixnap.oss.ramlapisync.raml.RamlRoot;
+import com.phoenixnap.oss.ramlapisync.raml.rjp.raml10v2.RJP10V2RamlRoot;
+import com.sun.codemodel.JCodeModel;
+
+/**
+ * Settings shared by the benchmarks
+ *
+ * @since 0.10.15
+ */
+final class Benchmarks {
+
+	static final String BASE_PACKAGE = "com.gen.bench";
+
+	static final String SCHEMA_LOCATION = "classpath:/";
+
+	private Benchmarks() {
+	}
+
+	/**
+	 * Creates a parser mapping all bodies into the given code model, the way the plugin generates them
+	 *
+	 * @param codeModel The code model to generate bodies into
+	 * @param raml The RAML document which will be parsed
+	 * @return The parser
+	 */
+	static RamlParser createParser(JCodeModel codeModel, RamlRoot raml) {
+		RamlParser parser = new RamlParser(BASE_PACKAGE, "/api", false, false);
+		if (!(raml instanceof RJP10V2RamlRoot)) {
+			parser.setSchemaCodeModelCache(new SchemaCodeModelCache(codeModel, SCHEMA_LOCATION, null, null));
+		}
+		return parser;
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.phoenixnap.oss.ramlapisync.data.ApiResourceMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.MemoryCodeWriter;
+import com.phoenixnap.oss.ramlapisync.generation.rules.RamlLoader;
+import com.phoenixnap.oss.ramlapisync.generation.rules.Spring4ControllerStubRule;
+import com.phoenixnap.oss.ramlapisync.raml.InvalidRamlResourceException;
+import com.phoenixnap.oss.ramlapisync.raml.RamlRoot;
+import com.sun.codemodel.JCodeModel;
+
+/**
+ * Benchmarks applying the Spring 4 controller stub rule to the extracted controllers and rendering the resulting code
+ * models. Each controller is generated into its own code model, as the plugin does for RAML 0.8, since resources may
+ * share a controller name.
+ *
+ * @since 0.10.15
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CodeGenerationBenchmark {
+
+	@Param({ "test-style-success.raml", "raml/raml-equivalence-test-v08.raml", "raml/raml-interpreter-test-v10.raml",
+			"rules/raml-with-union-types.raml" })
+	public String ramlFile;
+
+	private final Spring4ControllerStubRule rule = new Spring4ControllerStubRule();
+
+	private Set<ApiResourceMetadata> controllers;
+
+	private List<JCodeModel> codeModels;
+
+	@Setup
+	public void generate() throws InvalidRamlResourceException {
+		RamlRoot raml = RamlLoader.loadRamlFromFile(ramlFile);
+		JCodeModel codeModel = new JCodeModel();
+		controllers = Benchmarks.createParser(codeModel, raml).extractControllers(codeModel, raml);
+		codeModels = applyStubRule();
+		codeModels.add(codeModel);
+	}
+
+	@Benchmark
+	public List<JCodeModel> applyStubRule() {
+		List<JCodeModel> controllerCodeModels = new ArrayList<>();
+		for (ApiResourceMetadata controller : controllers) {
+			JCodeModel controllerCodeModel = new JCodeModel();
+			rule.apply(controller, controllerCodeModel);
+			controllerCodeModels.add(controllerCodeModel);
+		}
+		return controllerCodeModels;
+	}
+
+	@Benchmark
+	public MemoryCodeWriter build() throws IOException {
+		MemoryCodeWriter writer = new MemoryCodeWriter();
+		for (JCodeModel codeModel : codeModels) {
+			codeModel.build(writer);
+		}
+		return writer;
+	}
+}
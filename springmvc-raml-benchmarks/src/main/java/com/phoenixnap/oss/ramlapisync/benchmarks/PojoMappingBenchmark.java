@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
+
+import com.phoenixnap.oss.ramlapisync.data.ApiBodyMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.rules.RamlLoader;
+import com.phoenixnap.oss.ramlapisync.naming.RamlTypeHelper;
+import com.phoenixnap.oss.ramlapisync.naming.SchemaHelper;
+import com.phoenixnap.oss.ramlapisync.pojo.PojoGenerationConfig;
+import com.phoenixnap.oss.ramlapisync.raml.InvalidRamlResourceException;
+import com.phoenixnap.oss.ramlapisync.raml.RamlDataType;
+import com.phoenixnap.oss.ramlapisync.raml.RamlRoot;
+import com.sun.codemodel.JCodeModel;
+
+/**
+ * Benchmarks mapping RAML 1.0 types and JSON schemas to POJOs, and converting classes back to JSON schemas
+ *
+ * @since 0.10.15
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PojoMappingBenchmark {
+
+	private final PojoGenerationConfig config = new PojoGenerationConfig().withPackage(Benchmarks.BASE_PACKAGE, null);
+
+	private RamlRoot typesRaml;
+
+	private List<TypeDeclaration> types;
+
+	private RamlRoot schemasRaml;
+
+	@Setup
+	public void loadRaml() throws InvalidRamlResourceException {
+		typesRaml = RamlLoader.loadRamlFromFile("raml/raml-interpreter-test-v10.raml");
+		types = new ArrayList<>();
+		for (RamlDataType type : typesRaml.getTypes().values()) {
+			types.add(type.getType());
+		}
+		schemasRaml = RamlLoader.loadRamlFromFile("raml/raml-equivalence-test-v08.raml");
+	}
+
+	@Benchmark
+	public JCodeModel mapTypeToPojo(Blackhole blackhole) {
+		JCodeModel codeModel = new JCodeModel();
+		for (TypeDeclaration type : types) {
+			blackhole.consume(RamlTypeHelper.mapTypeToPojo(config, codeModel, typesRaml, type));
+		}
+		return codeModel;
+	}
+
+	@Benchmark
+	public void mapSchemaToPojo(Blackhole blackhole) {
+		for (Map<String, String> schemas : schemasRaml.getSchemas()) {
+			for (Map.Entry<String, String> schema : schemas.entrySet()) {
+				ApiBodyMetadata body = SchemaHelper.mapSchemaToPojo(schemasRaml, schema.getValue(), Benchmarks.BASE_PACKAGE,
+						schema.getKey(), Benchmarks.SCHEMA_LOCATION);
+				blackhole.consume(body);
+			}
+		}
+	}
+
+	@Benchmark
+	public String convertClassToJsonSchema() {
+		return SchemaHelper.convertClassToJsonSchema(Album.class, "An album and its songs", null);
+	}
+
+	public static class Album {
+
+		public String title;
+
+		public Artist artist;
+
+		public List<Song> songs;
+	}
+
+	public static class Artist {
+
+		public String name;
+
+		public List<Album> albums;
+	}
+
+	public static class Song {
+
+		public String title;
+
+		public int durationSeconds;
+
+		public List<String> tags;
+	}
+}
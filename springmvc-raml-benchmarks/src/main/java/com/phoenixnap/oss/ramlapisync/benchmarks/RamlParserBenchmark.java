@@ -0,0 +1,72 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.benchmarks;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.phoenixnap.oss.ramlapisync.data.ApiResourceMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.RamlParser;
+import com.phoenixnap.oss.ramlapisync.generation.rules.RamlLoader;
+import com.phoenixnap.oss.ramlapisync.raml.InvalidRamlResourceException;
+import com.phoenixnap.oss.ramlapisync.raml.RamlRoot;
+import com.sun.codemodel.JCodeModel;
+
+/**
+ * Benchmarks loading RAML documents and extracting the controllers from them. RAML 0.8 schemas are mapped by a new
+ * parser into a new code model on each invocation, so that its schema cache does not hide the mapping cost.
+ *
+ * @since 0.10.15
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RamlParserBenchmark {
+
+	@Param({ "test-style-success.raml", "raml/raml-equivalence-test-v08.raml", "raml/raml-interpreter-test-v10.raml",
+			"rules/raml-with-union-types.raml" })
+	public String ramlFile;
+
+	private RamlRoot raml;
+
+	@Setup
+	public void loadRaml() throws InvalidRamlResourceException {
+		raml = RamlLoader.loadRamlFromFile(ramlFile);
+	}
+
+	@Benchmark
+	public RamlRoot loadRamlFromFile() throws InvalidRamlResourceException {
+		return RamlLoader.loadRamlFromFile(ramlFile);
+	}
+
+	@Benchmark
+	public Set<ApiResourceMetadata> extractControllers() {
+		JCodeModel codeModel = new JCodeModel();
+		return Benchmarks.createParser(codeModel, raml).extractControllers(codeModel, raml);
+	}
+}
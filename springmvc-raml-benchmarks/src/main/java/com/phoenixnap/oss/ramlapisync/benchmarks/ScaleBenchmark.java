@@ -0,0 +1,116 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.phoenixnap.oss.ramlapisync.data.ApiResourceMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.RamlParser;
+import com.phoenixnap.oss.ramlapisync.generation.rules.RamlLoader;
+import com.phoenixnap.oss.ramlapisync.generation.rules.Spring4ControllerStubRule;
+import com.phoenixnap.oss.ramlapisync.naming.SchemaCodeModelCache;
+import com.phoenixnap.oss.ramlapisync.raml.InvalidRamlResourceException;
+import com.phoenixnap.oss.ramlapisync.raml.RamlRoot;
+import com.phoenixnap.oss.ramlapisync.raml.RamlVersion;
+import com.phoenixnap.oss.ramlapisync.raml.SyntheticRamlGenerator;
+import com.sun.codemodel.JCodeModel;
+
+/**
+ * Benchmarks loading large synthetic RAML documents, extracting their controllers and generating them with the
+ * Spring 4 controller stub rule. Each operation takes seconds, so each is timed once per iteration.
+ *
+ * @since 0.10.15
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScaleBenchmark {
+
+	@Param({ "1000" })
+	public int resources;
+
+	@Param({ "V08", "V10" })
+	public RamlVersion version;
+
+	private File directory;
+
+	private String ramlFileUrl;
+
+	private RamlRoot raml;
+
+	@Setup
+	public void generateRaml() throws IOException, InvalidRamlResourceException {
+		directory = Files.createTempDirectory("synthetic-raml").toFile();
+		File ramlFile = new SyntheticRamlGenerator(resources).withResources(resources).withNestingDepth(6)
+				.withTypes(resources / 5).withLibraries(8).withUnions(resources / 20).generate(directory, version);
+		ramlFileUrl = ramlFile.toURI().toString();
+		raml = RamlLoader.loadRamlFromFile(ramlFileUrl);
+	}
+
+	@TearDown
+	public void deleteRaml() throws IOException {
+		FileUtils.deleteDirectory(directory);
+	}
+
+	@Benchmark
+	public RamlRoot loadRamlFromFile() throws InvalidRamlResourceException {
+		return RamlLoader.loadRamlFromFile(ramlFileUrl);
+	}
+
+	@Benchmark
+	public Set<ApiResourceMetadata> extractControllers() {
+		JCodeModel codeModel = new JCodeModel();
+		return createParser(codeModel).extractControllers(codeModel, raml);
+	}
+
+	@Benchmark
+	public JCodeModel generateControllers() {
+		JCodeModel codeModel = new JCodeModel();
+		Spring4ControllerStubRule rule = new Spring4ControllerStubRule();
+		for (ApiResourceMetadata controller : createParser(codeModel).extractControllers(codeModel, raml)) {
+			rule.apply(controller, new JCodeModel());
+		}
+		return codeModel;
+	}
+
+	private RamlParser createParser(JCodeModel codeModel) {
+		RamlParser parser = new RamlParser(Benchmarks.BASE_PACKAGE, "/api", false, false);
+		if (version == RamlVersion.V08) {
+			// The synthetic schemas refer to each other by file name
+			parser.setSchemaCodeModelCache(new SchemaCodeModelCache(codeModel,
+					new File(directory, SyntheticRamlGenerator.SCHEMAS_DIRECTORY).toURI().toString(), null, null));
+		}
+		return parser;
+	}
+}
@@ -178,7 +178,7 @@ public class ApiActionMetadata {
 			if (type != null && type.getType() != null) {
 				requestBody = RamlTypeHelper.mapTypeToPojo(config, codeModel, parent.getDocument(), type.getType());
 			} else if (StringUtils.hasText(schema)) {
-				requestBody = SchemaHelper.mapSchemaToPojo(parent.getDocument(), schema, config.getPojoPackage(), name, null);
+				requestBody = SchemaHelper.mapSchemaToPojo(parent.getDocument(), schema, config.getPojoPackage(), name, null, parent.getSchemaCodeModelCache());
 			}
 			if (requestBody != null) {
 				setRequestBody(requestBody, mime.getKey());
@@ -213,7 +213,7 @@ public class ApiActionMetadata {
 						if (type != null && type.getType() != null) {
 							responseBody = RamlTypeHelper.mapTypeToPojo(config, codeModel, parent.getDocument(), type.getType());
 						} else if (StringUtils.hasText(schema)) {
-							responseBody = SchemaHelper.mapSchemaToPojo(parent.getDocument(), schema, config.getPojoPackage(), name, null);
+							responseBody = SchemaHelper.mapSchemaToPojo(parent.getDocument(), schema, config.getPojoPackage(), name, null, parent.getSchemaCodeModelCache());
 						}
 						
 						if (responseBody != null) {
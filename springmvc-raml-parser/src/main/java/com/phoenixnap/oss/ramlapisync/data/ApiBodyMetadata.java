@@ -14,6 +14,7 @@ package com.phoenixnap.oss.ramlapisync.data;
 
 import org.jsonschema2pojo.Annotator;
 import org.jsonschema2pojo.GenerationConfig;
+import org.raml.v2.api.model.v10.datamodel.FileTypeDeclaration;
 import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
 
 import com.phoenixnap.oss.ramlapisync.naming.NamingHelper;
@@ -129,6 +130,13 @@ public class ApiBodyMetadata {
 	public boolean isArray() {
 		return array;
 	}
+
+	/**
+	 * @return True if this body is a RAML 1.0 file, ie. binary content without a schema
+	 */
+	public boolean isFile() {
+		return type instanceof FileTypeDeclaration;
+	}
 	
 	/**
 	 * Builds a JCodeModel for this body
@@ -13,6 +13,7 @@
 package com.phoenixnap.oss.ramlapisync.data;
 
 import com.phoenixnap.oss.ramlapisync.naming.NamingHelper;
+import com.phoenixnap.oss.ramlapisync.naming.SchemaCodeModelCache;
 import com.phoenixnap.oss.ramlapisync.pojo.PojoGenerationConfig;
 import com.phoenixnap.oss.ramlapisync.raml.RamlAction;
 import com.phoenixnap.oss.ramlapisync.raml.RamlActionType;
@@ -45,6 +46,7 @@ public class ApiResourceMetadata {
 	private boolean reverseOrderInClassNames;
 
 	private PojoGenerationConfig config;
+	private SchemaCodeModelCache schemaCodeModelCache;
 	Set<ApiActionMetadata> apiCalls = new LinkedHashSet<>();
 
 	public ApiResourceMetadata(PojoGenerationConfig config, JCodeModel bodyCodeModel, String controllerUrl, RamlResource resource, RamlRoot document, int resourceDepthInClassNames, int resourceTopLevelInClassNames, boolean reverseOrderInClassNames) {
@@ -141,4 +143,18 @@ public class ApiResourceMetadata {
 	public JCodeModel getBodyCodeModel() {
 		return this.bodyCodeModel;
 	}
+
+
+	/**
+	 * @return The cache used to share code models generated from JSON schemas between bodies, or null if schemas are
+	 *         mapped for every body
+	 */
+	public SchemaCodeModelCache getSchemaCodeModelCache() {
+		return schemaCodeModelCache;
+	}
+
+
+	public void setSchemaCodeModelCache(SchemaCodeModelCache schemaCodeModelCache) {
+		this.schemaCodeModelCache = schemaCodeModelCache;
+	}
 }
@@ -14,10 +14,21 @@ package com.phoenixnap.oss.ramlapisync.generation;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.apache.commons.io.output.StringBuilderWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.phoenixnap.oss.ramlapisync.generation.exception.InvalidCodeModelException;
 import com.sun.codemodel.JClass;
@@ -37,6 +48,18 @@ import com.sun.codemodel.JType;
  * @since 0.4.1
  */
 public abstract class CodeModelHelper {
+
+	private static final Logger logger = LoggerFactory.getLogger(CodeModelHelper.class);
+
+	/**
+	 * Simple class names already reported as ambiguous, per code model
+	 */
+	private static final Map<JCodeModel, Set<String>> reportedAmbiguousNames = Collections.synchronizedMap(new WeakHashMap<>());
+
+	/**
+	 * Classes referenced by name, per code model. The references are weak as each class refers to its code model.
+	 */
+	private static final Map<JCodeModel, Map<String, WeakReference<JClass>>> directClasses = new WeakHashMap<>();
 	
 	/**
 	 * Returns the string equivalent of the code model element
@@ -62,7 +85,10 @@ public abstract class CodeModelHelper {
     }
 
     /**
-     *	Searches inside a JCodeModel for a class with a specified name ignoring package
+     *	Searches inside a JCodeModel for a class with a specified name ignoring package. Each code model is locked
+     *	while it is searched, since the code models holding the bodies are shared by controllers generated on parallel
+     *	threads. Simple types are referenced in the first code model along with their package, so that rendering them
+     *	later on does not register anything in it.
      *
      * @param codeModels The codemodels which we will look inside
      * @param simpleClassName The class name to search for
@@ -71,49 +97,124 @@ public abstract class CodeModelHelper {
     public static JClass findFirstClassBySimpleName(JCodeModel[] codeModels, String simpleClassName) {
     	if (codeModels != null && codeModels.length > 0) {
     		for (JCodeModel codeModel : codeModels) {
-		        Iterator<JPackage> packages = codeModel.packages();
-		        while(packages.hasNext()) {
-		            JPackage jPackage = packages.next();
-		            Iterator<JDefinedClass> classes = jPackage.classes();
-		            while(classes.hasNext()) {
-		                JDefinedClass aClass = classes.next();
-		                if(aClass.name().equals(simpleClassName)) {
-		                    return aClass;
-		                }
-		            }
-		        }
+    			List<JDefinedClass> classes;
+    			synchronized (codeModel) {
+    				classes = findClassesBySimpleName(codeModel, simpleClassName);
+    			}
+    			if (!classes.isEmpty()) {
+    				if (classes.size() > 1) {
+    					reportAmbiguousName(codeModel, simpleClassName, classes);
+    				}
+    				return classes.get(0);
+    			}
+    		}
+    		synchronized (codeModels[0]) {
+    			JClass simpleType = findSimpleType(codeModels[0], simpleClassName);
+    			registerPackages(simpleType);
+    			return simpleType;
     		}
-    		//Is this a simple type?
-    		JType parseType;
-			try {
-				parseType = codeModels[0].parseType(simpleClassName);
-				if (parseType != null) {
-	    			if (parseType.isPrimitive()) {
-	    				return parseType.boxify();	    			
-	    			} else if (parseType instanceof JClass){
-	    				return (JClass) parseType;
-	    			}
-				}
-			} catch (ClassNotFoundException e) {
-				; //Do nothing we will throw an exception further down
-			}
-			
-			JClass boxedPrimitive = codeModels[0].ref("java.lang." + simpleClassName);
-			if (boxedPrimitive != null) {
-				return boxedPrimitive;
-			}
-    			
-			throw new InvalidCodeModelException("No unique class found for simple class name " + simpleClassName);
     	}
     	
     	throw new InvalidCodeModelException("No code models provided for " + simpleClassName);
     	
     }
 
+    private static JClass findSimpleType(JCodeModel codeModel, String simpleClassName) {
+		//Is this a simple type?
+		JType parseType;
+		try {
+			parseType = codeModel.parseType(simpleClassName);
+			if (parseType != null) {
+    			if (parseType.isPrimitive()) {
+    				return parseType.boxify();	    			
+    			} else if (parseType instanceof JClass){
+    				return (JClass) parseType;
+    			}
+			}
+		} catch (ClassNotFoundException e) {
+			; //Do nothing we will throw an exception further down
+		}
+		
+		JClass boxedPrimitive = codeModel.ref("java.lang." + simpleClassName);
+		if (boxedPrimitive != null) {
+			return boxedPrimitive;
+		}
+			
+		throw new InvalidCodeModelException("No unique class found for simple class name " + simpleClassName);
+    }
+
+    private static void registerPackages(JClass type) {
+    	type._package();
+    	for (JClass typeParameter : type.getTypeParameters()) {
+    		registerPackages(typeParameter);
+    	}
+    }
+
+    /**
+     * Searches inside a JCodeModel for all the top level classes with a specified name ignoring package. Each package
+     * keeps its classes keyed by name, so this looks the name up in every package rather than visiting every class,
+     * and always reflects the classes currently defined in the code model.
+     *
+     * @param codeModel The codemodel which we will look inside
+     * @param simpleClassName The class name to search for
+     * @return the classes matching the simple class name, in package order. More than one class means the name is
+     *         ambiguous
+     */
+    public static List<JDefinedClass> findClassesBySimpleName(JCodeModel codeModel, String simpleClassName) {
+    	List<JDefinedClass> classes = new ArrayList<>(1);
+    	Iterator<JPackage> packages = codeModel.packages();
+    	while (packages.hasNext()) {
+    		JDefinedClass aClass = packages.next()._getClass(simpleClassName);
+    		if (aClass != null) {
+    			classes.add(aClass);
+    		}
+    	}
+    	return classes;
+    }
+
+    private static void reportAmbiguousName(JCodeModel codeModel, String simpleClassName, List<JDefinedClass> classes) {
+    	boolean added;
+    	synchronized (reportedAmbiguousNames) {
+    		added = reportedAmbiguousNames.computeIfAbsent(codeModel, key -> new HashSet<>()).add(simpleClassName);
+    	}
+    	if (added) {
+    		List<String> names = new ArrayList<>();
+    		for (JDefinedClass aClass : classes) {
+    			names.add(aClass.fullName());
+    		}
+    		logger.warn("Simple class name " + simpleClassName + " is ambiguous " + names + ", using " + names.get(0));
+    	}
+    }
+
+    /**
+     * References a class which is not available to the generator by its name. The same reference is returned for a
+     * name within a code model, otherwise the class is not imported and its fully qualified name is written instead.
+     *
+     * @param codeModel The code model the class is referenced in
+     * @param fullyQualifiedName The name of the class, with nested classes separated by a dot
+     * @return The reference to the class
+     */
+    public static JClass directClass(JCodeModel codeModel, String fullyQualifiedName) {
+    	synchronized (directClasses) {
+    		Map<String, WeakReference<JClass>> classes = directClasses.computeIfAbsent(codeModel, key -> new HashMap<>());
+    		WeakReference<JClass> reference = classes.get(fullyQualifiedName);
+    		JClass directClass = reference == null ? null : reference.get();
+    		if (directClass == null) {
+    			directClass = codeModel.directClass(fullyQualifiedName);
+    			classes.put(fullyQualifiedName, new WeakReference<>(directClass));
+    		}
+    		return directClass;
+    	}
+    }
+
     public static JExtMethod ext(JMethod jMethod, JCodeModel jCodeModel) {
         return new JExtMethod(jMethod, jCodeModel);
     }
 
+    public static JExtMethod ext(JMethod jMethod, JDefinedClass declaringClass) {
+        return new JExtMethod(jMethod, declaringClass.owner(), declaringClass);
+    }
+
     public static String getVersion() {
         try {
             Properties prop = new Properties();
@@ -127,16 +228,22 @@ public abstract class CodeModelHelper {
     }
 
     /**
-     * Helper class because JMethod does not expose it's JCodeModel.
+     * Helper class because JMethod does not expose it's JCodeModel or the class declaring it.
      */
     public static class JExtMethod {
 
         private final JMethod jMethod;
         private final JCodeModel owner;
+        private final JDefinedClass declaringClass;
 
         public JExtMethod(JMethod jMethod, JCodeModel jCodeModel) {
+            this(jMethod, jCodeModel, null);
+        }
+
+        public JExtMethod(JMethod jMethod, JCodeModel jCodeModel, JDefinedClass declaringClass) {
             this.jMethod = jMethod;
             this.owner = jCodeModel;
+            this.declaringClass = declaringClass;
         }
 
         public JMethod get() {
@@ -146,5 +253,12 @@ public abstract class CodeModelHelper {
         public JCodeModel owner() {
             return owner;
         }
+
+        /**
+         * @return The class declaring the method or null if it is unknown
+         */
+        public JDefinedClass getDeclaringClass() {
+            return declaringClass;
+        }
     }
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.generation;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Records the wall time, the invocation count and the bytes allocated by each phase of a generation run, in total and
+ * per resource. Phases may be nested, eg. mapping schemas happens while controllers are extracted, in which case the
+ * outer phase includes the inner one.
+ *
+ * Code deep within the parser records its phases through {@link #phase(String)}, which uses the report activated on
+ * the current thread and does nothing if there is none. Allocations are measured on the thread running the phase, so
+ * a phase must be closed on the thread which started it. Allocated bytes are reported as -1 when the JVM cannot
+ * measure them.
+ *
+ * @since 0.10.15
+ */
+public class GenerationReport {
+
+	/**
+	 * Default name of the JSON report
+	 */
+	public static final String REPORT_FILE_NAME = "generation-report.json";
+
+	private static final ThreadLocal<GenerationReport> activeReport = new ThreadLocal<>();
+
+	private static final Phase NO_PHASE = () -> {
+		// Nothing is recorded
+	};
+
+	private final Map<String, PhaseStatistics> phases = new LinkedHashMap<>();
+
+	private final Map<String, Map<String, PhaseStatistics>> resources = new LinkedHashMap<>();
+
+	private final long startTime = System.nanoTime();
+
+	/**
+	 * A running phase, recorded once closed
+	 */
+	public interface Phase extends AutoCloseable {
+
+		@Override
+		void close();
+	}
+
+	/**
+	 * Makes this report record the phases started through {@link #phase(String)} on the current thread
+	 */
+	public void activate() {
+		activeReport.set(this);
+	}
+
+	/**
+	 * Stops recording the phases started through {@link #phase(String)} on the current thread
+	 */
+	public static void deactivate() {
+		activeReport.remove();
+	}
+
+	/**
+	 * Starts a phase in the report active on the current thread
+	 *
+	 * @param name The name of the phase
+	 * @return The running phase, which does nothing if no report is active
+	 */
+	public static Phase phase(String name) {
+		GenerationReport report = activeReport.get();
+		return report == null ? NO_PHASE : report.start(name, null);
+	}
+
+	/**
+	 * Starts a phase
+	 *
+	 * @param name The name of the phase
+	 * @param resource The resource the phase is generating or null if it is not specific to a resource
+	 * @return The running phase
+	 */
+	public Phase start(String name, String resource) {
+		long startNanos = System.nanoTime();
+		long startBytes = getAllocatedBytes();
+		return () -> {
+			long endBytes = getAllocatedBytes();
+			record(name, resource, System.nanoTime() - startNanos,
+					startBytes < 0 || endBytes < 0 ? -1 : endBytes - startBytes);
+		};
+	}
+
+	private synchronized void record(String name, String resource, long nanos, long allocatedBytes) {
+		phases.computeIfAbsent(name, key -> new PhaseStatistics()).add(nanos, allocatedBytes);
+		if (resource != null) {
+			resources.computeIfAbsent(resource, key -> new LinkedHashMap<>())
+					.computeIfAbsent(name, key -> new PhaseStatistics()).add(nanos, allocatedBytes);
+		}
+	}
+
+	private static long getAllocatedBytes() {
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		if (threadBean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+			if (allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()) {
+				return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return The totals of each phase, in the order the phases were first recorded
+	 */
+	public synchronized Map<String, PhaseStatistics> getPhases() {
+		return new LinkedHashMap<>(phases);
+	}
+
+	/**
+	 * @return The statistics of each phase per resource
+	 */
+	public synchronized Map<String, Map<String, PhaseStatistics>> getResources() {
+		Map<String, Map<String, PhaseStatistics>> copy = new LinkedHashMap<>();
+		for (Map.Entry<String, Map<String, PhaseStatistics>> resource : resources.entrySet()) {
+			copy.put(resource.getKey(), new LinkedHashMap<>(resource.getValue()));
+		}
+		return copy;
+	}
+
+	/**
+	 * Writes the report as JSON, with the time since the report was created as the total time
+	 *
+	 * @param file The file to write
+	 * @throws IOException If the file cannot be written
+	 */
+	public void write(File file) throws IOException {
+		File dir = file.getAbsoluteFile().getParentFile();
+		if (!dir.exists() && !dir.mkdirs()) {
+			throw new IOException("Could not create directory:" + dir.getAbsolutePath());
+		}
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("totalMillis", (System.nanoTime() - startTime) / 1_000_000);
+		report.put("phases", getPhases());
+		report.put("resources", getResources());
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+	}
+
+	/**
+	 * Lists the totals of each phase as properties named prefix.phase.count, prefix.phase.wallMillis and
+	 * prefix.phase.allocatedBytes
+	 *
+	 * @param prefix The prefix of the property names
+	 * @return The properties
+	 */
+	public synchronized Map<String, String> toProperties(String prefix) {
+		Map<String, String> properties = new LinkedHashMap<>();
+		for (Map.Entry<String, PhaseStatistics> phase : phases.entrySet()) {
+			String name = prefix + "." + phase.getKey() + ".";
+			properties.put(name + "count", String.valueOf(phase.getValue().getCount()));
+			properties.put(name + "wallMillis", String.valueOf(phase.getValue().getWallMillis()));
+			properties.put(name + "allocatedBytes", String.valueOf(phase.getValue().getAllocatedBytes()));
+		}
+		return properties;
+	}
+
+	/**
+	 * The accumulated statistics of a phase
+	 */
+	public static class PhaseStatistics {
+
+		private int count;
+
+		private long wallNanos;
+
+		private long allocatedBytes;
+
+		private synchronized void add(long nanos, long bytes) {
+			count++;
+			wallNanos += nanos;
+			allocatedBytes = allocatedBytes < 0 || bytes < 0 ? -1 : allocatedBytes + bytes;
+		}
+
+		/**
+		 * @return The amount of times the phase ran
+		 */
+		public synchronized int getCount() {
+			return count;
+		}
+
+		/**
+		 * @return The wall time spent in the phase in milliseconds
+		 */
+		public synchronized long getWallMillis() {
+			return wallNanos / 1_000_000;
+		}
+
+		/**
+		 * @return The bytes allocated by the phase, or -1 if they could not be measured
+		 */
+		public synchronized long getAllocatedBytes() {
+			return allocatedBytes;
+		}
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.generation;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.jsonschema2pojo.Annotator;
+import org.jsonschema2pojo.GenerationConfig;
+
+import com.phoenixnap.oss.ramlapisync.data.ApiResourceMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.rules.RamlLoader;
+import com.phoenixnap.oss.ramlapisync.generation.rules.Rule;
+import com.phoenixnap.oss.ramlapisync.naming.SchemaCodeModelCache;
+import com.phoenixnap.oss.ramlapisync.raml.InvalidRamlResourceException;
+import com.phoenixnap.oss.ramlapisync.raml.RamlRoot;
+import com.phoenixnap.oss.ramlapisync.raml.rjp.raml10v2.RJP10V2RamlRoot;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+
+/**
+ * Generates the sources for a RAML specification in memory, without writing anything to disk. Controllers are
+ * extracted with a {@link RamlParser} and passed through a {@link Rule}, and the resulting code models are rendered
+ * with a {@link MemoryCodeWriter}. The code models are laid out as in the maven plugin, so given the same parser, rule
+ * and schema configuration the sources match the files the plugin writes. Unlike the plugin, schemas and types which
+ * no resource references are never generated (ie. as with generateUnreferencedSchemas disabled).
+ *
+ * Sources are keyed by their path relative to the output directory (eg. com/example/model/Song.java), in the order
+ * the plugin would write them, so they can be compiled in-process (eg. with javax.tools) or compared directly.
+ *
+ * A generator is not thread safe. Since RAML 0.8 bodies are mapped into a code model per generation, the schema cache
+ * of the parser is replaced on each call.
+ *
+ * @since 0.10.15
+ */
+public class InMemoryCodeGenerator {
+
+	private final RamlParser parser;
+
+	private final Rule<JCodeModel, JDefinedClass, ApiResourceMetadata> rule;
+
+	private String schemaLocation;
+
+	private GenerationConfig generationConfig;
+
+	private Annotator annotator;
+
+	/**
+	 * @param parser The parser used to extract the controllers
+	 * @param rule The rule generating each controller
+	 */
+	public InMemoryCodeGenerator(RamlParser parser, Rule<JCodeModel, JDefinedClass, ApiResourceMetadata> rule) {
+		this.parser = parser;
+		this.rule = rule;
+	}
+
+	/**
+	 * @param schemaLocation Base location of the JSON schemas of a RAML 0.8 specification, used to resolve $ref tags eg
+	 *            "classpath:/". If null schemas are generated without a location
+	 * @return This generator
+	 */
+	public InMemoryCodeGenerator withSchemaLocation(String schemaLocation) {
+		this.schemaLocation = schemaLocation;
+		return this;
+	}
+
+	/**
+	 * @param generationConfig JsonSchema2Pojo configuration for the JSON schemas of a RAML 0.8 specification. If null
+	 *            a default config will be used
+	 * @return This generator
+	 */
+	public InMemoryCodeGenerator withGenerationConfig(GenerationConfig generationConfig) {
+		this.generationConfig = generationConfig;
+		return this;
+	}
+
+	/**
+	 * @param annotator JsonSchema2Pojo annotator for the JSON schemas of a RAML 0.8 specification. If null a default
+	 *            annotator will be used
+	 * @return This generator
+	 */
+	public InMemoryCodeGenerator withAnnotator(Annotator annotator) {
+		this.annotator = annotator;
+		return this;
+	}
+
+	/**
+	 * Loads a RAML specification and generates its sources
+	 *
+	 * @param ramlFileUrl The location of the raml file to load
+	 * @return The generated sources keyed by their relative path
+	 * @throws InvalidRamlResourceException If the RAML file is invalid
+	 * @throws IOException If the sources could not be rendered
+	 */
+	public Map<String, String> generate(String ramlFileUrl) throws InvalidRamlResourceException, IOException {
+		return generate(RamlLoader.loadRamlFromFile(ramlFileUrl));
+	}
+
+	/**
+	 * Generates the sources of a RAML specification
+	 *
+	 * @param raml The RAML specification
+	 * @return The generated sources keyed by their relative path. If multiple code models render the same file, the
+	 *         last one wins as it would on disk
+	 * @throws IOException If the sources could not be rendered
+	 */
+	public Map<String, String> generate(RamlRoot raml) throws IOException {
+		JCodeModel codeModel = new JCodeModel();
+		boolean unifiedControllers = raml instanceof RJP10V2RamlRoot;
+		if (!unifiedControllers) {
+			parser.setSchemaCodeModelCache(new SchemaCodeModelCache(codeModel, schemaLocation, generationConfig, annotator));
+		}
+		Set<ApiResourceMetadata> controllers = parser.extractControllers(codeModel, raml);
+
+		Map<String, String> sources = new LinkedHashMap<>();
+		for (ApiResourceMetadata controller : controllers) {
+			if (unifiedControllers) {
+				rule.apply(controller, codeModel);
+			} else {
+				// RAML 0.8 resources can share a controller name, which the rules would merge into a single class
+				JCodeModel controllerCodeModel = new JCodeModel();
+				rule.apply(controller, controllerCodeModel);
+				sources.putAll(render(controllerCodeModel));
+			}
+		}
+		sources.putAll(render(codeModel));
+		return Collections.unmodifiableMap(sources);
+	}
+
+	private Map<String, String> render(JCodeModel codeModel) throws IOException {
+		MemoryCodeWriter writer = new MemoryCodeWriter();
+		codeModel.build(writer);
+		return writer.getSources();
+	}
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.generation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JPackage;
+
+/**
+ * CodeWriter which only touches files whose content has changed, so that unchanged sources keep their timestamp and
+ * are not recompiled. Each file is rendered in memory and compared with the file already on disk before being
+ * written.
+ *
+ * The writer can be shared between multiple code models generated into the same directory. Once all models have
+ * been built {@link #finish()} deletes the files listed in the manifest of the previous run which were not generated
+ * again, and records the files generated by this run. Files which were not generated by the plugin are never
+ * deleted. The manifest is kept outside of the output directory (eg. under target/) so that it does not end up in a
+ * source root.
+ *
+ * @since 0.10.15
+ */
+public class IncrementalCodeWriter extends CodeWriter {
+
+	/**
+	 * Default name of the manifest listing the generated files
+	 */
+	public static final String MANIFEST_FILE_NAME = "generated-files";
+
+	private final File targetDir;
+
+	private final File manifestFile;
+
+	private final Set<String> previousFiles;
+
+	private final Set<String> generatedFiles = new LinkedHashSet<>();
+
+	private int writtenCount = 0;
+
+	private int unchangedCount = 0;
+
+	private int deletedCount = 0;
+
+	/**
+	 * Creates a writer for an output directory, loading the manifest of the previous run if present
+	 *
+	 * @param targetDir The root output directory
+	 * @param manifestFile The manifest listing the files generated in the output directory
+	 * @throws IOException If the manifest cannot be read
+	 */
+	public IncrementalCodeWriter(File targetDir, File manifestFile) throws IOException {
+		this.targetDir = targetDir;
+		this.manifestFile = manifestFile;
+		this.previousFiles = new LinkedHashSet<>();
+		if (manifestFile.isFile()) {
+			for (String line : Files.readAllLines(manifestFile.toPath(), StandardCharsets.UTF_8)) {
+				if (!line.trim().isEmpty()) {
+					previousFiles.add(line.trim());
+				}
+			}
+		}
+	}
+
+	@Override
+	public OutputStream openBinary(JPackage pkg, String fileName) throws IOException {
+		final String path = (pkg == null || pkg.isUnnamed()) ? fileName : pkg.name().replace('.', '/') + "/" + fileName;
+		return new ByteArrayOutputStream() {
+			@Override
+			public void close() throws IOException {
+				IncrementalCodeWriter.this.write(path, toByteArray());
+			}
+		};
+	}
+
+	@Override
+	public void close() throws IOException {
+		// Code models call this once built. The run is only complete once finish() is called
+	}
+
+	/**
+	 * Writes a file unless an identical file already exists
+	 *
+	 * @param path The path of the file relative to the output directory, using '/' as separator
+	 * @param content The content of the file
+	 * @return true if the file was written, false if it was already up to date
+	 * @throws IOException If the file cannot be read or written
+	 */
+	public synchronized boolean write(String path, byte[] content) throws IOException {
+		generatedFiles.add(path);
+		File target = new File(targetDir, path);
+		if (target.isFile() && target.length() == content.length
+				&& Arrays.equals(Files.readAllBytes(target.toPath()), content)) {
+			unchangedCount++;
+			return false;
+		}
+		File parent = target.getParentFile();
+		if (!parent.exists() && !parent.mkdirs() && !parent.isDirectory()) {
+			throw new IOException("Could not create directory:" + parent.getAbsolutePath());
+		}
+		Files.write(target.toPath(), content);
+		writtenCount++;
+		return true;
+	}
+
+	/**
+	 * Marks files which were generated by a previous run and are still valid, so that they are not deleted as stale
+	 *
+	 * @param paths The paths of the files relative to the output directory, using '/' as separator
+	 */
+	public synchronized void keep(Collection<String> paths) {
+		generatedFiles.addAll(paths);
+	}
+
+	/**
+	 * Deletes stale files generated by the previous run and records the files generated by this run
+	 *
+	 * @throws IOException If the manifest cannot be written
+	 */
+	public synchronized void finish() throws IOException {
+		for (String previousFile : previousFiles) {
+			if (!generatedFiles.contains(previousFile)) {
+				File stale = new File(targetDir, previousFile);
+				if (stale.isFile() && stale.delete()) {
+					deletedCount++;
+					deleteEmptyParents(stale.getParentFile());
+				}
+			}
+		}
+		File manifestDir = manifestFile.getAbsoluteFile().getParentFile();
+		if (!manifestDir.exists() && !manifestDir.mkdirs()) {
+			throw new IOException("Could not create directory:" + manifestDir.getAbsolutePath());
+		}
+		Files.write(manifestFile.toPath(), new TreeSet<>(generatedFiles), StandardCharsets.UTF_8);
+	}
+
+	private void deleteEmptyParents(File dir) {
+		File current = dir;
+		while (current != null && !current.equals(targetDir)) {
+			String[] children = current.list();
+			if (children == null || children.length > 0 || !current.delete()) {
+				return;
+			}
+			current = current.getParentFile();
+		}
+	}
+
+	/**
+	 * @return The amount of files written because they were new or changed
+	 */
+	public synchronized int getWrittenCount() {
+		return writtenCount;
+	}
+
+	/**
+	 * @return The amount of files left untouched since their content did not change
+	 */
+	public synchronized int getUnchangedCount() {
+		return unchangedCount;
+	}
+
+	/**
+	 * @return The amount of stale files deleted by {@link #finish()}
+	 */
+	public synchronized int getDeletedCount() {
+		return deletedCount;
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.generation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JPackage;
+
+/**
+ * CodeWriter which renders a JCodeModel into memory rather than to disk. Files are kept in the order in which the
+ * code model emitted them and keyed by their path relative to the output directory, using '/' as separator
+ * (eg. com/example/model/Song.java). The rendered content is exactly what a FileCodeWriter would have written.
+ *
+ * @since 0.10.15
+ */
+public class MemoryCodeWriter extends CodeWriter {
+
+	private final Map<String, ByteArrayOutputStream> files = new LinkedHashMap<>();
+
+	@Override
+	public OutputStream openBinary(JPackage pkg, String fileName) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		files.put(toPath(pkg, fileName), outputStream);
+		return outputStream;
+	}
+
+	@Override
+	public void close() throws IOException {
+		// Nothing to release
+	}
+
+	/**
+	 * @return The rendered files keyed by their relative path, in the order in which they were rendered
+	 */
+	public Map<String, byte[]> getFiles() {
+		Map<String, byte[]> rendered = new LinkedHashMap<>();
+		for (Map.Entry<String, ByteArrayOutputStream> file : files.entrySet()) {
+			rendered.put(file.getKey(), file.getValue().toByteArray());
+		}
+		return Collections.unmodifiableMap(rendered);
+	}
+
+	/**
+	 * @return The rendered files decoded with the encoding they were written in, keyed by their relative path, in the
+	 *         order in which they were rendered
+	 */
+	public Map<String, String> getSources() {
+		Charset charset = encoding == null ? Charset.defaultCharset() : Charset.forName(encoding);
+		Map<String, String> sources = new LinkedHashMap<>();
+		for (Map.Entry<String, ByteArrayOutputStream> file : files.entrySet()) {
+			sources.put(file.getKey(), new String(file.getValue().toByteArray(), charset));
+		}
+		return Collections.unmodifiableMap(sources);
+	}
+
+	private static String toPath(JPackage pkg, String fileName) {
+		if (pkg == null || pkg.isUnnamed()) {
+			return fileName;
+		}
+		return pkg.name().replace('.', '/') + "/" + fileName;
+	}
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.generation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JPackage;
+
+/**
+ * CodeWriter which writes files on a pool of threads. JCodeModel renders its classes one at a time on the calling
+ * thread, so each file is rendered into memory and handed to the pool once complete, leaving the calling thread free
+ * to render the next class while earlier ones are written through file channels. Each directory is created once.
+ *
+ * Files written to the same path more than once are written in the order they were rendered, so the last one wins
+ * as it would with a FileCodeWriter. The writer can be shared between multiple code models generated into the same
+ * directory. Once all models have been built {@link #finish()} waits for the pending writes and reports the first
+ * failure.
+ *
+ * @since 0.10.15
+ */
+public class ParallelCodeWriter extends CodeWriter {
+
+	private final Path targetDir;
+
+	private final ExecutorService executor;
+
+	private final Set<Path> createdDirectories = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+	private final Map<String, CompletableFuture<Void>> pendingWrites = new HashMap<>();
+
+	private final AtomicInteger fileCount = new AtomicInteger();
+
+	private final AtomicLong byteCount = new AtomicLong();
+
+	private long startTime;
+
+	private long elapsedTime;
+
+	/**
+	 * @param targetDir The root output directory
+	 * @param threads The amount of threads writing files
+	 */
+	public ParallelCodeWriter(File targetDir, int threads) {
+		this.targetDir = targetDir.toPath();
+		// Daemon threads do not keep the build running if generation fails before finish() is called
+		this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+			Thread thread = new Thread(runnable, "raml-code-writer");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@Override
+	public OutputStream openBinary(JPackage pkg, String fileName) throws IOException {
+		final String path = (pkg == null || pkg.isUnnamed()) ? fileName : pkg.name().replace('.', '/') + "/" + fileName;
+		return new ByteArrayOutputStream() {
+			@Override
+			public void close() throws IOException {
+				ParallelCodeWriter.this.write(path, toByteArray());
+			}
+		};
+	}
+
+	@Override
+	public void close() throws IOException {
+		// Code models call this once built. Writes are only complete once finish() is called
+	}
+
+	/**
+	 * Schedules a file to be written, replacing any existing file
+	 *
+	 * @param path The path of the file relative to the output directory, using '/' as separator
+	 * @param content The content of the file
+	 */
+	public synchronized void write(String path, byte[] content) {
+		if (startTime == 0) {
+			startTime = System.nanoTime();
+		}
+		CompletableFuture<Void> previous = pendingWrites.get(path);
+		Runnable task = () -> writeFile(path, content);
+		pendingWrites.put(path, previous == null ? CompletableFuture.runAsync(task, executor)
+				: previous.thenRunAsync(task, executor));
+	}
+
+	private void writeFile(String path, byte[] content) {
+		Path target = targetDir.resolve(path);
+		try {
+			Path parent = target.getParent();
+			if (parent != null && !createdDirectories.contains(parent)) {
+				Files.createDirectories(parent);
+				createdDirectories.add(parent);
+			}
+			try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.TRUNCATE_EXISTING)) {
+				ByteBuffer buffer = ByteBuffer.wrap(content);
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not write " + target, e);
+		}
+		fileCount.incrementAndGet();
+		byteCount.addAndGet(content.length);
+	}
+
+	/**
+	 * Waits for all scheduled files to be written and stops the threads writing them
+	 *
+	 * @throws IOException If a file could not be written
+	 */
+	public synchronized void finish() throws IOException {
+		try {
+			CompletableFuture.allOf(pendingWrites.values().toArray(new CompletableFuture<?>[0])).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) e.getCause()).getCause();
+			}
+			throw new IOException("Could not write generated files", e.getCause());
+		} finally {
+			executor.shutdown();
+			if (startTime != 0) {
+				elapsedTime = System.nanoTime() - startTime;
+			}
+		}
+	}
+
+	/**
+	 * Stops the threads writing files without waiting for pending writes. Does nothing once {@link #finish()} returned
+	 */
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * @return The amount of files written
+	 */
+	public int getFileCount() {
+		return fileCount.get();
+	}
+
+	/**
+	 * @return The amount of bytes written
+	 */
+	public long getByteCount() {
+		return byteCount.get();
+	}
+
+	/**
+	 * @return The time from the first scheduled file until all files were written, in milliseconds
+	 */
+	public synchronized long getElapsedMillis() {
+		return elapsedTime / 1_000_000;
+	}
+
+	/**
+	 * @return The amount of files written per second, measured by {@link #finish()}
+	 */
+	public synchronized double getFilesPerSecond() {
+		return elapsedTime == 0 ? 0 : getFileCount() * 1_000_000_000d / elapsedTime;
+	}
+
+	/**
+	 * @return The amount of bytes written per second, measured by {@link #finish()}
+	 */
+	public synchronized double getBytesPerSecond() {
+		return elapsedTime == 0 ? 0 : getByteCount() * 1_000_000_000d / elapsedTime;
+	}
+}
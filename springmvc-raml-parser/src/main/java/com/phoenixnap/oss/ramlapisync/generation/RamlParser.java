@@ -12,7 +12,9 @@
  */
 package com.phoenixnap.oss.ramlapisync.generation;
 
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
@@ -21,6 +23,7 @@ import org.slf4j.LoggerFactory;
 
 import com.phoenixnap.oss.ramlapisync.data.ApiResourceMetadata;
 import com.phoenixnap.oss.ramlapisync.naming.RamlHelper;
+import com.phoenixnap.oss.ramlapisync.naming.SchemaCodeModelCache;
 import com.phoenixnap.oss.ramlapisync.pojo.PojoGenerationConfig;
 import com.phoenixnap.oss.ramlapisync.raml.RamlAction;
 import com.phoenixnap.oss.ramlapisync.raml.RamlActionType;
@@ -90,6 +93,11 @@ public class RamlParser {
 	 */
 	protected boolean reverseOrderInClassNames = DEFAULT_REVERSE_ORDER;
 
+	/**
+	 * Code models generated from JSON schemas while parsing, shared by all the bodies referencing the same schema
+	 */
+	private SchemaCodeModelCache schemaCodeModelCache = new SchemaCodeModelCache();
+
 	public RamlParser (PojoGenerationConfig config) {
 		this.config = config;
 	}
@@ -124,6 +132,23 @@ public class RamlParser {
 	public Set<ApiResourceMetadata> extractControllers (JCodeModel bodyCodeModel, RamlRoot raml) {
 		
 		Set<ApiResourceMetadata> controllers = new LinkedHashSet<>();
+		for (Set<ApiResourceMetadata> resourceControllers : extractControllersByResource(bodyCodeModel, raml).values()) {
+			controllers.addAll(resourceControllers);
+		}
+		return controllers;
+	}
+
+	/**
+	 * This method will extract the controllers from the RAML file grouped by the top level resource they were
+	 * inferred from. The controllers are the same as the ones returned by {@link #extractControllers(JCodeModel, RamlRoot)}
+	 * 
+	 * @param bodyCodeModel the code model containing body objects
+	 * @param raml The raml document to be parsed
+	 * @return The Controllers keyed by the relative uri of the top level resource, as used in {@link RamlRoot#getResources()}
+	 */
+	public Map<String, Set<ApiResourceMetadata>> extractControllersByResource (JCodeModel bodyCodeModel, RamlRoot raml) {
+		
+		Map<String, Set<ApiResourceMetadata>> controllers = new LinkedHashMap<>();
 		if (raml == null) {
 			return controllers;
 		}
@@ -144,14 +169,16 @@ public class RamlParser {
 					namesToDisable.add(resourceMetadata.getResourceName());
 				}
 				names.add(resourceMetadata.getResourceName());
-				controllers.add(resourceMetadata);
 			}
+			controllers.put(resource.getKey(), resources);
 		}
 		
 		//second pass, disabling singularisation
-		for (ApiResourceMetadata resourceMetadata : controllers) {
-			if (namesToDisable.contains(resourceMetadata.getResourceName())) {
-				resourceMetadata.setSingularizeName(false);
+		for (Set<ApiResourceMetadata> resourceControllers : controllers.values()) {
+			for (ApiResourceMetadata resourceMetadata : resourceControllers) {
+				if (namesToDisable.contains(resourceMetadata.getResourceName())) {
+					resourceMetadata.setSingularizeName(false);
+				}
 			}
 		}
 		
@@ -195,6 +222,7 @@ public class RamlParser {
 		String url = baseUrl + resource.getRelativeUri();
 		if (controller == null && shouldCreateController(resource)) {
 			controller = new ApiResourceMetadata(config, bodyCodeModel, url, resource, document, this.resourceDepthInClassNames, this.resourceTopLevelInClassNames, this.reverseOrderInClassNames);
+			controller.setSchemaCodeModelCache(schemaCodeModelCache);
 			controllers.add(controller);
 		}
 		//extract actions for this resource
@@ -229,5 +257,21 @@ public class RamlParser {
 		return controllers;	
 	}
 
+	/**
+	 * @return The cache of code models generated from JSON schemas by this parser, so that generating the body
+	 *         models with the same configuration does not map the schemas again
+	 */
+	public SchemaCodeModelCache getSchemaCodeModelCache() {
+		return schemaCodeModelCache;
+	}
+
+	/**
+	 * Replaces the cache used to map JSON schemas, eg. with a cache generating all schemas into a single code model
+	 *
+	 * @param schemaCodeModelCache The cache to use when extracting controllers
+	 */
+	public void setSchemaCodeModelCache(SchemaCodeModelCache schemaCodeModelCache) {
+		this.schemaCodeModelCache = schemaCodeModelCache;
+	}
 	
 }
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.generation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JPackage;
+
+/**
+ * Records which files were generated for each top level resource of a RAML document, together with the fingerprints
+ * of the inputs they were generated from (see {@link com.phoenixnap.oss.ramlapisync.raml.RamlSpecFingerprint}). On
+ * the next run resources whose fingerprint did not change can be skipped entirely, keeping the files generated by
+ * the previous run.
+ *
+ * @since 0.10.15
+ */
+public class ResourceManifest implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Class Logger
+	 */
+	protected static final Logger logger = LoggerFactory.getLogger(ResourceManifest.class);
+
+	/**
+	 * Default name of the manifest
+	 */
+	public static final String MANIFEST_FILE_NAME = "resources";
+
+	private final String globalFingerprint;
+
+	private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+	/**
+	 * Creates an empty manifest
+	 *
+	 * @param globalFingerprint Fingerprint of everything that can affect all resources (eg. types and plugin
+	 *            configuration). If null, the manifest will never report a resource as up to date
+	 */
+	public ResourceManifest(String globalFingerprint) {
+		this.globalFingerprint = globalFingerprint;
+	}
+
+	/**
+	 * Loads the manifest written by a previous run
+	 *
+	 * @param manifestFile The manifest, kept outside of the output directory (eg. under target/)
+	 * @return The manifest or null if there is no readable manifest
+	 */
+	public static ResourceManifest load(File manifestFile) {
+		if (!manifestFile.isFile()) {
+			return null;
+		}
+		try (ObjectInputStream inputStream = new ObjectInputStream(
+				new BufferedInputStream(new FileInputStream(manifestFile)))) {
+			return (ResourceManifest) inputStream.readObject();
+		} catch (IOException | ClassNotFoundException | ClassCastException ex) {
+			logger.debug("Ignoring unreadable resource manifest " + manifestFile, ex);
+			return null;
+		}
+	}
+
+	/**
+	 * Writes this manifest
+	 *
+	 * @param manifestFile The manifest, kept outside of the output directory (eg. under target/)
+	 * @throws IOException If the manifest cannot be written
+	 */
+	public void save(File manifestFile) throws IOException {
+		File manifestDir = manifestFile.getAbsoluteFile().getParentFile();
+		if (!manifestDir.exists() && !manifestDir.mkdirs()) {
+			throw new IOException("Could not create directory:" + manifestDir.getAbsolutePath());
+		}
+		try (ObjectOutputStream outputStream = new ObjectOutputStream(
+				new BufferedOutputStream(new FileOutputStream(manifestFile)))) {
+			outputStream.writeObject(this);
+		}
+	}
+
+	/**
+	 * Looks up the entry for a resource if it is still valid, ie. if neither the global nor the resource fingerprint
+	 * changed and all the files generated for the resource still exist
+	 *
+	 * @param globalFingerprint The current global fingerprint
+	 * @param resourceUri The relative uri of the top level resource
+	 * @param resourceFingerprint The current fingerprint of the resource
+	 * @param dir The output directory
+	 * @return The entry or null if the resource needs to be generated
+	 */
+	public Entry getUpToDateEntry(String globalFingerprint, String resourceUri, String resourceFingerprint, File dir) {
+		if (this.globalFingerprint == null || !this.globalFingerprint.equals(globalFingerprint)) {
+			return null;
+		}
+		Entry entry = entries.get(resourceUri);
+		if (entry == null || entry.fingerprint == null || !entry.fingerprint.equals(resourceFingerprint)) {
+			return null;
+		}
+		for (String file : entry.files) {
+			if (!new File(dir, file).isFile()) {
+				return null;
+			}
+		}
+		return entry;
+	}
+
+	/**
+	 * Adds a new entry for a resource which is being generated
+	 *
+	 * @param resourceUri The relative uri of the top level resource
+	 * @param resourceFingerprint The current fingerprint of the resource
+	 * @return The new entry
+	 */
+	public Entry addEntry(String resourceUri, String resourceFingerprint) {
+		Entry entry = new Entry(resourceFingerprint);
+		entries.put(resourceUri, entry);
+		return entry;
+	}
+
+	/**
+	 * Carries over an entry of a resource which is up to date
+	 *
+	 * @param resourceUri The relative uri of the top level resource
+	 * @param entry The entry from the previous manifest
+	 */
+	public void addEntry(String resourceUri, Entry entry) {
+		entries.put(resourceUri, entry);
+	}
+
+	/**
+	 * @return The entries keyed by the relative uri of the top level resource
+	 */
+	public Map<String, Entry> getEntries() {
+		return Collections.unmodifiableMap(entries);
+	}
+
+	/**
+	 * Lists the files which building a code model will generate
+	 *
+	 * @param codeModel The code model
+	 * @return The paths of the files relative to the output directory, using '/' as separator
+	 */
+	public static Set<String> getFiles(JCodeModel codeModel) {
+		Set<String> files = new LinkedHashSet<>();
+		Iterator<JPackage> packages = codeModel.packages();
+		while (packages.hasNext()) {
+			JPackage pkg = packages.next();
+			String directory = pkg.isUnnamed() ? "" : pkg.name().replace('.', '/') + "/";
+			Iterator<JDefinedClass> classes = pkg.classes();
+			while (classes.hasNext()) {
+				JDefinedClass definedClass = classes.next();
+				if (!definedClass.isHidden()) {
+					files.add(directory + definedClass.name() + ".java");
+				}
+			}
+		}
+		return files;
+	}
+
+	/**
+	 * The files generated for a top level resource and the names of the controllers extracted from it
+	 */
+	public static class Entry implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String fingerprint;
+
+		private final List<String> controllerNames = new ArrayList<>();
+
+		private final Set<String> files = new LinkedHashSet<>();
+
+		Entry(String fingerprint) {
+			this.fingerprint = fingerprint;
+		}
+
+		/**
+		 * @param names The names of the controllers extracted from this resource. These can change without the
+		 *            resource changing, eg. when another resource introduces a name collision
+		 */
+		public synchronized void setControllerNames(List<String> names) {
+			controllerNames.clear();
+			controllerNames.addAll(names);
+		}
+
+		/**
+		 * @return The names of the controllers extracted from this resource
+		 */
+		public synchronized List<String> getControllerNames() {
+			return new ArrayList<>(controllerNames);
+		}
+
+		/**
+		 * @param generatedFiles Paths of files generated for this resource, relative to the output directory
+		 */
+		public synchronized void addFiles(Collection<String> generatedFiles) {
+			files.addAll(generatedFiles);
+		}
+
+		/**
+		 * @return Paths of the files generated for this resource, relative to the output directory
+		 */
+		public synchronized Set<String> getFiles() {
+			return new LinkedHashSet<>(files);
+		}
+	}
+}
@@ -129,7 +129,7 @@ public class GenericJavaClassRule implements Rule<JCodeModel, JDefinedClass, Api
             JMethod jMethod = methodSignatureRule.apply(apiMappingMetadata, jClass);
             methodCommentRule.ifPresent(rule-> rule.apply(apiMappingMetadata, jMethod));
             methodAnnotationRules.forEach(rule -> rule.apply(apiMappingMetadata, jMethod));
-            methodBodyRule.ifPresent( rule -> rule.apply(apiMappingMetadata, CodeModelHelper.ext(jMethod, jClass.owner())));
+            methodBodyRule.ifPresent( rule -> rule.apply(apiMappingMetadata, CodeModelHelper.ext(jMethod, jClass)));
         });
         return jClass;
     }
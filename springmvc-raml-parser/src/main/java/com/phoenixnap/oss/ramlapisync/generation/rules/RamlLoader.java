@@ -12,10 +12,13 @@
  */
 package com.phoenixnap.oss.ramlapisync.generation.rules;
 
+import org.raml.v2.api.RamlModelBuilder;
+import org.raml.v2.api.RamlModelResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.phoenixnap.oss.ramlapisync.raml.InvalidRamlResourceException;
+import com.phoenixnap.oss.ramlapisync.raml.RamlModelCache;
 import com.phoenixnap.oss.ramlapisync.raml.RamlModelFactoryOfFactories;
 import com.phoenixnap.oss.ramlapisync.raml.RamlRoot;
 
@@ -34,20 +37,53 @@ public class RamlLoader {
 	protected static final Logger logger = LoggerFactory.getLogger(RamlLoader.class);
 
 	/**
-	 * Loads a RAML document from a file. This method will
+	 * Loads a RAML document from a file. This method will parse the document only once, using the result both to
+	 * identify the RAML version and (for RAML 1.0) to build the model. The time taken to load is logged.
 	 * 
 	 * @param ramlFileUrl The path to the file, this can either be a resource on the class path (in which case the classpath: prefix should be omitted) or a file on disk (in which case the file: prefix should be included)
 	 * @return Built Raml model
 	 * @throws InvalidRamlResourceException If the Raml Provided isnt correct for the required parser
 	 */
 	public static RamlRoot loadRamlFromFile(String ramlFileUrl) throws InvalidRamlResourceException {
+		return loadRamlFromFile(ramlFileUrl, null);
+	}
+
+	/**
+	 * Loads a RAML document from a file, reusing a previously parsed model if neither the document nor any of the
+	 * files it includes have changed since it was cached.
+	 * 
+	 * @param ramlFileUrl The path to the file, this can either be a resource on the class path (in which case the classpath: prefix should be omitted) or a file on disk (in which case the file: prefix should be included)
+	 * @param cache (nullable) The cache to look up and store parsed models in
+	 * @return Built Raml model
+	 * @throws InvalidRamlResourceException If the Raml Provided isnt correct for the required parser
+	 */
+	public static RamlRoot loadRamlFromFile(String ramlFileUrl, RamlModelCache cache) throws InvalidRamlResourceException {
 		try {
-			return RamlModelFactoryOfFactories.createRamlModelFactoryFor(ramlFileUrl).buildRamlRoot(ramlFileUrl);
+			long startTime = System.currentTimeMillis();
+			String contentHash = null;
+			if (cache != null) {
+				contentHash = cache.computeContentHash(ramlFileUrl);
+				RamlRoot cachedRamlRoot = cache.get(contentHash, ramlFileUrl);
+				if (cachedRamlRoot != null) {
+					logger.info("RAML loaded from cache for " + ramlFileUrl + " in " + (System.currentTimeMillis() - startTime) + "ms");
+					return cachedRamlRoot;
+				}
+			}
+			// Parse the document once and hand the result to the factory instead of re-parsing it after version detection
+			long parseStartTime = System.currentTimeMillis();
+			RamlModelResult ramlModelResult = new RamlModelBuilder().buildApi(ramlFileUrl);
+			long parseTime = System.currentTimeMillis() - parseStartTime;
+			RamlRoot ramlRoot = RamlModelFactoryOfFactories.createRamlModelFactoryFor(ramlModelResult, ramlFileUrl, null)
+					.buildRamlRoot(ramlModelResult, ramlFileUrl);
+			if (cache != null) {
+				cache.put(contentHash, ramlModelResult, ramlRoot);
+			}
+			logger.info("RAML loaded from " + ramlFileUrl + " in " + (System.currentTimeMillis() - startTime) + "ms (parsing took " + parseTime + "ms)");
+			return ramlRoot;
 		} catch (NullPointerException npe) {
 			logger.error("File not found at " + ramlFileUrl);
 			return null;
 		}
 	}
 
-
 }
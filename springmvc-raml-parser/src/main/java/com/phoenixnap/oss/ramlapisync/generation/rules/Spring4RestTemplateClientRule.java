@@ -13,13 +13,17 @@
 package com.phoenixnap.oss.ramlapisync.generation.rules;
 
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.lang3.BooleanUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phoenixnap.oss.ramlapisync.data.ApiActionMetadata;
 import com.phoenixnap.oss.ramlapisync.data.ApiResourceMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.CodeModelHelper;
 import com.phoenixnap.oss.ramlapisync.generation.rules.basic.ClassAnnotationRule;
 import com.phoenixnap.oss.ramlapisync.generation.rules.basic.ClassCommentRule;
 import com.phoenixnap.oss.ramlapisync.generation.rules.basic.ClassFieldDeclarationRule;
@@ -30,10 +34,16 @@ import com.phoenixnap.oss.ramlapisync.generation.rules.basic.MethodCommentRule;
 import com.phoenixnap.oss.ramlapisync.generation.rules.basic.MethodParamsRule;
 import com.phoenixnap.oss.ramlapisync.generation.rules.basic.PackageRule;
 import com.phoenixnap.oss.ramlapisync.generation.rules.basic.ResourceClassDeclarationRule;
+import com.phoenixnap.oss.ramlapisync.generation.rules.spring.SpringAsyncRestClientMethodBodyRule;
+import com.phoenixnap.oss.ramlapisync.generation.rules.spring.SpringCompletableFutureResponseEntityRule;
 import com.phoenixnap.oss.ramlapisync.generation.rules.spring.SpringResponseEntityRule;
 import com.phoenixnap.oss.ramlapisync.generation.rules.spring.SpringRestClientMethodBodyRule;
+import com.phoenixnap.oss.ramlapisync.generation.rules.spring.SpringStreamedArrayParamsRule;
+import com.phoenixnap.oss.ramlapisync.generation.rules.spring.SpringStreamedArrayResponseEntityRule;
 import com.sun.codemodel.JCodeModel;
 import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JType;
 
 /**
  * 
@@ -61,6 +71,32 @@ import com.sun.codemodel.JDefinedClass;
 public class Spring4RestTemplateClientRule implements ConfigurableRule<JCodeModel, JDefinedClass, ApiResourceMetadata> {
     
  	public static final String ARRAY_PARAMETER_CONFIGURATION = "allowArrayParameters";
+
+	/**
+	 * If true, media types and headers are parsed once into static final fields of the client rather than on every call
+	 */
+	public static final String PRECOMPUTE_CONSTANTS_CONFIGURATION = "precomputeConstants";
+
+	/**
+	 * If true, the URI template of each endpoint is parsed once when the client is constructed and calls encode their
+	 * parameters directly rather than through a UriComponentsBuilder
+	 */
+	public static final String PRECOMPILE_URI_TEMPLATES_CONFIGURATION = "precompileUriTemplates";
+
+	/**
+	 * If true, client methods return a CompletableFuture of the ResponseEntity and run the call on an autowired Executor
+	 */
+	public static final String ASYNC_CLIENT_CONFIGURATION = "asyncClient";
+
+	private static final String EXECUTOR_FIELD_NAME = "executor";
+
+	/**
+	 * Passes the items of array responses one at a time to a consumer parameter of the client methods rather than
+	 * returning them as a list
+	 */
+	public static final String STREAM_ARRAY_RESPONSES_CONFIGURATION = "streamArrayResponses";
+
+	private static final String OBJECT_MAPPER_FIELD_NAME = "objectMapper";
 	
 	String restTemplateFieldName = "restTemplate";
 	
@@ -71,21 +107,34 @@ public class Spring4RestTemplateClientRule implements ConfigurableRule<JCodeMode
 	String restTemplateQualifierBeanName;
 	
 	boolean allowArrayParameters = true;
+
+	boolean precomputeConstants = false;
+
+	boolean precompileUriTemplates = false;
+
+	boolean asyncClient = false;
+
+	String executorQualifierBeanName;
+
+	boolean streamArrayResponses = false;
+
+	String objectMapperQualifierBeanName;
+
+	private GenericJavaClassRule interfaceGenerator;
 	
     @Override
     public final JDefinedClass apply(ApiResourceMetadata metadata, JCodeModel generatableType) {
 
-        JDefinedClass generatedInterface = new GenericJavaClassRule()
-                .setPackageRule(new PackageRule())
-                .setClassCommentRule(new ClassCommentRule())
-                .setClassRule(new ClientInterfaceDeclarationRule())  //MODIFIED
-                .setMethodCommentRule(new MethodCommentRule())
-                .setMethodSignatureRule(new ControllerMethodSignatureRule(
-                        new SpringResponseEntityRule(),
-                        new MethodParamsRule(true, allowArrayParameters)))
-                .apply(metadata, generatableType);
+        JDefinedClass generatedInterface = getInterfaceGenerator().apply(metadata, generatableType);
+
+        Rule<CodeModelHelper.JExtMethod, JMethod, ApiActionMetadata> methodBodyRule = new SpringRestClientMethodBodyRule(
+                restTemplateFieldName, baseUrlFieldName, precomputeConstants, precompileUriTemplates,
+                streamArrayResponses ? OBJECT_MAPPER_FIELD_NAME : null);
+        if (asyncClient) {
+            methodBodyRule = new SpringAsyncRestClientMethodBodyRule(EXECUTOR_FIELD_NAME, methodBodyRule);
+        }
 
-        
+        // The client pipeline implements the interface generated for this resource so it is assembled per resource
         GenericJavaClassRule clientGenerator = new GenericJavaClassRule()
                 .setPackageRule(new PackageRule())
                 .setClassCommentRule(new ClassCommentRule())
@@ -96,13 +145,47 @@ public class Spring4RestTemplateClientRule implements ConfigurableRule<JCodeMode
                 .addFieldDeclarationRule(new ClassFieldDeclarationRule(baseUrlFieldName, String.class, getBaseUrlConfigurationName())) //
                 .setMethodCommentRule(new MethodCommentRule())                
                 .setMethodSignatureRule(new ControllerMethodSignatureRule(
-                        new SpringResponseEntityRule(),
-                        new MethodParamsRule(false, allowArrayParameters)))
-                .setMethodBodyRule(new SpringRestClientMethodBodyRule(restTemplateFieldName, baseUrlFieldName));
+                        getResponseTypeRule(),
+                        getParamsRule(false)))
+                .setMethodBodyRule(methodBodyRule);
+        if (asyncClient) {
+            clientGenerator.addFieldDeclarationRule(new ClassFieldDeclarationRule(EXECUTOR_FIELD_NAME, Executor.class, true, executorQualifierBeanName));
+        }
+        if (streamArrayResponses) {
+            clientGenerator.addFieldDeclarationRule(new ClassFieldDeclarationRule(OBJECT_MAPPER_FIELD_NAME, ObjectMapper.class, true, objectMapperQualifierBeanName));
+        }
 
         return clientGenerator.apply(metadata, generatableType);
     }
 
+    /**
+     * Assembles the interface pipeline on first use and shares it between resources until the configuration changes
+     */
+    private synchronized GenericJavaClassRule getInterfaceGenerator() {
+        if (interfaceGenerator == null) {
+            interfaceGenerator = new GenericJavaClassRule()
+                    .setPackageRule(new PackageRule())
+                    .setClassCommentRule(new ClassCommentRule())
+                    .setClassRule(new ClientInterfaceDeclarationRule())  //MODIFIED
+                    .setMethodCommentRule(new MethodCommentRule())
+                    .setMethodSignatureRule(new ControllerMethodSignatureRule(
+                            getResponseTypeRule(),
+                            getParamsRule(true)));
+        }
+        return interfaceGenerator;
+    }
+
+    private Rule<JDefinedClass, JType, ApiActionMetadata> getResponseTypeRule() {
+        Rule<JDefinedClass, JType, ApiActionMetadata> responseTypeRule = streamArrayResponses
+                ? new SpringStreamedArrayResponseEntityRule() : new SpringResponseEntityRule();
+        return asyncClient ? new SpringCompletableFutureResponseEntityRule(responseTypeRule) : responseTypeRule;
+    }
+
+    private Rule<CodeModelHelper.JExtMethod, JMethod, ApiActionMetadata> getParamsRule(boolean addParameterJavadoc) {
+        MethodParamsRule paramsRule = new MethodParamsRule(addParameterJavadoc, allowArrayParameters);
+        return streamArrayResponses ? new SpringStreamedArrayParamsRule(paramsRule, addParameterJavadoc) : paramsRule;
+    }
+
 	private String getBaseUrlConfigurationName() {
 		if(!this.baseUrlConfigurationPath.startsWith("${")) {
 			this.baseUrlConfigurationPath = "${" + this.baseUrlConfigurationPath;
@@ -116,6 +199,9 @@ public class Spring4RestTemplateClientRule implements ConfigurableRule<JCodeMode
 	@Override
 	public void applyConfiguration(Map<String, String> configuration) {
 		if(!CollectionUtils.isEmpty(configuration)) {
+			synchronized (this) {
+				interfaceGenerator = null;
+			}
 			if(configuration.containsKey("restTemplateFieldName")) {
 				this.restTemplateFieldName = configuration.get("restTemplateFieldName");
 			}
@@ -130,6 +216,24 @@ public class Spring4RestTemplateClientRule implements ConfigurableRule<JCodeMode
 			if(configuration.containsKey(ARRAY_PARAMETER_CONFIGURATION)) {
             	allowArrayParameters = BooleanUtils.toBoolean(configuration.get(ARRAY_PARAMETER_CONFIGURATION));
             }
+			if(configuration.containsKey(PRECOMPUTE_CONSTANTS_CONFIGURATION)) {
+				precomputeConstants = BooleanUtils.toBoolean(configuration.get(PRECOMPUTE_CONSTANTS_CONFIGURATION));
+			}
+			if(configuration.containsKey(PRECOMPILE_URI_TEMPLATES_CONFIGURATION)) {
+				precompileUriTemplates = BooleanUtils.toBoolean(configuration.get(PRECOMPILE_URI_TEMPLATES_CONFIGURATION));
+			}
+			if(configuration.containsKey(ASYNC_CLIENT_CONFIGURATION)) {
+				asyncClient = BooleanUtils.toBoolean(configuration.get(ASYNC_CLIENT_CONFIGURATION));
+			}
+			if(configuration.containsKey("executorQualifierBeanName")) {
+				this.executorQualifierBeanName = configuration.get("executorQualifierBeanName");
+			}
+			if(configuration.containsKey(STREAM_ARRAY_RESPONSES_CONFIGURATION)) {
+				streamArrayResponses = BooleanUtils.toBoolean(configuration.get(STREAM_ARRAY_RESPONSES_CONFIGURATION));
+			}
+			if(configuration.containsKey("objectMapperQualifierBeanName")) {
+				this.objectMapperQualifierBeanName = configuration.get("objectMapperQualifierBeanName");
+			}
 			
 		}
 	}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.generation.rules;
+
+import java.util.Map;
+
+import org.apache.commons.lang3.BooleanUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import com.phoenixnap.oss.ramlapisync.data.ApiResourceMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.rules.basic.ClassAnnotationRule;
+import com.phoenixnap.oss.ramlapisync.generation.rules.basic.ClassCommentRule;
+import com.phoenixnap.oss.ramlapisync.generation.rules.basic.ClassFieldDeclarationRule;
+import com.phoenixnap.oss.ramlapisync.generation.rules.basic.ClientInterfaceDeclarationRule;
+import com.phoenixnap.oss.ramlapisync.generation.rules.basic.ControllerMethodSignatureRule;
+import com.phoenixnap.oss.ramlapisync.generation.rules.basic.ImplementsControllerInterfaceRule;
+import com.phoenixnap.oss.ramlapisync.generation.rules.basic.MethodCommentRule;
+import com.phoenixnap.oss.ramlapisync.generation.rules.basic.MethodParamsRule;
+import com.phoenixnap.oss.ramlapisync.generation.rules.basic.PackageRule;
+import com.phoenixnap.oss.ramlapisync.generation.rules.basic.ResourceClassDeclarationRule;
+import com.phoenixnap.oss.ramlapisync.generation.rules.spring.SpringReactiveTypes;
+import com.phoenixnap.oss.ramlapisync.generation.rules.spring.SpringWebClientMethodBodyRule;
+import com.phoenixnap.oss.ramlapisync.generation.rules.spring.SpringWebClientResponseTypeRule;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+
+/**
+ * Builds a non blocking client from a parsed RAML document. The resulting code makes use of the Spring WebFlux
+ * WebClient and sets the Accept and Content-type headers accordingly. Query string params as well as URI params are
+ * also resolved, like in the clients of the {@link Spring4RestTemplateClientRule}.
+ *
+ * Each method returns a Mono of the ResponseEntity, or a Flux of the items of an array response, so that a caller can
+ * issue many calls at once without holding a thread per call. The project compiling the client needs Spring WebFlux
+ * 5.2 or later and assumes that a WebClient is available to be autowired.
+ *
+ * @since 0.10.15
+ */
+public class Spring5WebClientRule implements ConfigurableRule<JCodeModel, JDefinedClass, ApiResourceMetadata> {
+
+	String webClientFieldName = "webClient";
+
+	String baseUrlFieldName = "baseUrl";
+
+	String baseUrlConfigurationPath = "${client.url}";
+
+	String webClientQualifierBeanName;
+
+	boolean allowArrayParameters = true;
+
+	@Override
+	public final JDefinedClass apply(ApiResourceMetadata metadata, JCodeModel generatableType) {
+
+		GenericJavaClassRule interfaceGenerator = new GenericJavaClassRule()
+				.setPackageRule(new PackageRule())
+				.setClassCommentRule(new ClassCommentRule())
+				.setClassRule(new ClientInterfaceDeclarationRule())
+				.setMethodCommentRule(new MethodCommentRule())
+				.setMethodSignatureRule(new ControllerMethodSignatureRule(
+						new SpringWebClientResponseTypeRule(),
+						new MethodParamsRule(true, allowArrayParameters)));
+		JDefinedClass generatedInterface = interfaceGenerator.apply(metadata, generatableType);
+
+		GenericJavaClassRule clientGenerator = new GenericJavaClassRule()
+				.setPackageRule(new PackageRule())
+				.setClassCommentRule(new ClassCommentRule())
+				.addClassAnnotationRule(new ClassAnnotationRule(Component.class))
+				.setClassRule(new ResourceClassDeclarationRule(ClientInterfaceDeclarationRule.CLIENT_SUFFIX + "Impl"))
+				.setImplementsExtendsRule(new ImplementsControllerInterfaceRule(generatedInterface))
+				.addFieldDeclarationRule(new ClassFieldDeclarationRule(webClientFieldName, SpringReactiveTypes.WEB_CLIENT, true, webClientQualifierBeanName))
+				.addFieldDeclarationRule(new ClassFieldDeclarationRule(baseUrlFieldName, String.class, getBaseUrlConfigurationName()))
+				.setMethodCommentRule(new MethodCommentRule())
+				.setMethodSignatureRule(new ControllerMethodSignatureRule(
+						new SpringWebClientResponseTypeRule(),
+						new MethodParamsRule(false, allowArrayParameters)))
+				.setMethodBodyRule(new SpringWebClientMethodBodyRule(webClientFieldName, baseUrlFieldName));
+
+		return clientGenerator.apply(metadata, generatableType);
+	}
+
+	private String getBaseUrlConfigurationName() {
+		String configurationName = baseUrlConfigurationPath;
+		if (!configurationName.startsWith("${")) {
+			configurationName = "${" + configurationName;
+		}
+		if (!configurationName.endsWith("}")) {
+			configurationName = configurationName + "}";
+		}
+		return configurationName;
+	}
+
+	@Override
+	public void applyConfiguration(Map<String, String> configuration) {
+		if (!CollectionUtils.isEmpty(configuration)) {
+			if (configuration.containsKey("webClientFieldName")) {
+				this.webClientFieldName = configuration.get("webClientFieldName");
+			}
+			if (configuration.containsKey("webClientQualifierBeanName")) {
+				this.webClientQualifierBeanName = configuration.get("webClientQualifierBeanName");
+			}
+			if (configuration.containsKey("baseUrlConfigurationPath")) {
+				this.baseUrlConfigurationPath = configuration.get("baseUrlConfigurationPath");
+			}
+			if (configuration.containsKey(Spring4RestTemplateClientRule.ARRAY_PARAMETER_CONFIGURATION)) {
+				allowArrayParameters = BooleanUtils.toBoolean(configuration.get(Spring4RestTemplateClientRule.ARRAY_PARAMETER_CONFIGURATION));
+			}
+		}
+	}
+}
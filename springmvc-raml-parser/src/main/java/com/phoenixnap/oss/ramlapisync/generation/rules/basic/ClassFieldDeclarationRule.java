@@ -18,7 +18,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.util.StringUtils;
 
 import com.phoenixnap.oss.ramlapisync.data.ApiResourceMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.CodeModelHelper;
 import com.phoenixnap.oss.ramlapisync.generation.rules.Rule;
+import com.sun.codemodel.JClass;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JMod;
@@ -47,6 +49,8 @@ public class ClassFieldDeclarationRule implements Rule<JDefinedClass, JFieldVar,
     private String fieldName = "restTemplate";
 
     private Class<?> fieldClazz;
+
+    private String fieldClassName;
     
     private boolean autowire = true;
     
@@ -79,6 +83,31 @@ public class ClassFieldDeclarationRule implements Rule<JDefinedClass, JFieldVar,
         this.autowire = autowire;
     }
     
+    /**
+     * Declares a field of a class which is not available to the generator, eg. a Spring 5 class
+     *
+     * @param fieldName The name of the field, the simple name of the class if empty
+     * @param fieldClassName The fully qualified name of the class of the field
+     * @param autowire If true the field is annotated with {@literal @}Autowired
+     * @param qualifierBeanName The name of the bean to inject or null if it is not qualified
+     */
+    public ClassFieldDeclarationRule(String fieldName, String fieldClassName, boolean autowire, String qualifierBeanName) {
+        if (!StringUtils.hasText(fieldClassName)) {
+            throw new IllegalStateException("Class not specified");
+        }
+        this.fieldClassName = fieldClassName;
+        if (StringUtils.hasText(fieldName)) {
+            this.fieldName = fieldName;
+        } else {
+            this.fieldName = StringUtils.uncapitalize(StringUtils.unqualify(fieldClassName));
+        }
+        if (qualifierBeanName != null) {
+            this.qualifierAnnotation = true;
+            this.qualifier = qualifierBeanName;
+        }
+        this.autowire = autowire;
+    }
+
     public ClassFieldDeclarationRule(String restTemplateFieldName, Class<?> fieldClazz) {
     	if (fieldClazz != null) {
         	this.fieldClazz = fieldClazz;
@@ -95,7 +124,9 @@ public class ClassFieldDeclarationRule implements Rule<JDefinedClass, JFieldVar,
 
     @Override
     public JFieldVar apply(ApiResourceMetadata controllerMetadata, JDefinedClass generatableType) {
-        JFieldVar field = generatableType.field(JMod.PRIVATE, this.fieldClazz, this.fieldName);
+        JClass fieldType = fieldClazz != null ? generatableType.owner().ref(fieldClazz)
+                : CodeModelHelper.directClass(generatableType.owner(), fieldClassName);
+        JFieldVar field = generatableType.field(JMod.PRIVATE, fieldType, this.fieldName);
         
         //add @Autowired field annoation
         if (autowire) {
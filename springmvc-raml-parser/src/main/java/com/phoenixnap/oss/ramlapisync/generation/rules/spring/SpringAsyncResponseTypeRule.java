@@ -0,0 +1,82 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.generation.rules.spring;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.phoenixnap.oss.ramlapisync.data.ApiActionMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.CodeModelHelper;
+import com.phoenixnap.oss.ramlapisync.generation.rules.Rule;
+import com.phoenixnap.oss.ramlapisync.generation.rules.spring.SpringConfigurableRule.AsyncResponseType;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JType;
+
+/**
+ * Wraps the return type created by another rule in the type of an asynchronous response, so that a controller can
+ * complete the response later, eg. from the callback of non blocking I/O, without holding a servlet thread.
+ *
+ * #%RAML 0.8 title: myapi mediaType: application/json baseUri: /
+ *
+ * /base: get: /{id}: get: responses: 200: body: application/json: schema: NamedResponseType ...
+ *
+ * OUTPUT: DeferredResult{@literal <}ResponseEntity{@literal <}NamedResponseType{@literal >}{@literal >}
+ *
+ * OR: CompletableFuture{@literal <}ResponseEntity{@literal <}NamedResponseType{@literal >}{@literal >}
+ *
+ * OR: Mono{@literal <}ResponseEntity{@literal <}NamedResponseType{@literal >}{@literal >} (which needs Spring 5)
+ *
+ * Callable responses are created by {@link SpringCallableResponseEntityRule} and
+ * {@link SpringSimpleCallableResponseTypeRule}, so the response type is returned as it is for them.
+ *
+ * @since 0.10.15
+ */
+public class SpringAsyncResponseTypeRule implements Rule<JDefinedClass, JType, ApiActionMetadata> {
+
+    private final AsyncResponseType asyncResponseType;
+
+    private final Rule<JDefinedClass, JType, ApiActionMetadata> responseTypeRule;
+
+    /**
+     * @param asyncResponseType The type wrapping the response
+     * @param responseTypeRule The rule creating the type of the response
+     */
+    public SpringAsyncResponseTypeRule(AsyncResponseType asyncResponseType, Rule<JDefinedClass, JType, ApiActionMetadata> responseTypeRule) {
+        this.asyncResponseType = asyncResponseType;
+        this.responseTypeRule = responseTypeRule;
+    }
+
+    @Override
+    public JType apply(ApiActionMetadata endpointMetadata, JDefinedClass generatableType) {
+        JType responseType = responseTypeRule.apply(endpointMetadata, generatableType);
+        JCodeModel owner = generatableType.owner();
+        JClass asyncType;
+        switch (asyncResponseType) {
+            case DEFERRED_RESULT:
+                asyncType = owner.ref(DeferredResult.class);
+                break;
+            case COMPLETABLE_FUTURE:
+                asyncType = owner.ref(CompletableFuture.class);
+                break;
+            case MONO:
+                asyncType = CodeModelHelper.directClass(owner, SpringReactiveTypes.MONO);
+                break;
+            default:
+                return responseType;
+        }
+        return asyncType.narrow(responseType.boxify());
+    }
+}
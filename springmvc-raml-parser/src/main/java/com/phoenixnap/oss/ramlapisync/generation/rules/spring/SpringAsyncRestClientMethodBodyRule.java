@@ -0,0 +1,88 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.generation.rules.spring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.util.StringUtils;
+
+import com.phoenixnap.oss.ramlapisync.data.ApiActionMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.CodeModelHelper;
+import com.phoenixnap.oss.ramlapisync.generation.rules.Rule;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JVar;
+
+/**
+ * Generates a method body that runs the blocking call of an endpoint on an Executor and returns its pending response
+ * as a CompletableFuture, so that callers can issue many calls at once and join them. The blocking call is generated
+ * into a private method by the {@link SpringRestClientMethodBodyRule}.
+ *
+ * OUTPUT:
+ * public CompletableFuture{@literal <}ResponseEntity{@literal <}NamedResponseType{@literal >}{@literal >} getBaseById(String id) {
+ *     return CompletableFuture.supplyAsync(() -{@literal >} getBaseByIdSync(id), this.executor);
+ * }
+ *
+ * The name of the field holding the Executor can be configured. Default is "executor".
+ *
+ * @since 0.10.15
+ */
+public class SpringAsyncRestClientMethodBodyRule implements Rule<CodeModelHelper.JExtMethod, JMethod, ApiActionMetadata> {
+
+    private String executorFieldName = "executor";
+
+    private final Rule<CodeModelHelper.JExtMethod, JMethod, ApiActionMetadata> syncMethodBodyRule;
+
+    /**
+     * @param executorFieldName The name of the field holding the Executor running the calls
+     * @param syncMethodBodyRule The rule generating the blocking call
+     */
+    public SpringAsyncRestClientMethodBodyRule(String executorFieldName,
+            Rule<CodeModelHelper.JExtMethod, JMethod, ApiActionMetadata> syncMethodBodyRule) {
+        if (StringUtils.hasText(executorFieldName)) {
+            this.executorFieldName = executorFieldName;
+        }
+        this.syncMethodBodyRule = syncMethodBodyRule;
+    }
+
+    @Override
+    public JMethod apply(ApiActionMetadata endpointMetadata, CodeModelHelper.JExtMethod generatableType) {
+        JDefinedClass clientClass = generatableType.getDeclaringClass();
+        if (clientClass == null) {
+            throw new IllegalStateException("The class declaring " + generatableType.get().name() + " is unknown");
+        }
+        JMethod asyncMethod = generatableType.get();
+        // The blocking call returns the response the CompletableFuture completes with
+        JType syncReturnType = ((JClass) asyncMethod.type()).getTypeParameters().get(0);
+        JMethod syncMethod = clientClass.method(JMod.PRIVATE, syncReturnType, asyncMethod.name() + "Sync");
+        syncMethod.javadoc().add("Calls " + asyncMethod.name() + " and waits for its response");
+        List<String> arguments = new ArrayList<>();
+        for (JVar param : asyncMethod.params()) {
+            syncMethod.param(param.type(), param.name());
+            arguments.add(param.name());
+        }
+        syncMethodBodyRule.apply(endpointMetadata, CodeModelHelper.ext(syncMethod, clientClass));
+
+        // Codemodel cannot express lambdas, the parameters are effectively final so they can be captured as they are
+        String supplier = "() -> " + syncMethod.name() + "(" + StringUtils.collectionToDelimitedString(arguments, ", ") + ")";
+        asyncMethod.body()._return(generatableType.owner().ref(CompletableFuture.class).staticInvoke("supplyAsync")
+                .arg(JExpr.direct(supplier)).arg(JExpr._this().ref(executorFieldName)));
+        return asyncMethod;
+    }
+}
@@ -37,11 +37,28 @@ import com.sun.codemodel.JType;
  *
  * OUTPUT: {@literal @}Callable{@literal <}ResponseEntity{@literal <}NamedResponseType{@literal >}{@literal >}
  *
+ * When streaming responses, array bodies are returned as a StreamingResponseBody and files as a Resource:
+ *
+ * OUTPUT: {@literal @}Callable{@literal <}ResponseEntity{@literal <}StreamingResponseBody{@literal >}{@literal >}
+ *
  * @author mehdi.jouan
  * @since 0.8.9
  */
 public class SpringCallableResponseEntityRule implements Rule<JDefinedClass, JType, ApiActionMetadata> {
 
+  private final boolean streamingResponses;
+
+  public SpringCallableResponseEntityRule() {
+    this(false);
+  }
+
+  /**
+   * @param streamingResponses True to return array bodies as a StreamingResponseBody and files as a Resource
+   */
+  public SpringCallableResponseEntityRule(boolean streamingResponses) {
+    this.streamingResponses = streamingResponses;
+  }
+
   @Override
   public JType apply(ApiActionMetadata endpointMetadata, JDefinedClass generatableType) {
 
@@ -50,6 +67,11 @@ public class SpringCallableResponseEntityRule implements Rule<JDefinedClass, JTy
     if (!endpointMetadata.getResponseBody().isEmpty()) {
       ApiBodyMetadata apiBodyMetadata =
           endpointMetadata.getResponseBody().values().iterator().next();
+      JClass streamingType = streamingResponses
+          ? SpringResponseEntityRule.getStreamingType(apiBodyMetadata, generatableType.owner()) : null;
+      if (streamingType != null) {
+        return callable.narrow(responseEntity.narrow(streamingType));
+      }
       JClass genericType =
           findFirstClassBySimpleName(apiBodyMetadata.getCodeModel(), apiBodyMetadata.getName());
       if (apiBodyMetadata.isArray()) {
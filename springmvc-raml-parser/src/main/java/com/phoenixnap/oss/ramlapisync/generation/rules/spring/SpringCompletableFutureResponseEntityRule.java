@@ -0,0 +1,56 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.generation.rules.spring;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.phoenixnap.oss.ramlapisync.data.ApiActionMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.rules.Rule;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JType;
+
+/**
+ * Creates a {@link CompletableFuture} of a ResponseEntity as a return type for an endpoint. If the endpoint declares a
+ * response body the first type of the response body will added as a generic type to the ResponseEntity, like in the
+ * {@link SpringResponseEntityRule}.
+ *
+ * #%RAML 0.8 title: myapi mediaType: application/json baseUri: /
+ *
+ * /base: get: /{id}: get: responses: 200: body: application/json: schema: NamedResponseType ...
+ *
+ * OUTPUT: CompletableFuture{@literal <}ResponseEntity{@literal <}NamedResponseType{@literal >}{@literal >}
+ *
+ * @since 0.10.15
+ */
+public class SpringCompletableFutureResponseEntityRule implements Rule<JDefinedClass, JType, ApiActionMetadata> {
+
+    private final Rule<JDefinedClass, JType, ApiActionMetadata> responseEntityRule;
+
+    public SpringCompletableFutureResponseEntityRule() {
+        this(new SpringResponseEntityRule());
+    }
+
+    /**
+     * @param responseEntityRule The rule creating the type of the response the CompletableFuture completes with
+     */
+    public SpringCompletableFutureResponseEntityRule(Rule<JDefinedClass, JType, ApiActionMetadata> responseEntityRule) {
+        this.responseEntityRule = responseEntityRule;
+    }
+
+    @Override
+    public JType apply(ApiActionMetadata endpointMetadata, JDefinedClass generatableType) {
+        JClass responseEntity = (JClass) responseEntityRule.apply(endpointMetadata, generatableType);
+        return generatableType.owner().ref(CompletableFuture.class).narrow(responseEntity);
+    }
+}
@@ -17,10 +17,14 @@ import java.util.Map;
 import org.apache.commons.lang3.BooleanUtils;
 import org.springframework.util.CollectionUtils;
 
+import com.google.common.base.CaseFormat;
+import com.phoenixnap.oss.ramlapisync.data.ApiActionMetadata;
 import com.phoenixnap.oss.ramlapisync.data.ApiResourceMetadata;
 import com.phoenixnap.oss.ramlapisync.generation.rules.ConfigurableRule;
+import com.phoenixnap.oss.ramlapisync.generation.rules.Rule;
 import com.sun.codemodel.JCodeModel;
 import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JType;
 
 /**
  * Common parent for configurable spring rules
@@ -33,6 +37,12 @@ public abstract class SpringConfigurableRule implements ConfigurableRule<JCodeMo
 	
  	public static final String CALLABLE_RESPONSE_CONFIGURATION = "callableResponse";
 
+ 	/**
+ 	 * The type wrapping the responses of the controllers, one of the {@link AsyncResponseType} in camel case, eg.
+ 	 * deferredResult
+ 	 */
+ 	public static final String ASYNC_RESPONSE_TYPE_CONFIGURATION = "asyncResponseType";
+
  	public static final String PARAMETER_JAVADOC_CONFIGURATION = "addParameterJavadoc";
  			
  	public static final String ARRAY_PARAMETER_CONFIGURATION = "allowArrayParameters";
@@ -42,10 +52,17 @@ public abstract class SpringConfigurableRule implements ConfigurableRule<JCodeMo
 
     public static final String SHORTCUT_METHOD_MAPPINGS = "useShortcutMethodMappings";
 
+    /**
+     * Returns array bodies as a StreamingResponseBody and files as a Resource, so that large responses are written as
+     * they are produced
+     */
+    public static final String STREAMING_RESPONSES_CONFIGURATION = "streamingResponses";
+
 
-    private boolean callableResponse = false;
+    private AsyncResponseType asyncResponseType = AsyncResponseType.NONE;
     private boolean addParameterJavadoc = false;
     private boolean allowArrayParameters = true;
+    private boolean streamingResponses = false;
     /**
      * Can only be set to true if <b>SpringControllerInterface</b> is used for now
      */
@@ -59,6 +76,24 @@ public abstract class SpringConfigurableRule implements ConfigurableRule<JCodeMo
             if(configuration.containsKey(CALLABLE_RESPONSE_CONFIGURATION)) {
                 setCallableResponse(BooleanUtils.toBoolean(configuration.get(CALLABLE_RESPONSE_CONFIGURATION)));
             }
+            if(configuration.containsKey(ASYNC_RESPONSE_TYPE_CONFIGURATION)) {
+                AsyncResponseType configuredType = AsyncResponseType.fromConfiguration(configuration.get(ASYNC_RESPONSE_TYPE_CONFIGURATION));
+                if (configuration.containsKey(CALLABLE_RESPONSE_CONFIGURATION)
+                        && isCallableResponse() != (configuredType == AsyncResponseType.CALLABLE)) {
+                    throw new IllegalArgumentException(CALLABLE_RESPONSE_CONFIGURATION + "="
+                            + configuration.get(CALLABLE_RESPONSE_CONFIGURATION) + " conflicts with "
+                            + ASYNC_RESPONSE_TYPE_CONFIGURATION + "=" + configuration.get(ASYNC_RESPONSE_TYPE_CONFIGURATION));
+                }
+                setAsyncResponseType(configuredType);
+            }
+            if(configuration.containsKey(STREAMING_RESPONSES_CONFIGURATION)) {
+                setStreamingResponses(BooleanUtils.toBoolean(configuration.get(STREAMING_RESPONSES_CONFIGURATION)));
+            }
+            if(isStreamingResponses() && asyncResponseType == AsyncResponseType.MONO) {
+                // StreamingResponseBody and Resource are Spring MVC return types which a Mono cannot wrap
+                throw new IllegalArgumentException(STREAMING_RESPONSES_CONFIGURATION + " cannot be used with "
+                        + ASYNC_RESPONSE_TYPE_CONFIGURATION + "=mono");
+            }
             if(configuration.containsKey(PARAMETER_JAVADOC_CONFIGURATION)) {
             	setAddParameterJavadoc(BooleanUtils.toBoolean(configuration.get(PARAMETER_JAVADOC_CONFIGURATION)));
             }
@@ -74,6 +109,7 @@ public abstract class SpringConfigurableRule implements ConfigurableRule<JCodeMo
 
 	public void setAddParameterJavadoc(boolean addParameterJavadoc) {
 		this.addParameterJavadoc = addParameterJavadoc;
+		resetGenerators();
 	}
 
 	public boolean isAllowArrayParameters() {
@@ -82,14 +118,51 @@ public abstract class SpringConfigurableRule implements ConfigurableRule<JCodeMo
 
 	public void setAllowArrayParameters(boolean allowArrayParameters) {
 		this.allowArrayParameters = allowArrayParameters;
+		resetGenerators();
 	}
 	
 	public boolean isCallableResponse() {
-		return callableResponse;
+		return asyncResponseType == AsyncResponseType.CALLABLE;
 	}
 
 	public void setCallableResponse(boolean callableResponse) {
-		this.callableResponse = callableResponse;
+		if (callableResponse) {
+			setAsyncResponseType(AsyncResponseType.CALLABLE);
+		} else if (isCallableResponse()) {
+			setAsyncResponseType(AsyncResponseType.NONE);
+		}
+	}
+
+	public boolean isStreamingResponses() {
+		return streamingResponses;
+	}
+
+	public void setStreamingResponses(boolean streamingResponses) {
+		this.streamingResponses = streamingResponses;
+		resetGenerators();
+	}
+
+	public AsyncResponseType getAsyncResponseType() {
+		return asyncResponseType;
+	}
+
+	public void setAsyncResponseType(AsyncResponseType asyncResponseType) {
+		this.asyncResponseType = asyncResponseType;
+		resetGenerators();
+	}
+
+	/**
+	 * Wraps the return type of the endpoints in the configured asynchronous response type, if any. Callable responses
+	 * are created by their own rules and are not wrapped here
+	 *
+	 * @param responseTypeRule The rule creating the type of the response
+	 * @return The rule creating the return type
+	 */
+	protected Rule<JDefinedClass, JType, ApiActionMetadata> getAsyncResponseTypeRule(Rule<JDefinedClass, JType, ApiActionMetadata> responseTypeRule) {
+		if (asyncResponseType == AsyncResponseType.NONE || asyncResponseType == AsyncResponseType.CALLABLE) {
+			return responseTypeRule;
+		}
+		return new SpringAsyncResponseTypeRule(asyncResponseType, responseTypeRule);
 	}
 
     public boolean isUseShortcutMethodMappings() {
@@ -98,6 +171,7 @@ public abstract class SpringConfigurableRule implements ConfigurableRule<JCodeMo
 
     public void setUseShortcutMethodMappings(boolean useShortcutMethodMappings) {
         this.useShortcutMethodMappings = useShortcutMethodMappings;
+        resetGenerators();
     }
     public boolean isSimpleReturnTypes() {
         return simpleReturnTypes;
@@ -105,5 +179,59 @@ public abstract class SpringConfigurableRule implements ConfigurableRule<JCodeMo
 
     public void setSimpleReturnTypes(boolean simpleReturnTypes) {
         this.simpleReturnTypes = simpleReturnTypes;
+        resetGenerators();
+    }
+
+    /**
+     * Called whenever the configuration changes. Rules which assemble their rule pipeline once and reuse it for every
+     * resource discard it here so that it is rebuilt with the new configuration.
+     */
+    protected void resetGenerators() {
+        // nothing cached by default
+    }
+
+    /**
+     * The types which can wrap the response of an endpoint so that it completes asynchronously
+     */
+    public enum AsyncResponseType {
+
+        /**
+         * The response is returned as it is
+         */
+        NONE,
+
+        /**
+         * A java.util.concurrent.Callable run on the asynchronous executor of Spring MVC
+         */
+        CALLABLE,
+
+        /**
+         * A org.springframework.web.context.request.async.DeferredResult completed by the application, from any thread
+         */
+        DEFERRED_RESULT,
+
+        /**
+         * A java.util.concurrent.CompletableFuture completed by the application, from any thread
+         */
+        COMPLETABLE_FUTURE,
+
+        /**
+         * A reactor.core.publisher.Mono, which needs Spring 5
+         */
+        MONO;
+
+        /**
+         * @param value The name of the type in camel case, eg. completableFuture
+         * @return The type
+         */
+        public static AsyncResponseType fromConfiguration(String value) {
+            for (AsyncResponseType type : values()) {
+                if (CaseFormat.UPPER_UNDERSCORE.to(CaseFormat.LOWER_CAMEL, type.name()).equalsIgnoreCase(value.trim())) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown " + ASYNC_RESPONSE_TYPE_CONFIGURATION + " " + value + ", expected one of "
+                    + "none, callable, deferredResult, completableFuture or mono");
+        }
     }
 }
@@ -66,18 +66,12 @@ import com.sun.codemodel.JMethod;
  */
 public abstract class SpringControllerDecoratorRule extends SpringConfigurableRule {
 
+    private GenericJavaClassRule interfaceGenerator;
+
     @Override
     public final JDefinedClass apply(ApiResourceMetadata metadata, JCodeModel generatableType) {
 
-        JDefinedClass generatedInterface = new GenericJavaClassRule()
-                .setPackageRule(new PackageRule())
-                .setClassCommentRule(new ClassCommentRule())
-                .setClassRule(new ControllerInterfaceDeclarationRule())
-                .setMethodCommentRule(new MethodCommentRule())
-                .setMethodSignatureRule(new ControllerMethodSignatureRule(
-                        isCallableResponse() ? new SpringCallableResponseEntityRule() :  new SpringResponseEntityRule(),
-						new MethodParamsRule(isAddParameterJavadoc(), isAllowArrayParameters())))
-                .apply(metadata, generatableType);
+        JDefinedClass generatedInterface = getInterfaceGenerator().apply(metadata, generatableType);
 
         String delegateFieldName = StringUtils.uncapitalize(generatedInterface.name()+"Delegate");
 
@@ -94,12 +88,35 @@ public abstract class SpringControllerDecoratorRule extends SpringConfigurableRu
                 .addMethodAnnotationRule(new SpringRequestMappingMethodAnnotationRule())
                 .addMethodAnnotationRule(getResponseBodyAnnotationRule())
                 .setMethodSignatureRule(new ControllerMethodSignatureRule(
-                        isCallableResponse() ? new SpringCallableResponseEntityRule() :  new SpringResponseEntityRule(),
+                        isCallableResponse() ? new SpringCallableResponseEntityRule(isStreamingResponses()) :  getAsyncResponseTypeRule(new SpringResponseEntityRule(isStreamingResponses())),
                         new SpringMethodParamsRule(isAddParameterJavadoc(), isAllowArrayParameters())))
                 .setMethodBodyRule(new DelegatingMethodBodyRule(delegateFieldName));
 
         return delegateGenerator.apply(metadata, generatableType);
     }
+
+    /**
+     * Assembles the interface pipeline on first use and shares it between resources until the configuration changes.
+     * The decorator pipeline refers to the interface generated for each resource, so it is still assembled per resource.
+     */
+    private synchronized GenericJavaClassRule getInterfaceGenerator() {
+        if (interfaceGenerator == null) {
+            interfaceGenerator = new GenericJavaClassRule()
+                    .setPackageRule(new PackageRule())
+                    .setClassCommentRule(new ClassCommentRule())
+                    .setClassRule(new ControllerInterfaceDeclarationRule())
+                    .setMethodCommentRule(new MethodCommentRule())
+                    .setMethodSignatureRule(new ControllerMethodSignatureRule(
+                            isCallableResponse() ? new SpringCallableResponseEntityRule(isStreamingResponses()) :  getAsyncResponseTypeRule(new SpringResponseEntityRule(isStreamingResponses())),
+                            new MethodParamsRule(isAddParameterJavadoc(), isAllowArrayParameters())));
+        }
+        return interfaceGenerator;
+    }
+
+    @Override
+    protected synchronized void resetGenerators() {
+        interfaceGenerator = null;
+    }
     
     protected abstract Rule<JDefinedClass, JAnnotationUse, ApiResourceMetadata> getControllerAnnotationRule();
     
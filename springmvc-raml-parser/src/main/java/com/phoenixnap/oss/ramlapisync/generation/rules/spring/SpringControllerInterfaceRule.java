@@ -52,10 +52,22 @@ import java.util.Map;
  */
 public abstract class SpringControllerInterfaceRule extends SpringConfigurableRule {
 
+    private GenericJavaClassRule generator;
+
     @Override
     public final JDefinedClass apply(ApiResourceMetadata metadata, JCodeModel generatableType) {
+        return getGenerator().apply(metadata, generatableType);
+    }
 
-        GenericJavaClassRule generator = new GenericJavaClassRule()
+    /**
+     * Assembles the rule pipeline on first use. The sub rules do not keep any state between resources, so the
+     * pipeline is shared by all resources (and threads) until the configuration changes.
+     */
+    private synchronized GenericJavaClassRule getGenerator() {
+        if (generator != null) {
+            return generator;
+        }
+        generator = new GenericJavaClassRule()
                 .setPackageRule(new PackageRule())
                 .setClassCommentRule(new ClassCommentRule())
                 .addClassAnnotationRule(getControllerAnnotationRule())
@@ -67,12 +79,17 @@ public abstract class SpringControllerInterfaceRule extends SpringConfigurableRu
                         new SpringShortcutMappingMethodAnnotationRule() : new SpringRequestMappingMethodAnnotationRule())
                 .addMethodAnnotationRule(getResponseBodyAnnotationRule())
                 .setMethodSignatureRule(new ControllerMethodSignatureRule(
-                        isCallableResponse() ? new SpringCallableResponseEntityRule() :
-                                        isSimpleReturnTypes() ? new SpringObjectReturnTypeRule() :
-                                        new SpringResponseEntityRule(),
+                        isCallableResponse() ? new SpringCallableResponseEntityRule(isStreamingResponses()) :
+                                        getAsyncResponseTypeRule(isSimpleReturnTypes() ? new SpringObjectReturnTypeRule(isStreamingResponses()) :
+                                        new SpringResponseEntityRule(isStreamingResponses())),
                         new SpringMethodParamsRule(isAddParameterJavadoc(), isAllowArrayParameters()))
                 );
-        return generator.apply(metadata, generatableType);
+        return generator;
+    }
+
+    @Override
+    protected synchronized void resetGenerators() {
+        generator = null;
     }
 
     @Override
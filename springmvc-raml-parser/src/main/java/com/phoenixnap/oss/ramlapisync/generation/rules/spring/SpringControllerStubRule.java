@@ -51,12 +51,22 @@ import com.sun.codemodel.JMethod;
  */
 public abstract class SpringControllerStubRule extends SpringConfigurableRule {
 
-   
+    private GenericJavaClassRule generator;
 
     @Override
     public final JDefinedClass apply(ApiResourceMetadata metadata, JCodeModel generatableType) {
+        return getGenerator().apply(metadata, generatableType);
+    }
 
-        GenericJavaClassRule generator = new GenericJavaClassRule()
+    /**
+     * Assembles the rule pipeline on first use. The sub rules do not keep any state between resources, so the
+     * pipeline is shared by all resources (and threads) until the configuration changes.
+     */
+    private synchronized GenericJavaClassRule getGenerator() {
+        if (generator != null) {
+            return generator;
+        }
+        generator = new GenericJavaClassRule()
                 .setPackageRule(new PackageRule())
                 .setClassCommentRule(new ClassCommentRule())
                 .addClassAnnotationRule(getControllerAnnotationRule())
@@ -67,12 +77,16 @@ public abstract class SpringControllerStubRule extends SpringConfigurableRule {
                 .addMethodAnnotationRule(new SpringRequestMappingMethodAnnotationRule())
                 .addMethodAnnotationRule(getResponseBodyAnnotationRule())
                 .setMethodSignatureRule(new ControllerMethodSignatureRule(
-                        isCallableResponse() ? new SpringSimpleCallableResponseTypeRule() :  new SpringSimpleResponseTypeRule(),
+                        isCallableResponse() ? new SpringSimpleCallableResponseTypeRule(isStreamingResponses()) :  getAsyncResponseTypeRule(new SpringSimpleResponseTypeRule(isStreamingResponses())),
                         new SpringMethodParamsRule(isAddParameterJavadoc(), isAllowArrayParameters())
                 ))
                 .setMethodBodyRule(new ImplementMeMethodBodyRule());
+        return generator;
+    }
 
-        return generator.apply(metadata, generatableType);
+    @Override
+    protected synchronized void resetGenerators() {
+        generator = null;
     }
 
 
@@ -48,11 +48,12 @@ import com.sun.codemodel.JDefinedClass;
  * @since 0.8.6
  */
 public class SpringFeignClientInterfaceDecoratorRule implements Rule<JCodeModel, JDefinedClass, ApiResourceMetadata> {
-	
-	@Override
-    public final JDefinedClass apply(ApiResourceMetadata metadata, JCodeModel generatableType) {
 
-        GenericJavaClassRule generator = new GenericJavaClassRule()
+    /**
+     * This rule is not configurable and none of its sub rules keep state between resources, so a single pipeline is
+     * shared by all resources
+     */
+    private final GenericJavaClassRule generator = new GenericJavaClassRule()
                 .setPackageRule(new PackageRule())
                 .setClassCommentRule(new ClassCommentRule())
                 .addClassAnnotationRule(new SpringFeignClientClassAnnotationRule())
@@ -63,6 +64,9 @@ public class SpringFeignClientInterfaceDecoratorRule implements Rule<JCodeModel,
                         new SpringFeignClientResponseTypeRule(),
                         new SpringMethodParamsRule())
                 );
+	
+	@Override
+    public final JDefinedClass apply(ApiResourceMetadata metadata, JCodeModel generatableType) {
         return generator.apply(metadata, generatableType);
     }
 }
@@ -50,15 +50,36 @@ import static com.phoenixnap.oss.ramlapisync.generation.CodeModelHelper.findFirs
  * OR:
  * ArrayList{@literal <}NamedResponseType{@literal >} (if the NamedResponseType is an "array")
  *
+ * OR:
+ * StreamingResponseBody (if the NamedResponseType is an "array" and responses are streamed)
+ *
  * @author yuranos
  */
 public class SpringObjectReturnTypeRule implements Rule<JDefinedClass, JType, ApiActionMetadata> {
 
+    private final boolean streamingResponses;
+
+    public SpringObjectReturnTypeRule() {
+        this(false);
+    }
+
+    /**
+     * @param streamingResponses True to return array bodies as a StreamingResponseBody and files as a Resource
+     */
+    public SpringObjectReturnTypeRule(boolean streamingResponses) {
+        this.streamingResponses = streamingResponses;
+    }
+
     @Override
     public JType apply(ApiActionMetadata endpointMetadata, JDefinedClass generatableType) {
         if (!endpointMetadata.getResponseBody().isEmpty()) {
             ApiBodyMetadata apiBodyMetadata =
                     endpointMetadata.getResponseBody().values().iterator().next();
+            JClass streamingType = streamingResponses
+                    ? SpringResponseEntityRule.getStreamingType(apiBodyMetadata, generatableType.owner()) : null;
+            if (streamingType != null) {
+                return streamingType;
+            }
             JClass returnType =
                     findFirstClassBySimpleName(apiBodyMetadata.getCodeModel(), apiBodyMetadata.getName());
             if (apiBodyMetadata.isArray()) {
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.generation.rules.spring;
+
+/**
+ * Names of the Spring WebFlux and Reactor classes used by the generated code. The generator runs on Spring 4 which
+ * does not ship these classes, so they are referenced by name and must be available to the project compiling the
+ * generated code.
+ *
+ * @since 0.10.15
+ */
+public final class SpringReactiveTypes {
+
+    /**
+     * A stream of at most one value
+     */
+    public static final String MONO = "reactor.core.publisher.Mono";
+
+    /**
+     * A stream of any amount of values
+     */
+    public static final String FLUX = "reactor.core.publisher.Flux";
+
+    /**
+     * The non blocking HTTP client of Spring WebFlux
+     */
+    public static final String WEB_CLIENT = "org.springframework.web.reactive.function.client.WebClient";
+
+    /**
+     * The request specification of a WebClient once its URI is set
+     */
+    public static final String WEB_CLIENT_REQUEST_BODY_SPEC = WEB_CLIENT + ".RequestBodySpec";
+
+    private SpringReactiveTypes() {
+        // Only holds constants
+    }
+}
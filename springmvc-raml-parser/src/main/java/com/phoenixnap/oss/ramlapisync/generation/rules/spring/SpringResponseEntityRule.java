@@ -17,12 +17,15 @@ import static com.phoenixnap.oss.ramlapisync.generation.CodeModelHelper.findFirs
 
 import java.util.List;
 
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.phoenixnap.oss.ramlapisync.data.ApiActionMetadata;
 import com.phoenixnap.oss.ramlapisync.data.ApiBodyMetadata;
 import com.phoenixnap.oss.ramlapisync.generation.rules.Rule;
 import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JType;
 
@@ -37,11 +40,29 @@ import com.sun.codemodel.JType;
  *
  * OUTPUT: {@literal @}ResponseEntity{@literal <}NamedResponseType{@literal >}
  *
+ * When streaming responses, array bodies are returned as a StreamingResponseBody and files as a Resource, so that
+ * the body is written as it is produced instead of being held in memory:
+ *
+ * OUTPUT: {@literal @}ResponseEntity{@literal <}StreamingResponseBody{@literal >}
+ *
  * @author armin.weisser
  * @since 0.4.1
  */
 public class SpringResponseEntityRule implements Rule<JDefinedClass, JType, ApiActionMetadata> {
 
+  private final boolean streamingResponses;
+
+  public SpringResponseEntityRule() {
+    this(false);
+  }
+
+  /**
+   * @param streamingResponses True to return array bodies as a StreamingResponseBody and files as a Resource
+   */
+  public SpringResponseEntityRule(boolean streamingResponses) {
+    this.streamingResponses = streamingResponses;
+  }
+
   @Override
   public JType apply(ApiActionMetadata endpointMetadata, JDefinedClass generatableType) {
 
@@ -49,6 +70,11 @@ public class SpringResponseEntityRule implements Rule<JDefinedClass, JType, ApiA
     if (!endpointMetadata.getResponseBody().isEmpty()) {
       ApiBodyMetadata apiBodyMetadata =
           endpointMetadata.getResponseBody().values().iterator().next();
+      JClass streamingType =
+          streamingResponses ? getStreamingType(apiBodyMetadata, generatableType.owner()) : null;
+      if (streamingType != null) {
+        return responseEntity.narrow(streamingType);
+      }
       JClass genericType =
           findFirstClassBySimpleName(apiBodyMetadata.getCodeModel(), apiBodyMetadata.getName());
       if (apiBodyMetadata.isArray()) {
@@ -61,4 +87,19 @@ public class SpringResponseEntityRule implements Rule<JDefinedClass, JType, ApiA
     return responseEntity
         .narrow(generatableType.owner().wildcard());
   }
+
+  /**
+   * @param apiBodyMetadata The response body
+   * @param owner The code model of the generated class
+   * @return The type writing the body as it is produced, or null if the body is a single object
+   */
+  static JClass getStreamingType(ApiBodyMetadata apiBodyMetadata, JCodeModel owner) {
+    if (apiBodyMetadata.isArray()) {
+      return owner.ref(StreamingResponseBody.class);
+    }
+    if (apiBodyMetadata.isFile()) {
+      return owner.ref(Resource.class);
+    }
+    return null;
+  }
 }
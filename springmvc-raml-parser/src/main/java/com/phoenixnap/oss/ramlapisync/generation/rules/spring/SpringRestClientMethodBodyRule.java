@@ -14,22 +14,43 @@ package com.phoenixnap.oss.ramlapisync.generation.rules.spring;
 
 import static com.phoenixnap.oss.ramlapisync.generation.CodeModelHelper.findFirstClassBySimpleName;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.CaseFormat;
 import com.phoenixnap.oss.ramlapisync.data.ApiActionMetadata;
 import com.phoenixnap.oss.ramlapisync.data.ApiBodyMetadata;
@@ -38,13 +59,23 @@ import com.phoenixnap.oss.ramlapisync.generation.CodeModelHelper;
 import com.phoenixnap.oss.ramlapisync.generation.rules.Rule;
 import com.phoenixnap.oss.ramlapisync.naming.NamingHelper;
 import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JCatchBlock;
 import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
 import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JExpr;
 import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JForEach;
+import com.sun.codemodel.JForLoop;
 import com.sun.codemodel.JInvocation;
 import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JOp;
+import com.sun.codemodel.JTryBlock;
 import com.sun.codemodel.JType;
+import com.sun.codemodel.JTypeVar;
 import com.sun.codemodel.JVar;
 
 /**
@@ -65,6 +96,30 @@ import com.sun.codemodel.JVar;
  *
  * The name of the field can be configured. Default is "restTemplate".
  *
+ * If constants are precomputed, the media types and headers which are the same on every call are parsed once into
+ * static final fields of the client, eg:
+ *
+ * private static final MediaType APPLICATION_JSON = MediaType.valueOf("application/json");
+ * private static final HttpHeaders GET_BASE_BY_ID_HEADERS = createHttpHeaders(null, APPLICATION_JSON);
+ *
+ * The read only header templates are sent as they are unless the method adds headers of its own, in which case they
+ * are copied. The URL of each endpoint is resolved against the base URL once the client is constructed.
+ *
+ * If URI templates are precompiled, the template of each endpoint is split into its literal parts and path variables
+ * while generating. The base URL and the first literal part are validated and encoded once the client is constructed,
+ * and each call only appends its encoded parameters, eg:
+ *
+ * StringBuilder uri = new StringBuilder(getBaseByIdUriPrefix).append(encodeUriComponent(id, false));
+ *
+ * Endpoints without parameters in their URI use a URI resolved once the client is constructed.
+ *
+ * If array responses are streamed, the items of the array are read one at a time by a Jackson JsonParser and passed
+ * to the consumer parameter of the method, so that the array is never held in memory as a whole. The response is
+ * closed by the rest template once the array has been read, or once the consumer throws, eg:
+ *
+ * return this.restTemplate.execute(uri, HttpMethod.GET, createRequestCallback(httpEntity),
+ *         new JsonArrayExtractor{@literal <}NamedResponseType{@literal >}(this.objectMapper, NamedResponseType.class, itemConsumer));
+ *
  * @author Kurt Paris
  * @author Kris Galea
  * @since 0.5.0
@@ -75,6 +130,16 @@ public class SpringRestClientMethodBodyRule implements Rule<CodeModelHelper.JExt
 
     private String baseUrlFieldName = "baseUrl";
 
+    private boolean precomputeConstants = false;
+
+    private boolean precompileUriTemplates = false;
+
+    private String objectMapperFieldName = null;
+
+    private static final Pattern URI_VARIABLE_PATTERN = Pattern.compile("\\{([^/}]+)\\}");
+
+    private static final String URI_ENCODING = "UTF-8";
+
     public SpringRestClientMethodBodyRule(String restTemplateFieldName, String baseUrlFieldName) {
         if(StringUtils.hasText(restTemplateFieldName)) {
             this.restTemplateFieldName = restTemplateFieldName;
@@ -84,10 +149,52 @@ public class SpringRestClientMethodBodyRule implements Rule<CodeModelHelper.JExt
         }
     }
 
+    /**
+     * @param restTemplateFieldName The name of the rest template field
+     * @param baseUrlFieldName The name of the base URL field
+     * @param precomputeConstants If true the media types, headers and URLs which do not change between calls are
+     *            stored in fields of the client rather than built on each call
+     */
+    public SpringRestClientMethodBodyRule(String restTemplateFieldName, String baseUrlFieldName, boolean precomputeConstants) {
+        this(restTemplateFieldName, baseUrlFieldName);
+        this.precomputeConstants = precomputeConstants;
+    }
+
+    /**
+     * @param restTemplateFieldName The name of the rest template field
+     * @param baseUrlFieldName The name of the base URL field
+     * @param precomputeConstants If true the media types, headers and URLs which do not change between calls are
+     *            stored in fields of the client rather than built on each call
+     * @param precompileUriTemplates If true the URI template of each endpoint is parsed once and calls encode their
+     *            parameters directly rather than through a UriComponentsBuilder
+     */
+    public SpringRestClientMethodBodyRule(String restTemplateFieldName, String baseUrlFieldName, boolean precomputeConstants,
+            boolean precompileUriTemplates) {
+        this(restTemplateFieldName, baseUrlFieldName, precomputeConstants);
+        this.precompileUriTemplates = precompileUriTemplates;
+    }
+
+    /**
+     * @param restTemplateFieldName The name of the rest template field
+     * @param baseUrlFieldName The name of the base URL field
+     * @param precomputeConstants If true the media types, headers and URLs which do not change between calls are
+     *            stored in fields of the client rather than built on each call
+     * @param precompileUriTemplates If true the URI template of each endpoint is parsed once and calls encode their
+     *            parameters directly rather than through a UriComponentsBuilder
+     * @param objectMapperFieldName The name of the ObjectMapper field reading array responses item by item, or null to
+     *            read array responses as a whole
+     */
+    public SpringRestClientMethodBodyRule(String restTemplateFieldName, String baseUrlFieldName, boolean precomputeConstants,
+            boolean precompileUriTemplates, String objectMapperFieldName) {
+        this(restTemplateFieldName, baseUrlFieldName, precomputeConstants, precompileUriTemplates);
+        this.objectMapperFieldName = objectMapperFieldName;
+    }
+
     @Override
     public JMethod apply(ApiActionMetadata endpointMetadata, CodeModelHelper.JExtMethod generatableType) {
         JBlock body = generatableType.get().body();
         JCodeModel owner = generatableType.owner();
+        JDefinedClass clientClass = precomputeConstants ? generatableType.getDeclaringClass() : null;
         //build HttpHeaders
         JClass httpHeadersClass = owner.ref(HttpHeaders.class);
         JExpression headersInit = JExpr._new(httpHeadersClass);
@@ -99,44 +206,41 @@ public class SpringRestClientMethodBodyRule implements Rule<CodeModelHelper.JExt
                     break;
                 }
             }
-        } else {
+        } else if (clientClass == null || !endpointMetadata.getRequestHeaders().isEmpty()) {
             httpHeaders = body.decl(httpHeadersClass, "httpHeaders", headersInit);
         }
+        JExpression entityHeaders = httpHeaders;
+
+        if (clientClass != null) {
+            // The accepted and sent media types never change, so they are only copied into headers of this call. Each
+            // value is set afresh since the lists held by the read only template cannot be modified
+            JFieldVar headersTemplate = declareHeadersTemplate(endpointMetadata, clientClass, generatableType.get().name());
+            if (httpHeaders != null) {
+                body.invoke(httpHeaders, "setAll").arg(headersTemplate.invoke("toSingleValueMap"));
+            } else {
+                entityHeaders = headersTemplate;
+            }
+        } else {
+            //Declare Arraylist to contain the acceptable Media Types
+            body.directStatement("//  Add Accepts Headers and Body Content-Type");
+            JClass mediaTypeClass = owner.ref(MediaType.class);
+            JClass refArrayListClass = owner.ref(ArrayList.class).narrow(mediaTypeClass);
+            JVar acceptsListVar = body.decl(refArrayListClass, "acceptsList", JExpr._new(refArrayListClass));
+
+            //If we have a request body, lets set the content type of our request
+            if (endpointMetadata.getRequestBody() != null) {
+            	body.invoke(httpHeaders, "setContentType").arg(mediaTypeClass.staticInvoke("valueOf").arg(endpointMetadata.getRequestBodyMime()));
+            }
 
+            //If we have response bodies defined, we need to add them to our accepts headers list
+            for (String acceptedMime : getAcceptedMimes(endpointMetadata)) {
+            	body.invoke(acceptsListVar, "add").arg(mediaTypeClass.staticInvoke("valueOf").arg(acceptedMime));
+            }
 
-        //Declare Arraylist to contain the acceptable Media Types
-        body.directStatement("//  Add Accepts Headers and Body Content-Type");
-        JClass mediaTypeClass = owner.ref(MediaType.class);
-        JClass refArrayListClass = owner.ref(ArrayList.class).narrow(mediaTypeClass);
-        JVar acceptsListVar = body.decl(refArrayListClass, "acceptsList", JExpr._new(refArrayListClass));
-
-        //If we have a request body, lets set the content type of our request
-        if (endpointMetadata.getRequestBody() != null) {
-        	body.invoke(httpHeaders, "setContentType").arg(mediaTypeClass.staticInvoke("valueOf").arg(endpointMetadata.getRequestBodyMime()));
-        }
-
-        //If we have response bodies defined, we need to add them to our accepts headers list
-        //TODO possibly restrict
-        String documentDefaultType = endpointMetadata.getParent().getDocument().getMediaType();
-        //If a global mediatype is defined add it
-        if (StringUtils.hasText(documentDefaultType)){
-        	body.invoke(acceptsListVar, "add").arg(mediaTypeClass.staticInvoke("valueOf").arg(documentDefaultType));
-        } else { //default to application/json just in case
-        	body.invoke(acceptsListVar, "add").arg(mediaTypeClass.staticInvoke("valueOf").arg("application/json"));
-        }
-
-        //Iterate over Response Bodies and add each distinct mime type to accepts headers
-        if (endpointMetadata.getResponseBody() != null && !endpointMetadata.getResponseBody().isEmpty()) {
-        	for (String responseMime : endpointMetadata.getResponseBody().keySet()) {
-        		if (!responseMime.equals(documentDefaultType) && !responseMime.equals("application/json")) {
-        			body.invoke(acceptsListVar, "add").arg(mediaTypeClass.staticInvoke("valueOf").arg(responseMime));
-        		}
-        	}
+            //Set accepts list as our accepts headers for the call
+            body.invoke(httpHeaders, "setAccept").arg(acceptsListVar);
         }
 
-        //Set accepts list as our accepts headers for the call
-        body.invoke(httpHeaders, "setAccept").arg(acceptsListVar);
-
 
         //Get the parameters from the model and put them in a map for easy lookup
         List<JVar> params = generatableType.get().params();
@@ -160,13 +264,29 @@ public class SpringRestClientMethodBodyRule implements Rule<CodeModelHelper.JExt
         if (endpointMetadata.getRequestBody() != null) {
 	       init.arg(methodParamMap.get(CaseFormat.UPPER_CAMEL.to(CaseFormat.LOWER_CAMEL, endpointMetadata.getRequestBody().getName())));
         }
-        init.arg(httpHeaders);
+        init.arg(entityHeaders);
 
         //Build the URL variable
         JExpression urlRef = JExpr.ref(baseUrlFieldName);
         JType urlClass = owner._ref(String.class);
         JExpression targetUrl = urlRef.invoke("concat").arg(endpointMetadata.getResource().getUri());
-        JVar url = body.decl(urlClass, "url", targetUrl);
+        JExpression precompiledUri = null;
+        if (precompileUriTemplates && generatableType.getDeclaringClass() != null) {
+            precompiledUri = buildPrecompiledUri(endpointMetadata, generatableType.getDeclaringClass(), generatableType.get().name(),
+                    body, methodParamMap);
+        }
+        if (precompiledUri != null) {
+            //build request entity holder
+            JVar httpEntityVar = body.decl(httpEntityClass, "httpEntity", init);
+            body._return(buildExchange(endpointMetadata, generatableType, body, precompiledUri, httpEntityVar));
+            return generatableType.get();
+        }
+        JExpression url;
+        if (clientClass != null) {
+            url = declareUrl(clientClass, generatableType.get().name(), targetUrl);
+        } else {
+            url = body.decl(urlClass, "url", targetUrl);
+        }
         JVar uriBuilderVar = null;
         JVar uriComponentVar = null;
 
@@ -200,15 +320,6 @@ public class SpringRestClientMethodBodyRule implements Rule<CodeModelHelper.JExt
         //build request entity holder
         JVar httpEntityVar = body.decl(httpEntityClass, "httpEntity", init);
 
-        //construct the HTTP Method enum
-        JClass httpMethod = null;
-        try {
-            httpMethod = (JClass)owner._ref(HttpMethod.class);
-        }
-        catch (ClassCastException e) {
-
-        }
-
         //get all uri params from metadata set and add them to the param map in code
         if (!CollectionUtils.isEmpty(endpointMetadata.getPathVariables())) {
             //Create Map with Uri Path Variables
@@ -222,6 +333,25 @@ public class SpringRestClientMethodBodyRule implements Rule<CodeModelHelper.JExt
         	body.assign(uriComponentVar, expandInvocation);
         }
 
+        body._return(buildExchange(endpointMetadata, generatableType, body, uriComponentVar.invoke("encode").invoke("toUri"), httpEntityVar));
+
+        return generatableType.get();
+    }
+
+    /**
+     * Builds the rest template exchange invocation returning the response of a call
+     */
+    private JInvocation buildExchange(ApiActionMetadata endpointMetadata, CodeModelHelper.JExtMethod generatableType, JBlock body,
+            JExpression uri, JVar httpEntityVar) {
+        JCodeModel owner = generatableType.owner();
+        //construct the HTTP Method enum
+        JClass httpMethod = owner.ref(HttpMethod.class);
+
+        ApiBodyMetadata streamedArrayBody = SpringStreamedArrayResponseEntityRule.getStreamedArrayBody(endpointMetadata);
+        if (objectMapperFieldName != null && streamedArrayBody != null) {
+            return buildStreamedArrayExecution(endpointMetadata, generatableType, streamedArrayBody, uri, httpEntityVar);
+        }
+
         //Determining response entity type
         JClass returnType = null;
         if (!endpointMetadata.getResponseBody().isEmpty()) {
@@ -257,14 +387,363 @@ public class SpringRestClientMethodBodyRule implements Rule<CodeModelHelper.JExt
         //build rest template exchange invocation
         JInvocation jInvocation = JExpr._this().ref(restTemplateFieldName).invoke("exchange");
 
-        jInvocation.arg(uriComponentVar.invoke("encode").invoke("toUri"));
+        jInvocation.arg(uri);
         jInvocation.arg(httpMethod.staticRef(endpointMetadata.getActionType().name()));
         jInvocation.arg(httpEntityVar);
         jInvocation.arg(returnExpression);
+        return jInvocation;
+    }
 
-        body._return(jInvocation);
+    /**
+     * Builds the rest template execution passing the items of an array response to the consumer parameter of a call
+     */
+    private JInvocation buildStreamedArrayExecution(ApiActionMetadata endpointMetadata, CodeModelHelper.JExtMethod generatableType,
+            ApiBodyMetadata arrayBody, JExpression uri, JVar httpEntityVar) {
+        JDefinedClass clientClass = generatableType.getDeclaringClass();
+        if (clientClass == null) {
+            throw new IllegalStateException("The class declaring " + generatableType.get().name() + " is unknown");
+        }
+        JVar itemConsumer = null;
+        for (JVar param : generatableType.get().params()) {
+            if (param.name().equals(SpringStreamedArrayParamsRule.ITEM_CONSUMER_PARAMETER_NAME)) {
+                itemConsumer = param;
+            }
+        }
+        if (itemConsumer == null) {
+            throw new IllegalStateException("The method " + generatableType.get().name() + " has no "
+                    + SpringStreamedArrayParamsRule.ITEM_CONSUMER_PARAMETER_NAME + " parameter receiving the items of its response");
+        }
+        JClass itemType = findFirstClassBySimpleName(arrayBody.getCodeModel(), arrayBody.getName());
+        return JExpr._this().ref(restTemplateFieldName).invoke("execute")
+                .arg(uri)
+                .arg(generatableType.owner().ref(HttpMethod.class).staticRef(endpointMetadata.getActionType().name()))
+                .arg(JExpr.invoke(getCreateRequestCallbackMethod(clientClass)).arg(httpEntityVar))
+                .arg(JExpr._new(getJsonArrayExtractorClass(clientClass).narrow(itemType))
+                        .arg(JExpr._this().ref(objectMapperFieldName)).arg(JExpr.dotclass(itemType)).arg(itemConsumer));
+    }
 
-        return generatableType.get();
+    /**
+     * Splits the URI template of an endpoint into its literal parts and path variables and builds the URI of a call
+     * from them. Endpoints without parameters in their URI are resolved once the client is constructed.
+     *
+     * @return The expression of the URI of the call or null if the template holds variables which are not path
+     *         variables of the endpoint, in which case the UriComponentsBuilder is kept
+     */
+    private JExpression buildPrecompiledUri(ApiActionMetadata endpointMetadata, JDefinedClass clientClass, String methodName,
+            JBlock body, Map<String, JVar> methodParamMap) {
+        JCodeModel owner = clientClass.owner();
+        String uriTemplate = endpointMetadata.getResource().getUri();
+        List<String> literals = new ArrayList<>();
+        List<JVar> variables = new ArrayList<>();
+        Matcher matcher = URI_VARIABLE_PATTERN.matcher(uriTemplate);
+        int literalStart = 0;
+        while (matcher.find()) {
+            JVar variable = methodParamMap.get(matcher.group(1));
+            if (variable == null || endpointMetadata.getPathVariables().stream().noneMatch(p -> p.getName().equals(matcher.group(1)))) {
+                return null;
+            }
+            literals.add(uriTemplate.substring(literalStart, matcher.start()));
+            variables.add(variable);
+            literalStart = matcher.end();
+        }
+        literals.add(uriTemplate.substring(literalStart));
+
+        // The base URL is only known once the client is constructed, so it is validated and encoded along with the first
+        // literal part, like the builder would on each call
+        JExpression prefixBuilder = owner.ref(UriComponentsBuilder.class).staticInvoke("fromHttpUrl")
+                .arg(JExpr.ref(baseUrlFieldName).invoke("concat").arg(literals.get(0))).invoke("build").invoke("encode");
+        if (variables.isEmpty() && CollectionUtils.isEmpty(endpointMetadata.getRequestParameters())) {
+            JFieldVar uriField = clientClass.field(JMod.PRIVATE, URI.class, getUniqueFieldName(clientClass, methodName + "Uri"));
+            getInitUrlsMethod(clientClass).body().assign(JExpr._this().ref(uriField), prefixBuilder.invoke("toUri"));
+            return uriField;
+        }
+        JFieldVar prefixField = clientClass.field(JMod.PRIVATE, String.class, getUniqueFieldName(clientClass, methodName + "UriPrefix"));
+        getInitUrlsMethod(clientClass).body().assign(JExpr._this().ref(prefixField), prefixBuilder.invoke("toUriString"));
+
+        JMethod encodeMethod = getEncodeUriComponentMethod(clientClass);
+        JClass stringBuilderClass = owner.ref(StringBuilder.class);
+        JExpression uriInit = JExpr._new(stringBuilderClass).arg(prefixField);
+        for (int i = 0; i < variables.size(); i++) {
+            uriInit = uriInit.invoke("append").arg(JExpr.invoke(encodeMethod).arg(variables.get(i)).arg(JExpr.FALSE));
+            if (!literals.get(i + 1).isEmpty()) {
+                uriInit = uriInit.invoke("append").arg(encode(literals.get(i + 1), false));
+            }
+        }
+        JVar uriVar = body.decl(stringBuilderClass, "uri", uriInit);
+
+        // Query parameters are only sent when they are not null, like the builder would
+        if (!CollectionUtils.isEmpty(endpointMetadata.getRequestParameters())) {
+            for (ApiParameterMetadata parameter : endpointMetadata.getRequestParameters()) {
+                JVar param = methodParamMap.get(NamingHelper.getParameterName(parameter.getName()));
+                JExpression separator = JOp.cond(uriVar.invoke("indexOf").arg("?").lt(JExpr.lit(0)), JExpr.lit('?'), JExpr.lit('&'));
+                body._if(param.ne(JExpr._null()))._then().add(uriVar.invoke("append").arg(separator)
+                        .invoke("append").arg(encode(parameter.getName(), true) + "=")
+                        .invoke("append").arg(JExpr.invoke(encodeMethod).arg(param).arg(JExpr.TRUE)));
+            }
+        }
+        return owner.ref(URI.class).staticInvoke("create").arg(uriVar.invoke("toString"));
+    }
+
+    /**
+     * Encodes a literal part of a URI while generating the client
+     */
+    private static String encode(String value, boolean queryParam) {
+        try {
+            return queryParam ? UriUtils.encodeQueryParam(value, URI_ENCODING) : UriUtils.encodePath(value, URI_ENCODING);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Declares the helper method encoding the parameters of a URI, once. Values only holding unreserved characters,
+     * such as numbers and most identifiers, are returned as they are without allocating.
+     */
+    private JMethod getEncodeUriComponentMethod(JDefinedClass clientClass) {
+        for (JMethod method : clientClass.methods()) {
+            if (method.name().equals("encodeUriComponent")) {
+                return method;
+            }
+        }
+        JCodeModel owner = clientClass.owner();
+        JClass stringClass = owner.ref(String.class);
+        JClass uriUtilsClass = owner.ref(UriUtils.class);
+        JMethod method = clientClass.method(JMod.PRIVATE | JMod.STATIC, stringClass, "encodeUriComponent");
+        method.javadoc().add("Encodes a path or query parameter value, returning it as it is if no character needs encoding");
+        JVar value = method.param(Object.class, "value");
+        JVar queryParam = method.param(owner.BOOLEAN, "queryParam");
+        JBlock body = method.body();
+        // The builder expands null path variables to an empty string
+        JVar text = body.decl(stringClass, "text", JOp.cond(value.eq(JExpr._null()), JExpr.lit(""), value.invoke("toString")));
+        JForLoop loop = body._for();
+        JVar index = loop.init(owner.INT, "i", JExpr.lit(0));
+        loop.test(index.lt(text.invoke("length")));
+        loop.update(index.incr());
+        JVar character = loop.body().decl(owner.CHAR, "c", text.invoke("charAt").arg(index));
+        JExpression unreserved = JOp.cand(character.gte(JExpr.lit('a')), character.lte(JExpr.lit('z')))
+                .cor(JOp.cand(character.gte(JExpr.lit('A')), character.lte(JExpr.lit('Z'))))
+                .cor(JOp.cand(character.gte(JExpr.lit('0')), character.lte(JExpr.lit('9'))))
+                .cor(character.eq(JExpr.lit('-'))).cor(character.eq(JExpr.lit('.')))
+                .cor(character.eq(JExpr.lit('_'))).cor(character.eq(JExpr.lit('~')));
+        JTryBlock tryBlock = loop.body()._if(unreserved.not())._then()._try();
+        tryBlock.body()._return(JOp.cond(queryParam,
+                uriUtilsClass.staticInvoke("encodeQueryParam").arg(text).arg(URI_ENCODING),
+                uriUtilsClass.staticInvoke("encodePath").arg(text).arg(URI_ENCODING)));
+        JCatchBlock catchBlock = tryBlock._catch(owner.ref(UnsupportedEncodingException.class));
+        JVar exception = catchBlock.param("e");
+        catchBlock.body()._throw(JExpr._new(owner.ref(IllegalStateException.class)).arg(exception));
+        body._return(text);
+        return method;
+    }
+
+    /**
+     * Lists the media types a call accepts: the default media type of the document (or application/json if there is
+     * none) followed by each other media type of the response bodies
+     */
+    static List<String> getAcceptedMimes(ApiActionMetadata endpointMetadata) {
+        List<String> acceptedMimes = new ArrayList<>();
+        //TODO possibly restrict
+        String documentDefaultType = endpointMetadata.getParent().getDocument().getMediaType();
+        //If a global mediatype is defined add it
+        if (StringUtils.hasText(documentDefaultType)){
+        	acceptedMimes.add(documentDefaultType);
+        } else { //default to application/json just in case
+        	acceptedMimes.add("application/json");
+        }
+
+        //Iterate over Response Bodies and add each distinct mime type to accepts headers
+        if (endpointMetadata.getResponseBody() != null && !endpointMetadata.getResponseBody().isEmpty()) {
+        	for (String responseMime : endpointMetadata.getResponseBody().keySet()) {
+        		if (!responseMime.equals(documentDefaultType) && !responseMime.equals("application/json")) {
+        			acceptedMimes.add(responseMime);
+        		}
+        	}
+        }
+        return acceptedMimes;
+    }
+
+    /**
+     * Declares a read only static final HttpHeaders holding the Accept and Content-Type headers of a call
+     */
+    private JFieldVar declareHeadersTemplate(ApiActionMetadata endpointMetadata, JDefinedClass clientClass, String methodName) {
+        JCodeModel owner = clientClass.owner();
+        JInvocation headersInit = JExpr.invoke(getCreateHttpHeadersMethod(clientClass));
+        if (endpointMetadata.getRequestBody() != null) {
+            headersInit.arg(declareMediaType(clientClass, endpointMetadata.getRequestBodyMime()));
+        } else {
+            headersInit.arg(JExpr._null());
+        }
+        for (String acceptedMime : getAcceptedMimes(endpointMetadata)) {
+            headersInit.arg(declareMediaType(clientClass, acceptedMime));
+        }
+        String fieldName = getUniqueFieldName(clientClass, CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, methodName) + "_HEADERS");
+        return clientClass.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, owner.ref(HttpHeaders.class), fieldName, headersInit);
+    }
+
+    /**
+     * Declares a static final MediaType parsed from a mime type, shared by all calls of the client
+     */
+    private JFieldVar declareMediaType(JDefinedClass clientClass, String mime) {
+        String fieldName = mime.toUpperCase().replaceAll("[^A-Z0-9]+", "_");
+        if (clientClass.fields().containsKey(fieldName)) {
+            return clientClass.fields().get(fieldName);
+        }
+        JClass mediaTypeClass = clientClass.owner().ref(MediaType.class);
+        return clientClass.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, mediaTypeClass, fieldName,
+                mediaTypeClass.staticInvoke("valueOf").arg(mime));
+    }
+
+    /**
+     * Declares the helper method creating the read only header templates of the client, once
+     */
+    private JMethod getCreateHttpHeadersMethod(JDefinedClass clientClass) {
+        for (JMethod method : clientClass.methods()) {
+            if (method.name().equals("createHttpHeaders")) {
+                return method;
+            }
+        }
+        JCodeModel owner = clientClass.owner();
+        JClass httpHeadersClass = owner.ref(HttpHeaders.class);
+        JClass mediaTypeClass = owner.ref(MediaType.class);
+        JMethod method = clientClass.method(JMod.PRIVATE | JMod.STATIC, httpHeadersClass, "createHttpHeaders");
+        method.javadoc().add("Creates the read only Accept and Content-Type headers shared by all calls to an endpoint");
+        JVar contentType = method.param(mediaTypeClass, "contentType");
+        JVar accept = method.varParam(mediaTypeClass, "accept");
+        JBlock body = method.body();
+        JVar httpHeaders = body.decl(httpHeadersClass, "httpHeaders", JExpr._new(httpHeadersClass));
+        body._if(contentType.ne(JExpr._null()))._then().invoke(httpHeaders, "setContentType").arg(contentType);
+        body.invoke(httpHeaders, "setAccept").arg(owner.ref(Arrays.class).staticInvoke("asList").arg(accept));
+        body._return(httpHeadersClass.staticInvoke("readOnlyHttpHeaders").arg(httpHeaders));
+        return method;
+    }
+
+    /**
+     * Declares the helper method creating the callback which writes the headers and body of an HttpEntity to a
+     * request, once. The rest template only exposes this callback to its subclasses.
+     */
+    private JMethod getCreateRequestCallbackMethod(JDefinedClass clientClass) {
+        for (JMethod method : clientClass.methods()) {
+            if (method.name().equals("createRequestCallback")) {
+                return method;
+            }
+        }
+        JCodeModel owner = clientClass.owner();
+        JClass requestCallbackClass = owner.ref(RequestCallback.class);
+        JMethod method = clientClass.method(JMod.PRIVATE, requestCallbackClass, "createRequestCallback");
+        method.javadoc().add("Creates the callback writing the headers and body of an entity with the converters of the rest template");
+        JVar httpEntity = method.param(JMod.FINAL, owner.ref(HttpEntity.class).narrow(owner.wildcard()), "httpEntity");
+
+        JDefinedClass callback = owner.anonymousClass(requestCallbackClass);
+        JMethod doWithRequest = callback.method(JMod.PUBLIC, owner.VOID, "doWithRequest");
+        doWithRequest.annotate(Override.class);
+        doWithRequest.annotate(SuppressWarnings.class).param("value", "unchecked");
+        doWithRequest._throws(IOException.class);
+        JVar request = doWithRequest.param(ClientHttpRequest.class, "request");
+        JBlock body = doWithRequest.body();
+        body.add(request.invoke("getHeaders").invoke("putAll").arg(httpEntity.invoke("getHeaders")));
+        JBlock hasBody = body._if(httpEntity.invoke("hasBody"))._then();
+        JVar requestBody = hasBody.decl(owner.ref(Object.class), "body", httpEntity.invoke("getBody"));
+        JVar contentType = hasBody.decl(owner.ref(MediaType.class), "contentType",
+                httpEntity.invoke("getHeaders").invoke("getContentType"));
+        JClass converterClass = owner.ref(HttpMessageConverter.class);
+        JClass writerClass = converterClass.narrow(Object.class);
+        JVar writer = hasBody.decl(writerClass, "writer", JExpr._null());
+        JForEach forEach = hasBody.forEach(converterClass.narrow(owner.wildcard()), "converter",
+                JExpr.ref(restTemplateFieldName).invoke("getMessageConverters"));
+        forEach.body()._if(writer.eq(JExpr._null()).cand(forEach.var().invoke("canWrite").arg(requestBody.invoke("getClass")).arg(contentType)))
+                ._then().assign(writer, JExpr.cast(writerClass, forEach.var()));
+        hasBody._if(writer.eq(JExpr._null()))._then()._throw(JExpr._new(owner.ref(RestClientException.class))
+                .arg(JExpr.lit("No HttpMessageConverter writes ").plus(requestBody.invoke("getClass").invoke("getName"))
+                        .plus(JExpr.lit(" as ")).plus(contentType)));
+        hasBody.invoke(writer, "write").arg(requestBody).arg(contentType).arg(request);
+
+        method.body()._return(JExpr._new(callback));
+        return method;
+    }
+
+    /**
+     * Declares the extractor which reads a JSON array one item at a time and passes each item to a consumer, once.
+     * The response is closed by the rest template once the extractor returns or throws.
+     */
+    private JDefinedClass getJsonArrayExtractorClass(JDefinedClass clientClass) {
+        Iterator<JDefinedClass> nestedClasses = clientClass.classes();
+        while (nestedClasses.hasNext()) {
+            JDefinedClass nestedClass = nestedClasses.next();
+            if (nestedClass.name().equals("JsonArrayExtractor")) {
+                return nestedClass;
+            }
+        }
+        JCodeModel owner = clientClass.owner();
+        JDefinedClass extractor;
+        try {
+            extractor = clientClass._class(JMod.PRIVATE | JMod.STATIC, "JsonArrayExtractor");
+        } catch (JClassAlreadyExistsException e) {
+            throw new IllegalStateException(e);
+        }
+        extractor.javadoc().add("Passes each item of a JSON array response to a consumer as it is read");
+        JTypeVar itemTypeVar = extractor.generify("T");
+        JClass responseEntityClass = owner.ref(ResponseEntity.class).narrow(Void.class);
+        extractor._implements(owner.ref(ResponseExtractor.class).narrow(responseEntityClass));
+        JFieldVar objectMapper = extractor.field(JMod.PRIVATE | JMod.FINAL, ObjectMapper.class, "objectMapper");
+        JFieldVar itemType = extractor.field(JMod.PRIVATE | JMod.FINAL, owner.ref(Class.class).narrow(itemTypeVar), "itemType");
+        JFieldVar itemConsumer = extractor.field(JMod.PRIVATE | JMod.FINAL, owner.ref(Consumer.class).narrow(itemTypeVar), "itemConsumer");
+        JMethod constructor = extractor.constructor(JMod.PRIVATE);
+        for (JFieldVar field : new JFieldVar[] { objectMapper, itemType, itemConsumer }) {
+            constructor.body().assign(JExpr._this().ref(field), constructor.param(field.type(), field.name()));
+        }
+
+        JMethod extractData = extractor.method(JMod.PUBLIC, responseEntityClass, "extractData");
+        extractData.annotate(Override.class);
+        extractData._throws(IOException.class);
+        JVar response = extractData.param(ClientHttpResponse.class, "response");
+        JBlock body = extractData.body();
+        JVar parser = body.decl(owner.ref(JsonParser.class), "parser",
+                objectMapper.invoke("getFactory").invoke("createParser").arg(response.invoke("getBody")));
+        JTryBlock tryBlock = body._try();
+        JBlock tryBody = tryBlock.body();
+        JClass jsonTokenClass = owner.ref(JsonToken.class);
+        JVar token = tryBody.decl(jsonTokenClass, "token", parser.invoke("nextToken"));
+        // An empty body holds no items
+        JBlock items = tryBody._if(token.ne(JExpr._null()))._then();
+        items._if(token.ne(jsonTokenClass.staticRef("START_ARRAY")))._then()._throw(JExpr._new(owner.ref(RestClientException.class))
+                .arg(JExpr.lit("Expected a JSON array but found ").plus(token)));
+        items.assign(token, parser.invoke("nextToken"));
+        JBlock loop = items._while(token.ne(jsonTokenClass.staticRef("END_ARRAY"))).body();
+        loop._if(token.eq(JExpr._null()))._then()._throw(JExpr._new(owner.ref(EOFException.class))
+                .arg("Unexpected end of the JSON array"));
+        loop.add(itemConsumer.invoke("accept").arg(objectMapper.invoke("readValue").arg(parser).arg(itemType)));
+        loop.assign(token, parser.invoke("nextToken"));
+        tryBlock._finally().add(parser.invoke("close"));
+        body._return(JExpr._new(responseEntityClass).arg(response.invoke("getHeaders")).arg(response.invoke("getStatusCode")));
+        return extractor;
+    }
+
+    /**
+     * Declares a field holding the URL of a call, resolved against the base URL once the client is constructed
+     */
+    private JFieldVar declareUrl(JDefinedClass clientClass, String methodName, JExpression targetUrl) {
+        JFieldVar urlField = clientClass.field(JMod.PRIVATE, String.class, getUniqueFieldName(clientClass, methodName + "EndpointUrl"));
+        getInitUrlsMethod(clientClass).body().assign(JExpr._this().ref(urlField), targetUrl);
+        return urlField;
+    }
+
+    private JMethod getInitUrlsMethod(JDefinedClass clientClass) {
+        JMethod method = clientClass.getMethod("initUrls", new JType[0]);
+        if (method == null) {
+            method = clientClass.method(JMod.PRIVATE, clientClass.owner().VOID, "initUrls");
+            // Referenced by name since javax.annotation is no longer part of the JDK from Java 11
+            method.annotate(CodeModelHelper.directClass(clientClass.owner(), "javax.annotation.PostConstruct"));
+            method.javadoc().add("Resolves the URL of each endpoint against the injected base URL");
+        }
+        return method;
+    }
+
+    private String getUniqueFieldName(JDefinedClass clientClass, String fieldName) {
+        String uniqueName = fieldName;
+        for (int i = 1; clientClass.fields().containsKey(uniqueName); i++) {
+            uniqueName = fieldName + i;
+        }
+        return uniqueName;
     }
 
 }
@@ -51,6 +51,9 @@ import com.sun.codemodel.JType;
  * Callable{@literal <}NamedResponseType{@literal >}
  *
  * OR:
+ * Callable{@literal <}StreamingResponseBody{@literal >} (if the NamedResponseType is an "array" and responses are streamed)
+ *
+ * OR:
  * Callable{@literal <}ArrayList{@literal <}NamedResponseType{@literal >}{@literal >} (if the NamedResponseType is an "array")
  *
  * @author mehdi.jouan
@@ -58,6 +61,19 @@ import com.sun.codemodel.JType;
  */
 public class SpringSimpleCallableResponseTypeRule implements Rule<JDefinedClass, JType, ApiActionMetadata> {
 
+    private final boolean streamingResponses;
+
+    public SpringSimpleCallableResponseTypeRule() {
+        this(false);
+    }
+
+    /**
+     * @param streamingResponses True to return array bodies as a StreamingResponseBody and files as a Resource
+     */
+    public SpringSimpleCallableResponseTypeRule(boolean streamingResponses) {
+        this.streamingResponses = streamingResponses;
+    }
+
     @Override
     public JType apply(ApiActionMetadata endpointMetadata, JDefinedClass generatableType) {
 
@@ -65,6 +81,11 @@ public class SpringSimpleCallableResponseTypeRule implements Rule<JDefinedClass,
         JClass responseType = generatableType.owner().ref(ResponseEntity.class);
         if (!endpointMetadata.getResponseBody().isEmpty()) {
             ApiBodyMetadata apiBodyMetadata = endpointMetadata.getResponseBody().values().iterator().next();
+            JClass streamingType = streamingResponses
+                    ? SpringResponseEntityRule.getStreamingType(apiBodyMetadata, generatableType.owner()) : null;
+            if (streamingType != null) {
+                return callable.narrow(streamingType);
+            }
             JClass genericType = findFirstClassBySimpleName(apiBodyMetadata.getCodeModel(), apiBodyMetadata.getName());
             if (apiBodyMetadata.isArray()) {
                 JClass arrayType = generatableType.owner().ref(List.class);
@@ -52,16 +52,37 @@ import com.sun.codemodel.JType;
  * OR:
  * ArrayList{@literal <}NamedResponseType{@literal >} (if the NamedResponseType is an "array")
  *
+ * OR:
+ * StreamingResponseBody (if the NamedResponseType is an "array" and responses are streamed)
+ *
  * @author armin.weisser
  * @since 0.4.1
  */
 public class SpringSimpleResponseTypeRule implements Rule<JDefinedClass, JType, ApiActionMetadata> {
 
+    private final boolean streamingResponses;
+
+    public SpringSimpleResponseTypeRule() {
+        this(false);
+    }
+
+    /**
+     * @param streamingResponses True to return array bodies as a StreamingResponseBody and files as a Resource
+     */
+    public SpringSimpleResponseTypeRule(boolean streamingResponses) {
+        this.streamingResponses = streamingResponses;
+    }
+
     @Override
     public JType apply(ApiActionMetadata endpointMetadata, JDefinedClass generatableType) {
         JClass responseType = generatableType.owner().ref(ResponseEntity.class);
         if (!endpointMetadata.getResponseBody().isEmpty()) {
             ApiBodyMetadata apiBodyMetadata = endpointMetadata.getResponseBody().values().iterator().next();
+            JClass streamingType = streamingResponses
+                    ? SpringResponseEntityRule.getStreamingType(apiBodyMetadata, generatableType.owner()) : null;
+            if (streamingType != null) {
+                return streamingType;
+            }
             JClass genericType = findFirstClassBySimpleName(apiBodyMetadata.getCodeModel(), apiBodyMetadata.getName());
             if (apiBodyMetadata.isArray()) {
                 JClass arrayType = generatableType.owner().ref(List.class);
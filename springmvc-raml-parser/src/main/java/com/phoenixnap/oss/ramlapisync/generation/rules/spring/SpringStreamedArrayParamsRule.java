@@ -0,0 +1,68 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.generation.rules.spring;
+
+import static com.phoenixnap.oss.ramlapisync.generation.CodeModelHelper.findFirstClassBySimpleName;
+
+import java.util.function.Consumer;
+
+import com.phoenixnap.oss.ramlapisync.data.ApiActionMetadata;
+import com.phoenixnap.oss.ramlapisync.data.ApiBodyMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.CodeModelHelper;
+import com.phoenixnap.oss.ramlapisync.generation.rules.Rule;
+import com.sun.codemodel.JMethod;
+
+/**
+ * Adds the parameters of an endpoint to a client method and, if the endpoint responds with an array, a consumer
+ * receiving each item of the array as it is read.
+ *
+ * OUTPUT:
+ * public ResponseEntity{@literal <}Void{@literal >} getBase(String id, Consumer{@literal <}NamedResponseType{@literal >} itemConsumer)
+ *
+ * @since 0.10.15
+ */
+public class SpringStreamedArrayParamsRule implements Rule<CodeModelHelper.JExtMethod, JMethod, ApiActionMetadata> {
+
+    /**
+     * The name of the parameter receiving the items of an array response
+     */
+    public static final String ITEM_CONSUMER_PARAMETER_NAME = "itemConsumer";
+
+    private final Rule<CodeModelHelper.JExtMethod, JMethod, ApiActionMetadata> paramsRule;
+
+    private final boolean addParameterJavadoc;
+
+    /**
+     * @param paramsRule The rule adding the parameters of the endpoint
+     * @param addParameterJavadoc Set to true for javadocs for the consumer parameter
+     */
+    public SpringStreamedArrayParamsRule(Rule<CodeModelHelper.JExtMethod, JMethod, ApiActionMetadata> paramsRule,
+            boolean addParameterJavadoc) {
+        this.paramsRule = paramsRule;
+        this.addParameterJavadoc = addParameterJavadoc;
+    }
+
+    @Override
+    public JMethod apply(ApiActionMetadata endpointMetadata, CodeModelHelper.JExtMethod generatableType) {
+        JMethod method = paramsRule.apply(endpointMetadata, generatableType);
+        ApiBodyMetadata arrayBody = SpringStreamedArrayResponseEntityRule.getStreamedArrayBody(endpointMetadata);
+        if (arrayBody != null) {
+            if (addParameterJavadoc) {
+                method.javadoc().addParam(ITEM_CONSUMER_PARAMETER_NAME + " Receives each item of the response as it is read");
+            }
+            method.param(generatableType.owner().ref(Consumer.class)
+                    .narrow(findFirstClassBySimpleName(arrayBody.getCodeModel(), arrayBody.getName())), ITEM_CONSUMER_PARAMETER_NAME);
+        }
+        return method;
+    }
+}
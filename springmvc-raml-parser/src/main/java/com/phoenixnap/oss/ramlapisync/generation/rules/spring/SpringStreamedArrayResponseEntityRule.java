@@ -0,0 +1,58 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.generation.rules.spring;
+
+import org.springframework.http.ResponseEntity;
+
+import com.phoenixnap.oss.ramlapisync.data.ApiActionMetadata;
+import com.phoenixnap.oss.ramlapisync.data.ApiBodyMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.rules.Rule;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JType;
+
+/**
+ * Creates the return type of a client call whose array response is passed item by item to a consumer rather than
+ * returned. Only the status and headers of such responses are returned, other responses keep their ResponseEntity.
+ *
+ * #%RAML 1.0 title: myapi mediaType: application/json baseUri: /
+ *
+ * /base: get: responses: 200: body: NamedResponseType[]
+ *
+ * OUTPUT: ResponseEntity{@literal <}Void{@literal >}
+ *
+ * @since 0.10.15
+ */
+public class SpringStreamedArrayResponseEntityRule implements Rule<JDefinedClass, JType, ApiActionMetadata> {
+
+    private final SpringResponseEntityRule responseEntityRule = new SpringResponseEntityRule();
+
+    @Override
+    public JType apply(ApiActionMetadata endpointMetadata, JDefinedClass generatableType) {
+        if (getStreamedArrayBody(endpointMetadata) != null) {
+            return generatableType.owner().ref(ResponseEntity.class).narrow(Void.class);
+        }
+        return responseEntityRule.apply(endpointMetadata, generatableType);
+    }
+
+    /**
+     * @param endpointMetadata The endpoint called
+     * @return The array response body of the endpoint or null if it does not respond with an array
+     */
+    static ApiBodyMetadata getStreamedArrayBody(ApiActionMetadata endpointMetadata) {
+        if (endpointMetadata.getResponseBody().isEmpty()) {
+            return null;
+        }
+        ApiBodyMetadata apiBodyMetadata = endpointMetadata.getResponseBody().values().iterator().next();
+        return apiBodyMetadata.isArray() ? apiBodyMetadata : null;
+    }
+}
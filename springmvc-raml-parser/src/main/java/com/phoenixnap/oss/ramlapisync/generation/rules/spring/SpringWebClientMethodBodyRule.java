@@ -0,0 +1,172 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.generation.rules.spring;
+
+import static com.phoenixnap.oss.ramlapisync.generation.CodeModelHelper.findFirstClassBySimpleName;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.google.common.base.CaseFormat;
+import com.phoenixnap.oss.ramlapisync.data.ApiActionMetadata;
+import com.phoenixnap.oss.ramlapisync.data.ApiBodyMetadata;
+import com.phoenixnap.oss.ramlapisync.data.ApiParameterMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.CodeModelHelper;
+import com.phoenixnap.oss.ramlapisync.generation.rules.Rule;
+import com.phoenixnap.oss.ramlapisync.naming.NamingHelper;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JVar;
+
+/**
+ * Generates a method body that calls an endpoint through an autowired Spring WebFlux WebClient. The URI, query
+ * parameters, headers and body are mapped like in the RestTemplate client, but the call returns as soon as the request
+ * is prepared and the response is published once it arrives.
+ *
+ * INPUT:
+ * #%RAML 0.8
+ * title: myapi
+ * mediaType: application/json
+ * baseUri: /
+ * /base:
+ *   /{id}
+ *     get:
+ *
+ * OUTPUT:
+ * RequestBodySpec request = this.webClient.method(HttpMethod.GET).uri(uri);
+ * request.accept(MediaType.valueOf("application/json"));
+ * return request.retrieve().toEntity(NamedResponseType.class);
+ *
+ * Array responses are retrieved with bodyToFlux, which publishes each item as it is read.
+ *
+ * If HttpHeaders are injected as a parameter, they are copied into the request before the headers declared in the RAML:
+ *
+ * request.headers(h -{@literal >} h.addAll(httpHeaders));
+ *
+ * The name of the field can be configured. Default is "webClient".
+ *
+ * @since 0.10.15
+ */
+public class SpringWebClientMethodBodyRule implements Rule<CodeModelHelper.JExtMethod, JMethod, ApiActionMetadata> {
+
+    private String webClientFieldName = "webClient";
+
+    private String baseUrlFieldName = "baseUrl";
+
+    public SpringWebClientMethodBodyRule(String webClientFieldName, String baseUrlFieldName) {
+        if (StringUtils.hasText(webClientFieldName)) {
+            this.webClientFieldName = webClientFieldName;
+        }
+        if (StringUtils.hasText(baseUrlFieldName)) {
+            this.baseUrlFieldName = baseUrlFieldName;
+        }
+    }
+
+    @Override
+    public JMethod apply(ApiActionMetadata endpointMetadata, CodeModelHelper.JExtMethod generatableType) {
+        JBlock body = generatableType.get().body();
+        JCodeModel owner = generatableType.owner();
+
+        //Get the parameters from the model and put them in a map for easy lookup
+        Map<String, JVar> methodParamMap = new LinkedHashMap<>();
+        for (JVar param : generatableType.get().params()) {
+            methodParamMap.put(param.name(), param);
+        }
+
+        //Initialise the UriComponentsBuilder
+        JClass builderClass = owner.ref(UriComponentsBuilder.class);
+        JExpression targetUrl = JExpr.ref(baseUrlFieldName).invoke("concat").arg(endpointMetadata.getResource().getUri());
+        JVar uriBuilderVar = body.decl(builderClass, "builder", builderClass.staticInvoke("fromHttpUrl").arg(targetUrl));
+
+        // Query parameters are only sent when they are not null
+        if (!CollectionUtils.isEmpty(endpointMetadata.getRequestParameters())) {
+            for (ApiParameterMetadata parameter : endpointMetadata.getRequestParameters()) {
+                JVar param = methodParamMap.get(NamingHelper.getParameterName(parameter.getName()));
+                body._if(param.ne(JExpr._null()))._then().invoke(uriBuilderVar, "queryParam").arg(parameter.getName()).arg(param);
+            }
+        }
+
+        JExpression uriComponents = uriBuilderVar.invoke("build");
+        if (!CollectionUtils.isEmpty(endpointMetadata.getPathVariables())) {
+            //Create Map with Uri Path Variables
+            JClass uriParamMap = owner.ref(Map.class).narrow(String.class, Object.class);
+            JVar uriParamMapVar = body.decl(uriParamMap, "uriParamMap", JExpr._new(owner.ref(HashMap.class)));
+            for (ApiParameterMetadata pathVariable : endpointMetadata.getPathVariables()) {
+                body.invoke(uriParamMapVar, "put").arg(pathVariable.getName()).arg(methodParamMap.get(pathVariable.getName()));
+            }
+            uriComponents = uriComponents.invoke("expand").arg(uriParamMapVar);
+        }
+        JVar uriVar = body.decl(owner.ref(URI.class), "uri", uriComponents.invoke("encode").invoke("toUri"));
+
+        //Prepare the request
+        JClass requestClass = CodeModelHelper.directClass(owner, SpringReactiveTypes.WEB_CLIENT_REQUEST_BODY_SPEC);
+        JInvocation requestInit = JExpr._this().ref(webClientFieldName).invoke("method")
+                .arg(owner.ref(HttpMethod.class).staticRef(endpointMetadata.getActionType().name())).invoke("uri").arg(uriVar);
+        JVar requestVar = body.decl(requestClass, "request", requestInit);
+
+        // Headers supplied by the caller are sent first so that the ones declared in the RAML take precedence
+        if (endpointMetadata.getInjectHttpHeadersParameter()) {
+            JVar httpHeaders = methodParamMap.get("httpHeaders");
+            if (httpHeaders != null) {
+                // codemodel cannot express lambdas
+                body.invoke(requestVar, "headers").arg(JExpr.direct("h -> h.addAll(" + httpHeaders.name() + ")"));
+            }
+        }
+
+        //  Add Accepts Headers and Body Content-Type
+        JClass mediaTypeClass = owner.ref(MediaType.class);
+        JInvocation accept = body.invoke(requestVar, "accept");
+        for (String acceptedMime : SpringRestClientMethodBodyRule.getAcceptedMimes(endpointMetadata)) {
+            accept.arg(mediaTypeClass.staticInvoke("valueOf").arg(acceptedMime));
+        }
+        for (ApiParameterMetadata parameter : endpointMetadata.getRequestHeaders()) {
+            JVar param = methodParamMap.get(NamingHelper.getParameterName(parameter.getName()));
+            body._if(param.ne(JExpr._null()))._then().invoke(requestVar, "header").arg(parameter.getName()).arg(param.invoke("toString"));
+        }
+
+        JExpression request = requestVar;
+        if (endpointMetadata.getRequestBody() != null) {
+            body.invoke(requestVar, "contentType").arg(mediaTypeClass.staticInvoke("valueOf").arg(endpointMetadata.getRequestBodyMime()));
+            JVar requestBody = methodParamMap.get(CaseFormat.UPPER_CAMEL.to(CaseFormat.LOWER_CAMEL, endpointMetadata.getRequestBody().getName()));
+            request = requestVar.invoke("bodyValue").arg(requestBody);
+        }
+
+        //Retrieve the response, arrays are published item by item
+        JExpression response = request.invoke("retrieve");
+        if (!endpointMetadata.getResponseBody().isEmpty()) {
+            ApiBodyMetadata apiBodyMetadata = endpointMetadata.getResponseBody().values().iterator().next();
+            JClass bodyType = findFirstClassBySimpleName(apiBodyMetadata.getCodeModel(), apiBodyMetadata.getName());
+            if (apiBodyMetadata.isArray()) {
+                body._return(response.invoke("bodyToFlux").arg(JExpr.dotclass(bodyType)));
+            } else {
+                body._return(response.invoke("toEntity").arg(JExpr.dotclass(bodyType)));
+            }
+        } else {
+            body._return(response.invoke("toEntity").arg(JExpr.dotclass(owner.ref(Object.class))));
+        }
+        return generatableType.get();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.generation.rules.spring;
+
+import static com.phoenixnap.oss.ramlapisync.generation.CodeModelHelper.findFirstClassBySimpleName;
+
+import org.springframework.http.ResponseEntity;
+
+import com.phoenixnap.oss.ramlapisync.data.ApiActionMetadata;
+import com.phoenixnap.oss.ramlapisync.data.ApiBodyMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.CodeModelHelper;
+import com.phoenixnap.oss.ramlapisync.generation.rules.Rule;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JType;
+
+/**
+ * Creates a reactor.core.publisher.Mono of a {@link ResponseEntity} as a return type for a WebClient endpoint. If the
+ * endpoint declares a response body the first type of the response body will be added as a generic type to the
+ * ResponseEntity. Array response bodies are returned as a reactor.core.publisher.Flux of their items instead, so that
+ * they can be consumed as they arrive.
+ * <br>
+ * INPUT:
+ * <pre class="code">
+ * #%RAML 0.8
+ * title: myapi
+ * mediaType: application/json
+ * baseUri: /
+ *
+ * /base:
+ *   get:
+ *   /{id}:
+ *     get:
+ *       responses:
+ *         200:
+ *           body:
+ *             application/json:
+ *               schema: NamedResponseType
+ *               ...
+ * </pre>
+ * OUTPUT:
+ * <pre class="code">
+ * Mono{@literal <}ResponseEntity{@literal <}NamedResponseType{@literal >}{@literal >}
+ * </pre>
+ * OR:
+ * <pre class="code">
+ * Flux{@literal <}NamedResponseType{@literal >} (if the NamedResponseType is an "array")
+ * </pre>
+ *
+ * @since 0.10.15
+ */
+public class SpringWebClientResponseTypeRule implements Rule<JDefinedClass, JType, ApiActionMetadata> {
+
+    @Override
+    public JType apply(ApiActionMetadata endpointMetadata, JDefinedClass generatableType) {
+        JCodeModel owner = generatableType.owner();
+        JClass bodyType = owner.ref(Object.class);
+        if (!endpointMetadata.getResponseBody().isEmpty()) {
+            ApiBodyMetadata apiBodyMetadata = endpointMetadata.getResponseBody().values().iterator().next();
+            bodyType = findFirstClassBySimpleName(apiBodyMetadata.getCodeModel(), apiBodyMetadata.getName());
+            if (apiBodyMetadata.isArray()) {
+                return CodeModelHelper.directClass(owner, SpringReactiveTypes.FLUX).narrow(bodyType);
+            }
+        }
+        return CodeModelHelper.directClass(owner, SpringReactiveTypes.MONO).narrow(owner.ref(ResponseEntity.class).narrow(bodyType));
+    }
+}
@@ -33,6 +33,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.phoenixnap.oss.ramlapisync.data.ApiBodyMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.GenerationReport;
 import com.phoenixnap.oss.ramlapisync.pojo.PojoGenerationConfig;
 import com.phoenixnap.oss.ramlapisync.pojo.RamlInterpretationResult;
 import com.phoenixnap.oss.ramlapisync.pojo.RamlInterpreterFactory;
@@ -93,7 +94,10 @@ public class RamlTypeHelper {
      * @return Object representing this Body
      */
 	public static ApiBodyMetadata mapTypeToPojo(PojoGenerationConfig config, JCodeModel pojoCodeModel, RamlRoot document, TypeDeclaration type) {
-		RamlInterpretationResult interpret = RamlInterpreterFactory.getInterpreterForType(type).interpret(document, type, pojoCodeModel, config, false);
+		RamlInterpretationResult interpret;
+		try (GenerationReport.Phase phase = GenerationReport.phase("typeInterpretation")) {
+			interpret = RamlInterpreterFactory.getInterpreterForType(type).interpret(document, type, pojoCodeModel, config, false);
+		}
 		
 		//here we expect that a new object is created i guess... we'd need to see how primitive arrays fit in
 		JClass pojo = null;
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.naming;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jsonschema2pojo.Annotator;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.SchemaStore;
+import org.springframework.util.StringUtils;
+
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JType;
+
+/**
+ * Cache of the code models generated by JsonSchema2Pojo for request and response bodies, keyed by the resolved
+ * schema content, the class name, the target package and the schema location. RAML documents typically reference the
+ * same named schema from many actions, and each distinct schema is only run through JsonSchema2Pojo once.
+ *
+ * By default each distinct schema is generated into a code model of its own, together with the schemas it references
+ * through $ref tags, as bodies always were. A cache can also generate all schemas into a single code model. Schemas
+ * referenced through $ref tags are then resolved through a schema store shared by all the schemas generated for the
+ * same package, so each referenced document is parsed once and its classes are only generated once.
+ *
+ * Cached code models are shared between all bodies using the schema and must not be modified. The cache is meant to
+ * live for a single generation run and is safe to use from multiple threads.
+ *
+ * @since 0.10.15
+ */
+public class SchemaCodeModelCache {
+
+	private final JCodeModel unifiedCodeModel;
+
+	private final String schemaLocation;
+
+	private final GenerationConfig config;
+
+	private final Annotator annotator;
+
+	private final Map<List<Object>, Optional<MappedSchema>> mappedSchemas = new ConcurrentHashMap<>();
+
+	private final Map<String, SharedSchemaStore> schemaStores = new ConcurrentHashMap<>();
+
+	private final AtomicInteger generatedCount = new AtomicInteger();
+
+	private final AtomicInteger reusedCount = new AtomicInteger();
+
+	/**
+	 * Creates a cache which generates a code model for each distinct schema
+	 */
+	public SchemaCodeModelCache() {
+		this(null, "classpath:/", null, null);
+	}
+
+	/**
+	 * Creates a cache which generates all schemas into a single code model
+	 *
+	 * @param unifiedCodeModel The code model all classes are generated into. If null each distinct schema is generated
+	 *            into a code model of its own
+	 * @param schemaLocation The location used for schemas mapped without a location by
+	 *            {@link SchemaHelper#mapSchemaToPojo(com.phoenixnap.oss.ramlapisync.raml.RamlRoot, String, String, String, String, SchemaCodeModelCache)}.
+	 *            If null these schemas are generated without a location
+	 * @param config JsonSchema2Pojo configuration used for schemas mapped by
+	 *            {@link SchemaHelper#mapSchemaToPojo(com.phoenixnap.oss.ramlapisync.raml.RamlRoot, String, String, String, String, SchemaCodeModelCache)}.
+	 *            if null a default config will be used
+	 * @param annotator JsonSchema2Pojo annotator used for schemas mapped by
+	 *            {@link SchemaHelper#mapSchemaToPojo(com.phoenixnap.oss.ramlapisync.raml.RamlRoot, String, String, String, String, SchemaCodeModelCache)}.
+	 *            if null a default annotator will be used
+	 */
+	public SchemaCodeModelCache(JCodeModel unifiedCodeModel, String schemaLocation, GenerationConfig config,
+			Annotator annotator) {
+		this.unifiedCodeModel = unifiedCodeModel;
+		this.schemaLocation = schemaLocation;
+		this.config = config;
+		this.annotator = annotator;
+	}
+
+	/**
+	 * @return The code model all classes are generated into, or null if each schema has its own code model
+	 */
+	public JCodeModel getUnifiedCodeModel() {
+		return unifiedCodeModel;
+	}
+
+	/**
+	 * Maps a schema with the location, configuration and annotator of this cache
+	 *
+	 * @param basePackage The package we will be using for the domain objects
+	 * @param schemaLocation The location of this schema. If empty the location of this cache is used
+	 * @param name The class name
+	 * @param schema The JSON Schema representing this class
+	 * @return The mapped schema or null if the schema could not be mapped
+	 */
+	MappedSchema mapSchema(String basePackage, String schemaLocation, String name, String schema) {
+		String resolvedLocation = StringUtils.hasText(schemaLocation) ? schemaLocation : this.schemaLocation;
+		List<Object> key = Arrays.asList(basePackage, resolvedLocation, name, schema);
+		boolean[] generated = new boolean[1];
+		Optional<MappedSchema> mappedSchema = mappedSchemas.computeIfAbsent(key, k -> {
+			generated[0] = true;
+			if (unifiedCodeModel == null) {
+				return Optional.ofNullable(generate(basePackage, resolvedLocation, name, schema));
+			}
+			SharedSchemaStore schemaStore = schemaStores.computeIfAbsent(basePackage, storeKey -> new SharedSchemaStore());
+			return Optional.ofNullable(generate(schemaStore, basePackage, resolvedLocation, name, schema));
+		});
+		if (generated[0]) {
+			generatedCount.incrementAndGet();
+		} else {
+			reusedCount.incrementAndGet();
+		}
+		return mappedSchema.orElse(null);
+	}
+
+	private MappedSchema generate(String basePackage, String schemaLocation, String name, String schema) {
+		JCodeModel codeModel = SchemaHelper.buildBodyJCodeModel(new JCodeModel(), basePackage, schemaLocation, name,
+				schema, config, annotator, new SchemaStore());
+		if (codeModel == null) {
+			return null;
+		}
+		Set<JDefinedClass> definedClasses = SchemaHelper.getDefinedClasses(codeModel);
+		return new MappedSchema(codeModel, definedClasses.size() == 1 ? definedClasses.iterator().next().name() : null);
+	}
+
+	private MappedSchema generate(SharedSchemaStore schemaStore, String basePackage, String schemaLocation,
+			String name, String schema) {
+		// Generating a schema assigns types to the shared schemas and adds classes to the code model, so schemas are
+		// generated one at a time
+		synchronized (unifiedCodeModel) {
+			Set<JDefinedClass> existingClasses = SchemaHelper.getDefinedClasses(unifiedCodeModel);
+			schemaStore.startGeneration();
+			JCodeModel generatedCodeModel = SchemaHelper.buildBodyJCodeModel(unifiedCodeModel, basePackage, schemaLocation,
+					name, schema, config, annotator, schemaStore);
+			Set<JDefinedClass> usedClasses = new LinkedHashSet<>();
+			for (Schema usedSchema : schemaStore.getUsedSchemas()) {
+				Set<JDefinedClass> definingClasses = new LinkedHashSet<>();
+				collectDefiningClasses(usedSchema.getJavaType(), definingClasses);
+				if (definingClasses.stream().allMatch(this::isGenerated)) {
+					usedClasses.addAll(definingClasses);
+				} else {
+					// The type was generated by an attempt which failed and has been removed
+					schemaStore.remove(usedSchema);
+				}
+			}
+			if (generatedCodeModel == null) {
+				return null;
+			}
+			Set<JDefinedClass> newClasses = SchemaHelper.getDefinedClasses(unifiedCodeModel);
+			newClasses.removeAll(existingClasses);
+			usedClasses.removeAll(newClasses);
+			// A schema is named after the single class it generated, or after the single existing class it refers
+			// to, eg. a collection of a schema generated for another body
+			String className = null;
+			if (newClasses.size() == 1 && usedClasses.isEmpty()) {
+				className = newClasses.iterator().next().name();
+			} else if (newClasses.isEmpty() && usedClasses.size() == 1) {
+				className = usedClasses.iterator().next().name();
+			}
+			return new MappedSchema(unifiedCodeModel, className);
+		}
+	}
+
+	private boolean isGenerated(JDefinedClass definedClass) {
+		if (definedClass.owner() != unifiedCodeModel) {
+			return false;
+		}
+		JDefinedClass topLevelClass = definedClass;
+		while (topLevelClass.outer() instanceof JDefinedClass) {
+			topLevelClass = (JDefinedClass) topLevelClass.outer();
+		}
+		return topLevelClass.getPackage()._getClass(topLevelClass.name()) == topLevelClass;
+	}
+
+	private static void collectDefiningClasses(JType type, Set<JDefinedClass> definedClasses) {
+		if (type == null) {
+			return;
+		}
+		if (type.isArray()) {
+			collectDefiningClasses(type.elementType(), definedClasses);
+		} else if (type instanceof JClass) {
+			JClass erasure = ((JClass) type).erasure();
+			if (erasure instanceof JDefinedClass) {
+				definedClasses.add((JDefinedClass) erasure);
+			}
+			for (JClass typeParameter : ((JClass) type).getTypeParameters()) {
+				collectDefiningClasses(typeParameter, definedClasses);
+			}
+		}
+	}
+
+	/**
+	 * @return The amount of documents referenced through $ref tags which were loaded and parsed
+	 */
+	public int getLoadedDocumentCount() {
+		int count = 0;
+		for (SharedSchemaStore schemaStore : schemaStores.values()) {
+			count += schemaStore.getLoadedDocumentCount();
+		}
+		return count;
+	}
+
+	/**
+	 * @return The amount of schemas run through JsonSchema2Pojo
+	 */
+	public int getGeneratedCount() {
+		return generatedCount.get();
+	}
+
+	/**
+	 * @return The amount of requests served from the cache
+	 */
+	public int getReusedCount() {
+		return reusedCount.get();
+	}
+
+	/**
+	 * A schema mapped to a code model
+	 */
+	static final class MappedSchema {
+
+		private final JCodeModel codeModel;
+
+		private final String className;
+
+		private MappedSchema(JCodeModel codeModel, String className) {
+			this.codeModel = codeModel;
+			this.className = className;
+		}
+
+		/**
+		 * @return The code model containing the classes of the schema
+		 */
+		JCodeModel getCodeModel() {
+			return codeModel;
+		}
+
+		/**
+		 * @return The name of the class the schema maps to, or null if it maps to more than one class
+		 */
+		String getClassName() {
+			return className;
+		}
+	}
+}
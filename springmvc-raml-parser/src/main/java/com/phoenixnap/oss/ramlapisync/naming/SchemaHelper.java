@@ -22,8 +22,10 @@ import java.net.URI;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.TreeMap;
 
 import org.apache.commons.io.IOUtils;
@@ -53,6 +55,7 @@ import com.fasterxml.jackson.module.jsonSchema.types.ObjectSchema;
 import com.fasterxml.jackson.module.jsonSchema.types.ValueTypeSchema;
 import com.phoenixnap.oss.ramlapisync.data.ApiBodyMetadata;
 import com.phoenixnap.oss.ramlapisync.data.ApiParameterMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.GenerationReport;
 import com.phoenixnap.oss.ramlapisync.javadoc.JavaDocEntry;
 import com.phoenixnap.oss.ramlapisync.javadoc.JavaDocStore;
 import com.phoenixnap.oss.ramlapisync.raml.RamlMimeType;
@@ -62,6 +65,7 @@ import com.phoenixnap.oss.ramlapisync.raml.RamlParamType;
 import com.phoenixnap.oss.ramlapisync.raml.RamlQueryParameter;
 import com.phoenixnap.oss.ramlapisync.raml.RamlRoot;
 import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JPackage;
 
 
@@ -546,6 +550,33 @@ public class SchemaHelper {
      * @return Object representing this Body
      */
     public static ApiBodyMetadata mapSchemaToPojo(RamlRoot document, String schema, String basePackage, String name, String schemaLocation) {
+        return mapSchemaToPojo(document, schema, basePackage, name, schemaLocation, null);
+    }
+
+
+    /**
+     * Maps a JSON Schema to a JCodeModel using JSONSchema2Pojo and encapsulates it along with some
+     * metadata into an {@link ApiBodyMetadata} object. Code models are looked up in the supplied cache
+     * so that a schema referenced by many bodies is only mapped once.
+     *
+     * @param document
+     *            The Raml document being parsed
+     * @param schema
+     *            The Schema (full schema or schema name to be resolved)
+     * @param basePackage
+     *            The base package for the classes we are generating
+     * @param name
+     *            The suggested name of the class based on the api call and whether it's a
+     *            request/response. This will only be used if no suitable alternative is found in
+     *            the schema
+     * @param schemaLocation
+     *            Base location of this schema, will be used to create absolute URIs for $ref tags
+     *            eg "classpath:/"
+     * @param cache
+     *            Cache of generated code models. If null the code model is always generated
+     * @return Object representing this Body
+     */
+    public static ApiBodyMetadata mapSchemaToPojo(RamlRoot document, String schema, String basePackage, String name, String schemaLocation, SchemaCodeModelCache cache) {
         String resolvedName = null;
         String schemaName = schema;
 
@@ -558,7 +589,19 @@ public class SchemaHelper {
 
         // Extract name from schema
         resolvedName = extractNameFromSchema(resolvedSchema, schemaName, name);
-        JCodeModel codeModel = buildBodyJCodeModel(basePackage, StringUtils.hasText(schemaLocation) ? schemaLocation : "classpath:/", resolvedName, resolvedSchema, null, null);
+        if (cache != null) {
+            // The cached code model may hold the classes of other schemas too, so the cache names the class
+            SchemaCodeModelCache.MappedSchema mappedSchema = cache.mapSchema(basePackage, schemaLocation, resolvedName, resolvedSchema);
+            if (mappedSchema == null) {
+                return null;
+            }
+            if (mappedSchema.getClassName() != null) {
+                resolvedName = mappedSchema.getClassName();
+            }
+            return new ApiBodyMetadata(resolvedName, resolvedSchema, mappedSchema.getCodeModel());
+        }
+        String resolvedLocation = StringUtils.hasText(schemaLocation) ? schemaLocation : "classpath:/";
+        JCodeModel codeModel = buildBodyJCodeModel(basePackage, resolvedLocation, resolvedName, resolvedSchema, null, null);
         if (codeModel != null) {
             if (codeModel.countArtifacts() == 1) {
                 try {
@@ -605,9 +648,43 @@ public class SchemaHelper {
      * @return built JCodeModel
      */
     public static JCodeModel buildBodyJCodeModel(String basePackage, String schemaLocation, String name, String schema, GenerationConfig config, Annotator annotator) {
-        JCodeModel codeModel = new JCodeModel();
-        SchemaStore schemaStore = new SchemaStore();
+        return buildBodyJCodeModel(new JCodeModel(), basePackage, schemaLocation, name, schema, config, annotator, new SchemaStore());
+    }
 
+
+    /**
+     * Generates the classes that will be used as Request or Response bodies into a JCodeModel, resolving $ref tags
+     * through the supplied schema store. Referenced schemas which the store already generated are not generated
+     * again, the code model refers to the existing classes instead.
+     *
+     * @param codeModel
+     *            The code model the classes are generated into
+     * @param basePackage
+     *            The package we will be using for the domain objects
+     * @param schemaLocation
+     *            The location of this schema, will be used to create absolute URIs for $ref tags eg
+     *            "classpath:/"
+     * @param name
+     *            The class name
+     * @param schema
+     *            The JSON Schema representing this class
+     * @param config
+     *            JsonSchema2Pojo configuration. if null a default config will be used
+     * @param annotator
+     *            JsonSchema2Pojo annotator. if null a default annotator will be used
+     * @param schemaStore
+     *            Store used to resolve $ref tags
+     * @return built JCodeModel or null if the schema could not be mapped. Classes generated by a failed attempt are
+     *         removed from the code model again
+     */
+    public static JCodeModel buildBodyJCodeModel(JCodeModel codeModel, String basePackage, String schemaLocation, String name, String schema, GenerationConfig config, Annotator annotator, SchemaStore schemaStore) {
+        try (GenerationReport.Phase phase = GenerationReport.phase("schemaToPojo")) {
+            return generateBodyJCodeModel(codeModel, basePackage, schemaLocation, name, schema, config, annotator, schemaStore);
+        }
+    }
+
+
+    private static JCodeModel generateBodyJCodeModel(JCodeModel codeModel, String basePackage, String schemaLocation, String name, String schema, GenerationConfig config, Annotator annotator, SchemaStore schemaStore) {
         if (config == null) {
             config = getDefaultGenerationConfig();
 
@@ -621,6 +698,7 @@ public class SchemaHelper {
         SchemaMapper mapper = new SchemaMapper(ruleFactory,
                 new SchemaGenerator());
         boolean useParent = StringUtils.hasText(schemaLocation);
+        Set<JDefinedClass> existingClasses = getDefinedClasses(codeModel);
         try {
             if (useParent) {
                 mapper.generate(codeModel, name, basePackage, schema, new URI(schemaLocation));
@@ -634,15 +712,19 @@ public class SchemaHelper {
             // TODO make this smarter by checking refs
             if (useParent && e.getMessage().contains("classpath")) {
                 logger.debug("Referenced Schema contains self $refs or not found in classpath. Regenerating model withouth classpath: for " + name);
-                codeModel = new JCodeModel();
+                removeNewClasses(codeModel, existingClasses);
+                // The store may hold types of the failed attempt, so the model is regenerated with a store of its own
+                SchemaMapper isolatedMapper = new SchemaMapper(new RuleFactory(config, annotator, new SchemaStore()),
+                        new SchemaGenerator());
                 try {
-                    mapper.generate(codeModel, name, basePackage, schema);
+                    isolatedMapper.generate(codeModel, name, basePackage, schema);
                     return codeModel;
                 }
                 catch (IOException e1) {
                     // do nothing
                 }
             }
+            removeNewClasses(codeModel, existingClasses);
             logger.error("Error generating pojo from schema" + name, e);
             return null;
         }
@@ -650,6 +732,35 @@ public class SchemaHelper {
     }
 
 
+    /**
+     * Lists the top level classes defined in a code model
+     *
+     * @param codeModel
+     *            The code model
+     * @return The classes in the order of their packages
+     */
+    static Set<JDefinedClass> getDefinedClasses(JCodeModel codeModel) {
+        Set<JDefinedClass> definedClasses = new LinkedHashSet<>();
+        Iterator<JPackage> packages = codeModel.packages();
+        while (packages.hasNext()) {
+            Iterator<JDefinedClass> classes = packages.next().classes();
+            while (classes.hasNext()) {
+                definedClasses.add(classes.next());
+            }
+        }
+        return definedClasses;
+    }
+
+
+    private static void removeNewClasses(JCodeModel codeModel, Set<JDefinedClass> existingClasses) {
+        for (JDefinedClass definedClass : getDefinedClasses(codeModel)) {
+            if (!existingClasses.contains(definedClass)) {
+                definedClass.getPackage().remove(definedClass);
+            }
+        }
+    }
+
+
     /**
      * Returns a configuration for the JSON Schema 2 POJO that is in line with the defaults used in
      * the plugin so far
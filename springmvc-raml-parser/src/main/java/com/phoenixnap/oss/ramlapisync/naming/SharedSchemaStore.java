@@ -0,0 +1,153 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.naming;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.jsonschema2pojo.ContentResolver;
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.SchemaStore;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * JsonSchema2Pojo schema store which is shared between the schemas of multiple bodies generated into the same code
+ * model. Each document referenced through a $ref tag is loaded and parsed once and the types generated for it are
+ * reused by all the bodies referring to it.
+ *
+ * References within a body schema itself (eg. "#/definitions/money") are resolved against the schema being generated,
+ * which is not part of the shared store, and are kept in a store local to the current generation.
+ *
+ * @since 0.10.15
+ */
+class SharedSchemaStore extends SchemaStore {
+
+	private final Set<Schema> sharedSchemas = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	private SchemaStore localStore = new SchemaStore();
+
+	private Set<Schema> usedSchemas = new LinkedHashSet<>();
+
+	SharedSchemaStore() {
+		contentResolver = new CachingContentResolver();
+	}
+
+	@Override
+	public synchronized Schema create(URI id) {
+		Schema schema = super.create(id);
+		sharedSchemas.add(schema);
+		return use(schema);
+	}
+
+	@Override
+	public synchronized Schema create(Schema parent, String path) {
+		if (!sharedSchemas.contains(parent) && isSelfReference(path)) {
+			return localStore.create(parent, path);
+		}
+		Schema schema = super.create(parent, path);
+		sharedSchemas.add(schema);
+		return use(schema);
+	}
+
+	@Override
+	public synchronized void clearCache() {
+		super.clearCache();
+		sharedSchemas.clear();
+		((CachingContentResolver) contentResolver).clear();
+	}
+
+	private boolean isSelfReference(String path) {
+		return path.isEmpty() || path.startsWith("#");
+	}
+
+	/**
+	 * Records the use of a shared schema
+	 */
+	private Schema use(Schema schema) {
+		usedSchemas.add(schema);
+		return schema;
+	}
+
+	/**
+	 * Starts generating a new body schema, resetting the local store and the schemas used
+	 */
+	synchronized void startGeneration() {
+		localStore = new SchemaStore();
+		usedSchemas = new LinkedHashSet<>();
+	}
+
+	/**
+	 * @return The shared schemas looked up since the generation started
+	 */
+	synchronized Set<Schema> getUsedSchemas() {
+		return usedSchemas;
+	}
+
+	/**
+	 * Removes a schema, eg. because the type generated for it was removed from the code model after a failure
+	 *
+	 * @param schema The schema to remove
+	 */
+	synchronized void remove(Schema schema) {
+		schemas.remove(schema.getId());
+		sharedSchemas.remove(schema);
+	}
+
+	/**
+	 * @return The amount of documents loaded and parsed by this store
+	 */
+	synchronized int getLoadedDocumentCount() {
+		return ((CachingContentResolver) contentResolver).documents.size();
+	}
+
+	/**
+	 * Resolves each document once, remembering documents which could not be resolved as well
+	 */
+	private static class CachingContentResolver extends ContentResolver {
+
+		private final Map<URI, JsonNode> documents = new HashMap<>();
+
+		private final Map<URI, RuntimeException> failures = new HashMap<>();
+
+		@Override
+		public JsonNode resolve(URI uri) {
+			JsonNode document = documents.get(uri);
+			if (document != null) {
+				return document;
+			}
+			RuntimeException failure = failures.get(uri);
+			if (failure != null) {
+				throw failure;
+			}
+			try {
+				document = super.resolve(uri);
+			} catch (RuntimeException ex) {
+				failures.put(uri, ex);
+				throw ex;
+			}
+			documents.put(uri, document);
+			return document;
+		}
+
+		private void clear() {
+			documents.clear();
+			failures.clear();
+		}
+	}
+}
@@ -13,10 +13,11 @@
 package com.phoenixnap.oss.ramlapisync.pojo;
 
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.LinkedHashMap;
-import java.util.Random;
+import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -88,9 +89,12 @@ public class AbstractBuilder {
 		// Implement Serializable
 		this.pojo._implements(Serializable.class);
 
-		// Add constant serializable id
+		// Add constant serializable id. Derived from the class name so that regenerating an unchanged model
+		// produces identical sources
+		long serialVersionUID = UUID.nameUUIDFromBytes(this.pojo.fullName().getBytes(StandardCharsets.UTF_8))
+				.getMostSignificantBits();
 		this.pojo.field(JMod.STATIC | JMod.FINAL, this.pojoModel.LONG, "serialVersionUID",
-				JExpr.lit(new Random(System.currentTimeMillis()).nextLong()));
+				JExpr.lit(serialVersionUID));
 	}
 
 	public AbstractBuilder withPackage(String pojoPackage) {
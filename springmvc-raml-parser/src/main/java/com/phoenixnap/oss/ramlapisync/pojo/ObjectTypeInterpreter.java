@@ -13,7 +13,6 @@
 package com.phoenixnap.oss.ramlapisync.pojo;
 
 import java.util.Collections;
-import java.util.Map;
 import java.util.Set;
 
 import org.raml.v2.api.model.v10.datamodel.ObjectTypeDeclaration;
@@ -24,8 +23,8 @@ import org.springframework.util.MimeType;
 import org.springframework.util.StringUtils;
 
 import com.phoenixnap.oss.ramlapisync.naming.RamlTypeHelper;
-import com.phoenixnap.oss.ramlapisync.raml.RamlDataType;
 import com.phoenixnap.oss.ramlapisync.raml.RamlRoot;
+import com.phoenixnap.oss.ramlapisync.raml.RamlTypeRegistry;
 import com.sun.codemodel.JClass;
 import com.sun.codemodel.JCodeModel;
 
@@ -59,7 +58,7 @@ public class ObjectTypeInterpreter extends BaseTypeInterpreter {
 		} else {
 			name = StringUtils.capitalize(objectType.name());
 		}
-		Map<String, RamlDataType> types = document.getTypes();
+		RamlTypeRegistry types = document.getTypeRegistry();
 		String typeName = objectType.type();
 		
 		//When we have base arrays with type in the object they differ from Type[] notated types. I'm not sure if this should be handled in the Array or in the ObjectInterpreter...
@@ -71,17 +70,17 @@ public class ObjectTypeInterpreter extends BaseTypeInterpreter {
 		//When we have base objects we need to use them as type not blindly create them
 		if(!RamlTypeHelper.isBaseObject(objectType.name()) && !RamlTypeHelper.isBaseObject(typeName) && property) {
 			name = typeName;
-			if(types.get(name) == null){
+			if(types.getType(name) == null){
 				throw new IllegalStateException("Data type " + name + " can't be found!");
 			}
-			typeName = types.get(name).getType().type();
+			typeName = types.getType(name).getType().type();
 		}
 		
 		// For mime types we need to take the type not the name
 		try {
 			MimeType.valueOf(name);
 			name = typeName;
-			typeName = types.get(name).getType().type();
+			typeName = types.getType(name).getType().type();
 
 		} catch (Exception ex) {
 			// not a valid mimetype do nothing
@@ -107,11 +106,11 @@ public class ObjectTypeInterpreter extends BaseTypeInterpreter {
 		
 		// lets handle extensions first
 		if (!RamlTypeHelper.isBaseObject(typeName)) {
-			parent = types.get(typeName).getType();
+			parent = types.getType(typeName).getType();
 		} else if (objectType.parentTypes() != null && objectType.parentTypes().size() > 0) {
 			TypeDeclaration tempParent = objectType.parentTypes().get(0); // java doesnt support multiple parents take first;
 			if (!RamlTypeHelper.isBaseObject(tempParent.name())) {
-				parent = types.get(tempParent.name()).getType();
+				parent = types.getType(tempParent.name()).getType();
 			}
 		} else {
 			parent = null;
@@ -12,6 +12,7 @@
  */
 package com.phoenixnap.oss.ramlapisync.pojo;
 
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -36,8 +37,24 @@ public class RamlInterpreterFactory {
 			new AnyTypeInterpreter(), new FileTypeInterpreter(), new DateTypeInterpreter(), new UnionTypeInterpreter(),
 			DEFAULT_INTERPRETER };
 
-	private static Map<Class<? extends TypeDeclaration>, RamlTypeInterpreter> interpreters = new LinkedHashMap<>();
-	private static Map<Class<? extends TypeDeclaration>, RamlTypeInterpreter> interpreterCache = new LinkedHashMap<>();
+	private static final Map<Class<? extends TypeDeclaration>, RamlTypeInterpreter> interpreters = new LinkedHashMap<>();
+
+	/**
+	 * Dispatch table keyed by the concrete (proxy) class of the type declaration. Thread safe and computed only once
+	 * per class, so that interpretation does not need to scan the supported interpreters for each type
+	 */
+	private static final ClassValue<RamlTypeInterpreter> interpreterCache = new ClassValue<RamlTypeInterpreter>() {
+		@Override
+		protected RamlTypeInterpreter computeValue(Class<?> typeClass) {
+			for (Map.Entry<Class<? extends TypeDeclaration>, RamlTypeInterpreter> entry : interpreters.entrySet()) {
+				if (entry.getKey().isAssignableFrom(typeClass)) {
+					return entry.getValue();
+				}
+			}
+			logger.error("Missing Interpreter for type " + identifyByClass(typeClass) + ":" + Arrays.toString(typeClass.getInterfaces()));
+			return DEFAULT_INTERPRETER;
+		}
+	};
 
 	static {
 		for (RamlTypeInterpreter interpreter : SUPPORTED_INTERPRETERS) {
@@ -62,23 +79,7 @@ public class RamlInterpreterFactory {
 	}
 
 	public static RamlTypeInterpreter getInterpreterForType(TypeDeclaration type) {
-		RamlTypeInterpreter interpreter = interpreterCache.get(identifyByClass(type));
-		if (interpreter != null) {
-			return interpreter;
-		}
-
-		for (Class<? extends TypeDeclaration> key : interpreters.keySet()) {
-			if (key.isAssignableFrom(type.getClass())) {
-				interpreter = interpreters.get(key);
-				interpreterCache.put(type.getClass(), interpreter);
-				break;
-			}
-		}
-		if (interpreter == null) {
-			logger.error("Missing Interpreter for type " + identifyByClass(type) + ":" + type.type());
-			interpreter = DEFAULT_INTERPRETER;
-		}
-		return interpreter;
+		return interpreterCache.get(type.getClass());
 	}
 
 }
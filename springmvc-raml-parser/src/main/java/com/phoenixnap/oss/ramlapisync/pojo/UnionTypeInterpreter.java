@@ -13,8 +13,8 @@
 package com.phoenixnap.oss.ramlapisync.pojo;
 
 import com.phoenixnap.oss.ramlapisync.naming.RamlTypeHelper;
-import com.phoenixnap.oss.ramlapisync.raml.RamlDataType;
 import com.phoenixnap.oss.ramlapisync.raml.RamlRoot;
+import com.phoenixnap.oss.ramlapisync.raml.RamlTypeRegistry;
 import com.sun.codemodel.JClass;
 import com.sun.codemodel.JCodeModel;
 import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
@@ -25,7 +25,6 @@ import org.springframework.util.MimeType;
 import org.springframework.util.StringUtils;
 
 import java.util.Collections;
-import java.util.Map;
 import java.util.Set;
 
 /**
@@ -59,16 +58,16 @@ public class UnionTypeInterpreter extends BaseTypeInterpreter {
     }
 
     private TypeDeclaration getParent(UnionTypeDeclaration objectType, String typeName, RamlRoot document) {
-        Map<String, RamlDataType> types = document.getTypes();
+        RamlTypeRegistry types = document.getTypeRegistry();
 
         TypeDeclaration parent = null;
 
         if (!RamlTypeHelper.isBaseObject(typeName)) {
-            parent = types.get(typeName).getType();
+            parent = types.getType(typeName).getType();
         } else if (objectType.parentTypes() != null && objectType.parentTypes().size() > 0) {
             TypeDeclaration tempParent = objectType.parentTypes().get(0); // java doesnt support multiple parents take first;
             if (!RamlTypeHelper.isBaseObject(tempParent.name())) {
-                parent = types.get(tempParent.name()).getType();
+                parent = types.getType(tempParent.name()).getType();
             }
         } else {
             parent = null;
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.raml;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.raml.v2.api.RamlModelResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StreamUtils;
+
+import com.phoenixnap.oss.ramlapisync.raml.rjp.raml08v1.RJP08V1RamlModelFactory;
+import com.phoenixnap.oss.ramlapisync.raml.rjp.raml08v1.RJP08V1RamlRoot;
+import com.phoenixnap.oss.ramlapisync.raml.rjp.raml10v2.RJP10V2RamlModelFactory;
+
+/**
+ * Cache of parsed RAML models keyed by a content hash of the root RAML document and all the files it transitively
+ * includes (!include, libraries and relative json schema $refs). Any change to any of these files results in a new
+ * key and therefore in a cache miss.
+ *
+ * RAML 0.8 models are serializable and are persisted in the cache directory so that they survive between builds. Only
+ * the most recently used entries are kept on disk, older ones are deleted whenever a new entry is written. RAML 1.0
+ * models are runtime proxies over the parser's node graph and cannot be persisted, so the parse results are kept in
+ * memory for the lifetime of the plugin's class loader. This still allows multiple modules in the same reactor which
+ * point at the same specification to only parse it once, but a new JVM always parses RAML 1.0 documents again.
+ *
+ * @since 0.10.15
+ */
+public class RamlModelCache {
+
+	/**
+	 * Class Logger
+	 */
+	protected static final Logger logger = LoggerFactory.getLogger(RamlModelCache.class);
+
+	/**
+	 * Bumped whenever the content of the persisted entries changes in an incompatible way
+	 */
+	private static final String CACHE_FORMAT_VERSION = "1";
+
+	private static final String CACHE_FILE_SUFFIX = ".raml08.ser";
+
+	/**
+	 * Maximum amount of RAML 0.8 models kept in the cache directory
+	 */
+	static final int MAX_PERSISTED_ENTRIES = 16;
+
+	/**
+	 * Maximum amount of RAML 1.0 parse results kept in memory
+	 */
+	private static final int MAX_IN_MEMORY_ENTRIES = 8;
+
+	private static final Pattern INCLUDE_PATTERN = Pattern.compile("!include\\s+([^\\s#]+)");
+
+	private static final Pattern SCHEMA_REF_PATTERN = Pattern.compile("\"\\$ref\"\\s*:\\s*\"([^\"#]+)");
+
+	private static final Pattern USES_PATTERN = Pattern.compile("^uses:\\s*$");
+
+	private static final Pattern LIBRARY_PATTERN = Pattern.compile("^\\s+[^\\s:]+\\s*:\\s*(\\S+)\\s*$");
+
+	private static final Map<String, RamlModelResult> IN_MEMORY_RESULTS = Collections
+			.synchronizedMap(new LinkedHashMap<String, RamlModelResult>(16, 0.75f, true) {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, RamlModelResult> eldest) {
+					return size() > MAX_IN_MEMORY_ENTRIES;
+				}
+			});
+
+	private final File cacheDirectory;
+
+	/**
+	 * Creates a cache which persists entries in the supplied directory
+	 *
+	 * @param cacheDirectory The directory in which cache entries will be stored. Will be created if missing
+	 */
+	public RamlModelCache(File cacheDirectory) {
+		this.cacheDirectory = cacheDirectory;
+	}
+
+	/**
+	 * Computes the cache key for a RAML document. The key is a hash of the content of the document and all the
+	 * files it transitively includes.
+	 *
+	 * @param ramlFileUrl The path to the raml file, in the same format accepted by the RamlLoader
+	 * @return The hash or null if the document or one of its includes cannot be resolved locally (in which case the
+	 *         document should not be cached)
+	 */
+	public String computeContentHash(String ramlFileUrl) {
+		try {
+			URL rootUrl = resolveRootUrl(ramlFileUrl);
+			if (rootUrl == null) {
+				return null;
+			}
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(CACHE_FORMAT_VERSION.getBytes(StandardCharsets.UTF_8));
+			if (!digestDocument(rootUrl, digest, new LinkedHashSet<>())) {
+				return null;
+			}
+			return toHex(digest.digest());
+		} catch (IOException | NoSuchAlgorithmException ex) {
+			logger.debug("Could not compute content hash for " + ramlFileUrl, ex);
+			return null;
+		}
+	}
+
+	/**
+	 * Looks up a previously cached model
+	 *
+	 * @param contentHash The key as returned by {@link #computeContentHash(String)}
+	 * @param ramlFileUrl The raml file for which the model is required
+	 * @return The cached model or null if there is no entry for this key
+	 */
+	public RamlRoot get(String contentHash, String ramlFileUrl) {
+		if (contentHash == null) {
+			return null;
+		}
+		RamlModelResult ramlModelResult = IN_MEMORY_RESULTS.get(contentHash);
+		if (ramlModelResult != null) {
+			try {
+				return new RJP10V2RamlModelFactory().buildRamlRoot(ramlModelResult, ramlFileUrl);
+			} catch (InvalidRamlResourceException e) {
+				IN_MEMORY_RESULTS.remove(contentHash);
+				return null;
+			}
+		}
+		File cacheFile = getCacheFile(contentHash);
+		if (cacheFile.isFile()) {
+			try (InputStream inputStream = new BufferedInputStream(new FileInputStream(cacheFile))) {
+				RamlRoot ramlRoot = new RJP08V1RamlModelFactory().readRamlRoot(inputStream);
+				// Marks the entry as recently used so that it is evicted last
+				cacheFile.setLastModified(System.currentTimeMillis());
+				return ramlRoot;
+			} catch (Exception ex) {
+				// Stale or corrupt entries (eg. written by a different version of the raml parser) are just misses
+				logger.debug("Ignoring unreadable cache entry " + cacheFile, ex);
+				cacheFile.delete();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Stores a freshly loaded model in the cache
+	 *
+	 * @param contentHash The key as returned by {@link #computeContentHash(String)}
+	 * @param ramlModelResult The result of parsing the document with the RAML 1.0 parser
+	 * @param ramlRoot The model built for the document
+	 */
+	public void put(String contentHash, RamlModelResult ramlModelResult, RamlRoot ramlRoot) {
+		if (contentHash == null || ramlRoot == null) {
+			return;
+		}
+		if (ramlRoot instanceof RJP08V1RamlRoot) {
+			if (!cacheDirectory.exists() && !cacheDirectory.mkdirs()) {
+				logger.warn("Could not create RAML cache directory " + cacheDirectory.getAbsolutePath());
+				return;
+			}
+			File cacheFile = getCacheFile(contentHash);
+			File tempFile = new File(cacheDirectory, contentHash + ".tmp");
+			try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+				new RJP08V1RamlModelFactory().writeRamlRoot(ramlRoot, outputStream);
+			} catch (IOException ex) {
+				logger.warn("Could not write RAML cache entry " + cacheFile, ex);
+				tempFile.delete();
+				return;
+			}
+			if (!tempFile.renameTo(cacheFile)) {
+				tempFile.delete();
+			}
+			evictOldEntries();
+		} else if (ramlModelResult != null && ramlModelResult.isVersion10()) {
+			IN_MEMORY_RESULTS.put(contentHash, ramlModelResult);
+		}
+	}
+
+	/**
+	 * Deletes the least recently used entries beyond {@link #MAX_PERSISTED_ENTRIES}. Every change to a specification
+	 * creates a new entry, so the directory would otherwise grow until the next clean build
+	 */
+	private void evictOldEntries() {
+		File[] cacheFiles = cacheDirectory.listFiles((dir, name) -> name.endsWith(CACHE_FILE_SUFFIX));
+		if (cacheFiles == null || cacheFiles.length <= MAX_PERSISTED_ENTRIES) {
+			return;
+		}
+		Arrays.sort(cacheFiles, Comparator.comparingLong(File::lastModified).reversed());
+		for (int i = MAX_PERSISTED_ENTRIES; i < cacheFiles.length; i++) {
+			if (!cacheFiles[i].delete()) {
+				logger.debug("Could not delete RAML cache entry " + cacheFiles[i]);
+			}
+		}
+	}
+
+	private File getCacheFile(String contentHash) {
+		return new File(cacheDirectory, contentHash + CACHE_FILE_SUFFIX);
+	}
+
+	static boolean digestDocument(URL documentUrl, MessageDigest digest, Set<String> visited) throws IOException {
+		if (!visited.add(documentUrl.toString())) {
+			return true;
+		}
+		byte[] content;
+		try (InputStream inputStream = documentUrl.openStream()) {
+			content = StreamUtils.copyToByteArray(inputStream);
+		}
+		digest.update(documentUrl.toString().getBytes(StandardCharsets.UTF_8));
+		digest.update(content);
+
+		for (String reference : findReferences(new String(content, StandardCharsets.UTF_8))) {
+			if (reference.startsWith("http:") || reference.startsWith("https:")) {
+				// Remote content may change without us knowing. Play it safe and do not cache
+				return false;
+			}
+			if (!digestDocument(new URL(documentUrl, reference), digest, visited)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static List<String> findReferences(String content) {
+		List<String> references = new ArrayList<>();
+		Matcher includeMatcher = INCLUDE_PATTERN.matcher(content);
+		while (includeMatcher.find()) {
+			references.add(unquote(includeMatcher.group(1)));
+		}
+		Matcher refMatcher = SCHEMA_REF_PATTERN.matcher(content);
+		while (refMatcher.find()) {
+			references.add(refMatcher.group(1));
+		}
+		boolean inUses = false;
+		for (String line : content.split("\\r?\\n")) {
+			if (USES_PATTERN.matcher(line).matches()) {
+				inUses = true;
+			} else if (inUses) {
+				Matcher libraryMatcher = LIBRARY_PATTERN.matcher(line);
+				if (libraryMatcher.matches()) {
+					references.add(unquote(libraryMatcher.group(1)));
+				} else if (!line.trim().isEmpty()) {
+					inUses = false;
+				}
+			}
+		}
+		return references;
+	}
+
+	private static String unquote(String value) {
+		if (value.length() > 1 && (value.startsWith("\"") || value.startsWith("'"))) {
+			return value.substring(1, value.length() - 1);
+		}
+		return value;
+	}
+
+	static URL resolveRootUrl(String ramlFileUrl) throws IOException {
+		String path = ramlFileUrl;
+		if (path.startsWith("classpath:")) {
+			path = path.substring("classpath:".length());
+			while (path.startsWith("/")) {
+				path = path.substring(1);
+			}
+			return getClassLoader().getResource(path);
+		}
+		if (path.startsWith("file:")) {
+			return URI.create(path).toURL();
+		}
+		File file = new File(path);
+		if (file.isFile()) {
+			return file.toURI().toURL();
+		}
+		return getClassLoader().getResource(path);
+	}
+
+	private static ClassLoader getClassLoader() {
+		ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		return contextClassLoader != null ? contextClassLoader : RamlModelCache.class.getClassLoader();
+	}
+
+	static String toHex(byte[] bytes) {
+		StringBuilder hex = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			hex.append(String.format("%02x", b));
+		}
+		return hex.toString();
+	}
+}
@@ -18,6 +18,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
+import org.raml.v2.api.RamlModelResult;
+
 import com.phoenixnap.oss.ramlapisync.data.RamlFormParameter;
 
 /**
@@ -32,6 +34,19 @@ public interface RamlModelFactory {
 
     RamlRoot buildRamlRoot(String ramlFileUrl) throws InvalidRamlResourceException;
 
+    /**
+     * Builds the Raml root from a document which has already been parsed by the RAML 1.0 parser. Factories which
+     * cannot make use of the parsed result fall back to loading the document from its url.
+     *
+     * @param ramlModelResult The result of parsing the raml document
+     * @param ramlFileUrl The raml file from which the result was parsed
+     * @return Built Raml model
+     * @throws InvalidRamlResourceException If the Raml Provided isnt correct for the required parser
+     */
+    default RamlRoot buildRamlRoot(RamlModelResult ramlModelResult, String ramlFileUrl) throws InvalidRamlResourceException {
+        return buildRamlRoot(ramlFileUrl);
+    }
+
     RamlRoot createRamlRoot();
 
     RamlRoot createRamlRoot(String ramlFileUrl);
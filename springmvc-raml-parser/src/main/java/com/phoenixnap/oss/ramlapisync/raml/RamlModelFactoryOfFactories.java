@@ -81,7 +81,20 @@ public abstract class RamlModelFactoryOfFactories {
      * @return The Factory instance for this RAML document
      */
     public static RamlModelFactory createRamlModelFactoryFor(String ramlURL, RamlVersion ramlVersion) {
-    	RamlModelResult ramlModelResult = new RamlModelBuilder().buildApi(ramlURL);
+    	return createRamlModelFactoryFor(new RamlModelBuilder().buildApi(ramlURL), ramlURL, ramlVersion);
+    }
+
+    /**
+     * 
+     * Creates a Model factory for an already parsed raml document based on the documents version.
+     * This avoids parsing the document a second time just to identify its version.
+     * 
+     * @param ramlModelResult The result of parsing the raml document
+     * @param ramlURL The raml file from which the result was parsed
+     * @param ramlVersion (nullable) The Version of raml for which to create a factory
+     * @return The Factory instance for this RAML document
+     */
+    public static RamlModelFactory createRamlModelFactoryFor(RamlModelResult ramlModelResult, String ramlURL, RamlVersion ramlVersion) {
     	if (ramlModelResult.hasErrors()) {
     		logger.error("Loaded RAML has validation errors: "+ StringUtils.collectionToCommaDelimitedString(ramlModelResult.getValidationResults()));
     	}
@@ -40,4 +40,9 @@ public interface RamlRoot extends RamlResourceRoot {
     String getBaseUri();
 
 	Map<String, RamlDataType> getTypes();
+
+	/**
+	 * @return The index of all data types available to this document. Built once per document
+	 */
+	RamlTypeRegistry getTypeRegistry();
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.raml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Splits a RAML document into fingerprints which allow detecting which parts of a specification changed between
+ * runs. Each top level resource of the root document (eg. /songs) is hashed on its own. Everything else, ie. the
+ * remaining root document sections such as types, traits and baseUri together with all the files the document
+ * transitively includes, contributes to a single global hash. A change to the global hash can affect any resource.
+ *
+ * @since 0.10.15
+ */
+public class RamlSpecFingerprint {
+
+	/**
+	 * Class Logger
+	 */
+	protected static final Logger logger = LoggerFactory.getLogger(RamlSpecFingerprint.class);
+
+	private final String globalHash;
+
+	private final Map<String, String> resourceHashes;
+
+	private RamlSpecFingerprint(String globalHash, Map<String, String> resourceHashes) {
+		this.globalHash = globalHash;
+		this.resourceHashes = Collections.unmodifiableMap(resourceHashes);
+	}
+
+	/**
+	 * Computes the fingerprint of a RAML document
+	 *
+	 * @param ramlFileUrl The path to the raml file, in the same format accepted by the RamlLoader
+	 * @return The fingerprint or null if the document or one of its includes cannot be resolved locally
+	 */
+	public static RamlSpecFingerprint compute(String ramlFileUrl) {
+		try {
+			URL rootUrl = RamlModelCache.resolveRootUrl(ramlFileUrl);
+			if (rootUrl == null) {
+				return null;
+			}
+			String content;
+			try (InputStream inputStream = rootUrl.openStream()) {
+				content = StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+			}
+
+			MessageDigest globalDigest = MessageDigest.getInstance("SHA-256");
+			Map<String, MessageDigest> resourceDigests = new LinkedHashMap<>();
+			MessageDigest sectionDigest = globalDigest;
+			for (String line : content.split("\\r?\\n")) {
+				String key = getTopLevelKey(line);
+				if (key != null) {
+					if (key.startsWith("/")) {
+						sectionDigest = MessageDigest.getInstance("SHA-256");
+						resourceDigests.put(key, sectionDigest);
+					} else {
+						sectionDigest = globalDigest;
+					}
+				}
+				sectionDigest.update(line.getBytes(StandardCharsets.UTF_8));
+				sectionDigest.update((byte) '\n');
+			}
+
+			// Included files are not attributed to resources. Any change in them affects the whole document
+			Set<String> visited = new LinkedHashSet<>();
+			visited.add(rootUrl.toString());
+			for (String reference : RamlModelCache.findReferences(content)) {
+				if (reference.startsWith("http:") || reference.startsWith("https:")
+						|| !RamlModelCache.digestDocument(new URL(rootUrl, reference), globalDigest, visited)) {
+					return null;
+				}
+			}
+
+			Map<String, String> resourceHashes = new LinkedHashMap<>();
+			for (Map.Entry<String, MessageDigest> resourceDigest : resourceDigests.entrySet()) {
+				resourceHashes.put(resourceDigest.getKey(), RamlModelCache.toHex(resourceDigest.getValue().digest()));
+			}
+			return new RamlSpecFingerprint(RamlModelCache.toHex(globalDigest.digest()), resourceHashes);
+		} catch (IOException | NoSuchAlgorithmException ex) {
+			logger.debug("Could not compute fingerprint for " + ramlFileUrl, ex);
+			return null;
+		}
+	}
+
+	private static String getTopLevelKey(String line) {
+		if (line.isEmpty() || Character.isWhitespace(line.charAt(0)) || line.charAt(0) == '#') {
+			return null;
+		}
+		int separator = line.indexOf(':');
+		if (separator < 1) {
+			return null;
+		}
+		String key = line.substring(0, separator).trim();
+		if (key.length() > 1 && (key.startsWith("\"") || key.startsWith("'"))) {
+			key = key.substring(1, key.length() - 1);
+		}
+		return key;
+	}
+
+	/**
+	 * @return The hash of everything in the document which is not part of a top level resource
+	 */
+	public String getGlobalHash() {
+		return globalHash;
+	}
+
+	/**
+	 * @param relativeUri The relative uri of a top level resource as declared in the root document, eg. /songs
+	 * @return The hash of the resource or null if the root document does not declare it
+	 */
+	public String getResourceHash(String relativeUri) {
+		return resourceHashes.get(relativeUri);
+	}
+}
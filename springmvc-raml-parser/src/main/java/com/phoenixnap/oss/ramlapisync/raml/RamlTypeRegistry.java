@@ -0,0 +1,146 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.raml;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
+
+/**
+ * Index of all the data types available to a RAML document, including the ones declared in the libraries it uses.
+ * The registry is built once per document and offers constant time lookups by simple name (eg. Song) and by library
+ * qualified name (eg. SongLib.Song) together with the inheritance graph between the registered types.
+ *
+ * @since 0.10.15
+ */
+public class RamlTypeRegistry {
+
+	private final Map<String, RamlDataType> types;
+
+	private final Map<String, RamlDataType> qualifiedTypes;
+
+	private volatile Map<String, String> parents;
+
+	private volatile Map<String, List<RamlDataType>> children;
+
+	/**
+	 * Creates a registry from the types of a document
+	 *
+	 * @param types All types keyed by their simple name
+	 * @param qualifiedTypes Library types keyed by their library qualified name
+	 */
+	public RamlTypeRegistry(Map<String, RamlDataType> types, Map<String, RamlDataType> qualifiedTypes) {
+		this.types = Collections.unmodifiableMap(new LinkedHashMap<>(types));
+		this.qualifiedTypes = Collections.unmodifiableMap(new LinkedHashMap<>(qualifiedTypes));
+	}
+
+	/**
+	 * @return All types keyed by their simple name
+	 */
+	public Map<String, RamlDataType> getTypes() {
+		return types;
+	}
+
+	/**
+	 * Looks up a type by either its simple or its library qualified name
+	 *
+	 * @param name The name of the type
+	 * @return The type or null if no type is registered under this name
+	 */
+	public RamlDataType getType(String name) {
+		if (name == null) {
+			return null;
+		}
+		RamlDataType type = types.get(name);
+		if (type == null) {
+			type = qualifiedTypes.get(name);
+		}
+		return type;
+	}
+
+	/**
+	 * Returns the registered type which the supplied type extends. Since Java does not support multiple inheritance
+	 * only the first parent is considered.
+	 *
+	 * @param name The name of the type
+	 * @return The parent type or null if the type does not extend another registered type
+	 */
+	public RamlDataType getParent(String name) {
+		RamlDataType type = getType(name);
+		if (type == null) {
+			return null;
+		}
+		return types.get(getParents().get(type.getType().name()));
+	}
+
+	/**
+	 * Returns the registered types which directly extend the supplied type
+	 *
+	 * @param name The name of the type
+	 * @return The child types, empty if there are none
+	 */
+	public List<RamlDataType> getChildren(String name) {
+		RamlDataType type = getType(name);
+		if (type == null) {
+			return Collections.emptyList();
+		}
+		List<RamlDataType> typeChildren = getChildren().get(type.getType().name());
+		return typeChildren == null ? Collections.emptyList() : typeChildren;
+	}
+
+	private Map<String, String> getParents() {
+		if (parents == null) {
+			buildHierarchy();
+		}
+		return parents;
+	}
+
+	private Map<String, List<RamlDataType>> getChildren() {
+		if (children == null) {
+			buildHierarchy();
+		}
+		return children;
+	}
+
+	private synchronized void buildHierarchy() {
+		if (parents != null && children != null) {
+			return;
+		}
+		Map<String, String> builtParents = new LinkedHashMap<>();
+		Map<String, List<RamlDataType>> builtChildren = new LinkedHashMap<>();
+		for (Map.Entry<String, RamlDataType> entry : types.entrySet()) {
+			String parentName = findParentName(entry.getValue().getType());
+			if (parentName != null && !parentName.equals(entry.getKey())) {
+				builtParents.put(entry.getKey(), parentName);
+				builtChildren.computeIfAbsent(parentName, key -> new ArrayList<>()).add(entry.getValue());
+			}
+		}
+		for (Map.Entry<String, List<RamlDataType>> entry : builtChildren.entrySet()) {
+			entry.setValue(Collections.unmodifiableList(entry.getValue()));
+		}
+		children = Collections.unmodifiableMap(builtChildren);
+		parents = Collections.unmodifiableMap(builtParents);
+	}
+
+	private String findParentName(TypeDeclaration type) {
+		RamlDataType parent = getType(type.type());
+		if (parent == null && type.parentTypes() != null && !type.parentTypes().isEmpty()) {
+			parent = getType(type.parentTypes().get(0).name());
+		}
+		return parent == null ? null : parent.getType().name();
+	}
+}
@@ -12,6 +12,11 @@
  */
 package com.phoenixnap.oss.ramlapisync.raml.rjp.raml08v1;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -84,6 +89,32 @@ public class RJP08V1RamlModelFactory implements RamlModelFactory {
         return new RJP08V1RamlRoot(raml);
     }
 
+    /**
+     * Serializes the underlying Raml model of a Raml root so that it can be restored without parsing the document
+     *
+     * @param ramlRoot The root to write. Must have been created by this factory
+     * @param outputStream The stream to write to
+     * @throws IOException If the model cannot be written
+     */
+    public void writeRamlRoot(RamlRoot ramlRoot, OutputStream outputStream) throws IOException {
+        ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream);
+        objectOutputStream.writeObject(((RJP08V1RamlRoot) ramlRoot).getRaml());
+        objectOutputStream.flush();
+    }
+
+    /**
+     * Restores a Raml root previously written using {@link #writeRamlRoot(RamlRoot, OutputStream)}
+     *
+     * @param inputStream The stream to read from
+     * @return The restored Raml root
+     * @throws IOException If the model cannot be read
+     * @throws ClassNotFoundException If the model was written with an incompatible version of the raml parser
+     */
+    public RamlRoot readRamlRoot(InputStream inputStream) throws IOException, ClassNotFoundException {
+        ObjectInputStream objectInputStream = new ObjectInputStream(inputStream);
+        return createRamlRoot((Raml) objectInputStream.readObject());
+    }
+
     @Override
     public RamlResource createRamlResource() {
         return createRamlResource(new Resource());
@@ -12,6 +12,7 @@
  */
 package com.phoenixnap.oss.ramlapisync.raml.rjp.raml08v1;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,6 +23,7 @@ import com.phoenixnap.oss.ramlapisync.raml.RamlDataType;
 import com.phoenixnap.oss.ramlapisync.raml.RamlDocumentationItem;
 import com.phoenixnap.oss.ramlapisync.raml.RamlResource;
 import com.phoenixnap.oss.ramlapisync.raml.RamlRoot;
+import com.phoenixnap.oss.ramlapisync.raml.RamlTypeRegistry;
 
 /**
  * Implementation based on the Raml 0.8 Parser
@@ -31,6 +33,8 @@ import com.phoenixnap.oss.ramlapisync.raml.RamlRoot;
  */
 public class RJP08V1RamlRoot implements RamlRoot {
 
+    private static final RamlTypeRegistry EMPTY_TYPE_REGISTRY = new RamlTypeRegistry(Collections.emptyMap(), Collections.emptyMap());
+
     private static RJP08V1RamlModelFactory ramlModelFactory = new RJP08V1RamlModelFactory();
 
     private final Raml raml;
@@ -125,4 +129,10 @@ public class RJP08V1RamlRoot implements RamlRoot {
 	public Map<String, RamlDataType> getTypes() {
 		throw new UnsupportedOperationException();
 	}
+
+	@Override
+	public RamlTypeRegistry getTypeRegistry() {
+		// RAML 0.8 documents declare schemas rather than data types
+		return EMPTY_TYPE_REGISTRY;
+	}
 }
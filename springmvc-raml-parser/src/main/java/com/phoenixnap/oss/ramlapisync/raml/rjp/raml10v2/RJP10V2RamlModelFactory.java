@@ -46,7 +46,11 @@ public class RJP10V2RamlModelFactory implements RamlModelFactory {
 
     @Override
     public RamlRoot buildRamlRoot(String ramlFileUrl) throws InvalidRamlResourceException {
-        RamlModelResult ramlModelResult = new RamlModelBuilder().buildApi(ramlFileUrl);
+        return buildRamlRoot(new RamlModelBuilder().buildApi(ramlFileUrl), ramlFileUrl);
+    }
+
+    @Override
+    public RamlRoot buildRamlRoot(RamlModelResult ramlModelResult, String ramlFileUrl) throws InvalidRamlResourceException {
         if (ramlModelResult.hasErrors()) {
             List<String> errors = ramlModelResult.getValidationResults()
                     .stream()
@@ -1,12 +1,12 @@
 package com.phoenixnap.oss.ramlapisync.raml.rjp.raml10v2;
 
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Map.Entry;
+import java.util.Set;
 
 import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
 import org.raml.v2.api.model.v10.methods.Method;
@@ -26,30 +26,47 @@ import com.phoenixnap.oss.ramlapisync.raml.RamlUriParameter;
  */
 public class RJP10V2RamlResource implements RamlResource {
 	
-	private static RJP10V2RamlModelFactory ramlModelFactory = new RJP10V2RamlModelFactory();
-	
     private final Resource delegate;
-    
-    private transient Map<String, RamlResource> childResourceMap;
+
+    /*
+     * The wrapped model is read only (all mutators are unsupported) so the views below are computed once on first
+     * access and shared from then on. Should mutators ever be supported they need to reset the affected views.
+     */
+    private volatile Map<String, RamlResource> childResourceMap;
+
+    private volatile Map<RamlActionType, RamlAction> actions;
+
+    private volatile Map<String, RamlUriParameter> uriParameters;
+
+    private volatile Map<String, RamlUriParameter> resolvedUriParameters;
+
+    private volatile RamlResource parentResource;
 
     public RJP10V2RamlResource(Resource resource) {
         this.delegate = resource;
-        
-        rebuildChildren();
     }
 
-    private void rebuildChildren() {
-    	childResourceMap = new LinkedHashMap<String, RamlResource>();
+    RJP10V2RamlResource(Resource resource, RamlResource parentResource) {
+        this.delegate = resource;
+        this.parentResource = parentResource;
+    }
+
+    private Map<String, RamlResource> buildChildren() {
+    	Map<String, RamlResource> children = new LinkedHashMap<String, RamlResource>();
     	List<Resource> resources = delegate.resources();
     	if (resources != null) {
 	    	for (Resource resource : resources) {
-	        	childResourceMap.put(resource.relativeUri().value(), new RJP10V2RamlResource(resource));	        	
+	    		children.put(resource.relativeUri().value(), new RJP10V2RamlResource(resource, this));
 	        }
 	    }
+    	return children;
 	}
 
 	@Override
     public Map<String, RamlResource> getResources() {
+		if (childResourceMap == null) {
+			childResourceMap = buildChildren();
+		}
         return childResourceMap;
     }
 
@@ -60,7 +77,7 @@ public class RJP10V2RamlResource implements RamlResource {
 
     @Override
     public RamlResource getResource(String path) {
-       return childResourceMap.get(path);
+       return getResources().get(path);
     }
 
     @Override
@@ -80,35 +97,34 @@ public class RJP10V2RamlResource implements RamlResource {
 
     @Override
     public Map<RamlActionType, RamlAction> getActions() {
-    	Map<RamlActionType, RamlAction> actions = new HashMap<RamlActionType, RamlAction>();
-    	for(Method method : this.delegate.methods()){
-    		actions.put(RamlActionType.valueOf(method.method().toUpperCase()), new RJP10V2RamlAction(method));
+    	if (actions == null) {
+	    	Map<RamlActionType, RamlAction> builtActions = new LinkedHashMap<RamlActionType, RamlAction>();
+	    	for(Method method : this.delegate.methods()){
+	    		builtActions.put(RamlActionType.valueOf(method.method().toUpperCase()), new RJP10V2RamlAction(method, this));
+	    	}
+	    	actions = Collections.unmodifiableMap(builtActions);
     	}
     	return actions;
     }
 
     @Override
     public Map<String, RamlUriParameter> getUriParameters() {
-    	Map<String, RamlUriParameter> uriParameters = new LinkedHashMap<>();
-    	for (TypeDeclaration type : this.delegate.uriParameters()) {
-    		RJP10V2RamlUriParameter rjp10v2RamlUriParameter = new RJP10V2RamlUriParameter(type);
-    		uriParameters.put(type.name(), rjp10v2RamlUriParameter);
-    	}
-    	//RJP08 detects and adds uri parameters from url even if there isnt an explicit parameter defined.
-    	List<String> missingUriParams = NamingHelper.extractUriParams(this.getRelativeUri());
-    	for (String missingParam : missingUriParams) {
-			boolean contains = false;
-			Iterator<RamlUriParameter> iterator = uriParameters.values().iterator();
-			while (iterator.hasNext()) {
-				RamlUriParameter ramlUriParameter = iterator.next();
-				if (ramlUriParameter.getName().equals(missingParam)) {
-					contains = true;
-					break;
-				}
-			}
-			if (!contains) {
-    			uriParameters.put(missingParam, new RJP10V2RamlUriParameter(RamlTypeHelper.createDefaultStringDeclaration(missingParam)));
-    		}
+    	if (uriParameters == null) {
+	    	Map<String, RamlUriParameter> builtUriParameters = new LinkedHashMap<>();
+	    	Set<String> parameterNames = new HashSet<>();
+	    	for (TypeDeclaration type : this.delegate.uriParameters()) {
+	    		RJP10V2RamlUriParameter rjp10v2RamlUriParameter = new RJP10V2RamlUriParameter(type);
+	    		builtUriParameters.put(type.name(), rjp10v2RamlUriParameter);
+	    		parameterNames.add(rjp10v2RamlUriParameter.getName());
+	    	}
+	    	//RJP08 detects and adds uri parameters from url even if there isnt an explicit parameter defined.
+	    	List<String> missingUriParams = NamingHelper.extractUriParams(this.getRelativeUri());
+	    	for (String missingParam : missingUriParams) {
+				if (parameterNames.add(missingParam)) {
+	    			builtUriParameters.put(missingParam, new RJP10V2RamlUriParameter(RamlTypeHelper.createDefaultStringDeclaration(missingParam)));
+	    		}
+	    	}
+	    	uriParameters = Collections.unmodifiableMap(builtUriParameters);
     	}
     	return uriParameters;
     }
@@ -130,16 +146,17 @@ public class RJP10V2RamlResource implements RamlResource {
 	 */
     @Override
     public Map<String, RamlUriParameter> getResolvedUriParameters() {
-		Map<String, RamlUriParameter> resolvedUriParameters = new HashMap<>();
-
-		RamlResource resource = this;
-		while (resource != null) {
-			resolvedUriParameters = Stream
-					.concat(resolvedUriParameters.entrySet().stream(), resource.getUriParameters().entrySet().stream())
-					.collect(Collectors.toMap(entry -> entry.getKey(), entry -> entry.getValue()));
-			resource = resource.getParentResource();
-		}
-
+    	if (resolvedUriParameters == null) {
+			Map<String, RamlUriParameter> builtResolvedUriParameters = new LinkedHashMap<>(getUriParameters());
+			RamlResource parent = getParentResource();
+			if (parent != null) {
+				// the parent memoizes its own hierarchy so we only walk up a single level
+				for (Entry<String, RamlUriParameter> parentParameter : parent.getResolvedUriParameters().entrySet()) {
+					builtResolvedUriParameters.putIfAbsent(parentParameter.getKey(), parentParameter.getValue());
+				}
+			}
+			resolvedUriParameters = Collections.unmodifiableMap(builtResolvedUriParameters);
+    	}
 		return resolvedUriParameters;
     }
 
@@ -177,7 +194,10 @@ public class RJP10V2RamlResource implements RamlResource {
 
     @Override
     public RamlResource getParentResource() {
-        return (this.delegate.parentResource() == null) ? null : new RJP10V2RamlResource(this.delegate.parentResource());
+    	if (parentResource == null && this.delegate.parentResource() != null) {
+    		parentResource = new RJP10V2RamlResource(this.delegate.parentResource());
+    	}
+        return parentResource;
     }
 
     @Override
@@ -217,13 +237,7 @@ public class RJP10V2RamlResource implements RamlResource {
 
     @Override
     public RamlAction getAction(RamlActionType actionType) {
-        List<Method> methods = delegate.methods();
-        for(Method method : methods){
-        	if(method.method().equalsIgnoreCase(actionType.toString())){
-        		return ramlModelFactory.createRamlAction(method);
-        	}
-        }
-        return null;
+        return getActions().get(actionType);
     }
 
     @Override
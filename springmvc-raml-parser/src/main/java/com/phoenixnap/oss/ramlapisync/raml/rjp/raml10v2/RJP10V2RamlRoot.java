@@ -18,6 +18,7 @@ import com.phoenixnap.oss.ramlapisync.raml.RamlDocumentationItem;
 import com.phoenixnap.oss.ramlapisync.raml.RamlResource;
 import com.phoenixnap.oss.ramlapisync.raml.RamlRoot;
 import com.phoenixnap.oss.ramlapisync.raml.RamlSpecNotFullySupportedException;
+import com.phoenixnap.oss.ramlapisync.raml.RamlTypeRegistry;
 
 /**
  * @author aweisser
@@ -31,6 +32,8 @@ public class RJP10V2RamlRoot implements RamlRoot {
     private final Api api;
     private Map<String, RamlResource> resources = new LinkedHashMap<>();
 
+    private volatile RamlTypeRegistry typeRegistry;
+
     public RJP10V2RamlRoot(Api api) {
         this.api = api;
     }
@@ -110,25 +113,47 @@ public class RJP10V2RamlRoot implements RamlRoot {
     
     @Override
     public Map<String, RamlDataType> getTypes() {
-		Map<String, RamlDataType> types = api.types().stream()
-				.collect(Collectors.toMap(this::nameType, this::typeDeclarationToRamlDataType));
+    	return getTypeRegistry().getTypes();
+    }
 
-		Map<String, RamlDataType> libTypes =  api.uses().stream()
-				.flatMap(x -> x.types().stream())
-				.collect(Collectors.toMap(this::nameType, this::typeDeclarationToRamlDataType));
-		
-		types.putAll(libTypes);
+    @Override
+    public RamlTypeRegistry getTypeRegistry() {
+    	if (typeRegistry == null) {
+    		typeRegistry = buildTypeRegistry();
+    	}
+    	return typeRegistry;
+    }
 
-		// When searching for all libraries that other libraries use it's possible to pull in same library multiple times.
-		// In order to avoid IllegalStateException we'll add basic mergeFunction.
-		Map<String, RamlDataType> libOfLibTypes = api.uses().stream()
-				.flatMap(x -> x.uses().stream())
-				.flatMap(x -> x.types().stream())
-				.collect(Collectors.toMap(this::nameType, this::typeDeclarationToRamlDataType, (x, y) -> x));
+    private RamlTypeRegistry buildTypeRegistry() {
+		Map<String, RamlDataType> types = new LinkedHashMap<>();
+		Map<String, RamlDataType> qualifiedTypes = new LinkedHashMap<>();
+		for (TypeDeclaration type : api.types()) {
+			types.put(nameType(type), typeDeclarationToRamlDataType(type));
+		}
 
+		// Library types take precedence over the ones in the root document
+		Map<String, RamlDataType> libTypes = new LinkedHashMap<>();
+		// When searching for all libraries that other libraries use it's possible to pull in same library multiple times.
+		// In this case the first occurrence wins.
+		Map<String, RamlDataType> libOfLibTypes = new LinkedHashMap<>();
+		for (Library library : api.uses()) {
+			for (TypeDeclaration type : library.types()) {
+				RamlDataType dataType = typeDeclarationToRamlDataType(type);
+				libTypes.put(nameType(type), dataType);
+				qualifiedTypes.put(library.name() + "." + nameType(type), dataType);
+			}
+			for (Library libOfLib : library.uses()) {
+				for (TypeDeclaration type : libOfLib.types()) {
+					RamlDataType dataType = typeDeclarationToRamlDataType(type);
+					libOfLibTypes.putIfAbsent(nameType(type), dataType);
+					qualifiedTypes.putIfAbsent(libOfLib.name() + "." + nameType(type), dataType);
+				}
+			}
+		}
+		types.putAll(libTypes);
 		types.putAll(libOfLibTypes);
 
-		return types;
+		return new RamlTypeRegistry(types, qualifiedTypes);
     }
     
     private Map<String, String> typeDeclarationToMap(TypeDeclaration typeDeclaration) {
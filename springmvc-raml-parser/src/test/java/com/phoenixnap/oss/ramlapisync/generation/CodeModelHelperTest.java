@@ -0,0 +1,46 @@
+package com.phoenixnap.oss.ramlapisync.generation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Test;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+
+/**
+ * @since 0.10.15
+ */
+public class CodeModelHelperTest {
+
+	@Test
+	public void findClassesBySimpleName_shouldReflectClassesAddedAndRemoved() throws Exception {
+		JCodeModel codeModel = new JCodeModel();
+		JDefinedClass song = codeModel._class("com.gen.test.model.Song");
+		codeModel._class("com.gen.test.SongController");
+		assertThat(CodeModelHelper.findClassesBySimpleName(codeModel, "Song"), contains(song));
+		assertThat(CodeModelHelper.findClassesBySimpleName(codeModel, "Person"), is(empty()));
+
+		JDefinedClass person = codeModel._class("com.gen.test.model.Person");
+		assertThat(CodeModelHelper.findFirstClassBySimpleName(codeModel, "Person"), is(sameInstance(person)));
+
+		song.getPackage().remove(song);
+		assertThat(CodeModelHelper.findClassesBySimpleName(codeModel, "Song"), is(empty()));
+	}
+
+	@Test
+	public void findClassesBySimpleName_shouldListAmbiguousClasses() throws Exception {
+		JCodeModel codeModel = new JCodeModel();
+		JDefinedClass modelSong = codeModel._class("com.gen.test.model.Song");
+		JDefinedClass otherSong = codeModel._class("com.gen.test.other.Song");
+		codeModel._class("com.gen.test.model.Person");
+
+		assertThat(CodeModelHelper.findClassesBySimpleName(codeModel, "Song").size(), is(2));
+		JDefinedClass first = CodeModelHelper.findClassesBySimpleName(codeModel, "Song").get(0);
+		assertThat(first == modelSong || first == otherSong, is(true));
+		assertThat(CodeModelHelper.findFirstClassBySimpleName(codeModel, "Song"), is(sameInstance(first)));
+	}
+}
@@ -0,0 +1,77 @@
+package com.phoenixnap.oss.ramlapisync.generation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.io.File;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * @since 0.10.15
+ */
+public class GenerationReportTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void phase_shouldRecordInActiveReport() throws Exception {
+		GenerationReport report = new GenerationReport();
+		report.activate();
+		try {
+			try (GenerationReport.Phase phase = GenerationReport.phase("typeInterpretation")) {
+				new StringBuilder().append("allocate");
+			}
+			try (GenerationReport.Phase phase = report.start("ruleApplication", "SongController")) {
+				try (GenerationReport.Phase inner = GenerationReport.phase("typeInterpretation")) {
+					new StringBuilder().append("allocate");
+				}
+			}
+		} finally {
+			GenerationReport.deactivate();
+		}
+		try (GenerationReport.Phase phase = GenerationReport.phase("typeInterpretation")) {
+			// Not recorded once deactivated
+		}
+
+		Map<String, GenerationReport.PhaseStatistics> phases = report.getPhases();
+		assertThat(phases.get("typeInterpretation").getCount(), is(2));
+		assertThat(phases.get("ruleApplication").getCount(), is(1));
+		assertThat(report.getResources().get("SongController").get("ruleApplication").getCount(), is(1));
+		assertThat(report.getResources().get("SongController"), not(hasKey("typeInterpretation")));
+	}
+
+	@Test
+	public void write_shouldStoreJsonAndListProperties() throws Exception {
+		GenerationReport report = new GenerationReport();
+		try (GenerationReport.Phase phase = report.start("write", null)) {
+			// Nothing to measure
+		}
+		try (GenerationReport.Phase phase = report.start("modelGeneration", "SongController")) {
+			// Nothing to measure
+		}
+
+		File file = new File(folder.getRoot(), GenerationReport.REPORT_FILE_NAME);
+		report.write(file);
+
+		JsonNode json = new ObjectMapper().readTree(file);
+		assertThat(json.has("totalMillis"), is(true));
+		assertThat(json.get("phases").get("write").get("count").asInt(), is(1));
+		assertThat(json.get("resources").get("SongController").get("modelGeneration").get("count").asInt(), is(1));
+
+		Map<String, String> properties = report.toProperties("springmvc-raml");
+		assertThat(properties, hasEntry("springmvc-raml.write.count", "1"));
+		assertThat(properties, hasKey("springmvc-raml.modelGeneration.wallMillis"));
+		assertThat(properties, hasKey("springmvc-raml.modelGeneration.allocatedBytes"));
+	}
+}
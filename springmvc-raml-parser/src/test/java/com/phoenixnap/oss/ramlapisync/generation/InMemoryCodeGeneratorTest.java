@@ -0,0 +1,42 @@
+package com.phoenixnap.oss.ramlapisync.generation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItems;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.phoenixnap.oss.ramlapisync.generation.rules.Spring4ControllerStubRule;
+
+/**
+ * @since 0.10.15
+ */
+public class InMemoryCodeGeneratorTest {
+
+	@Test
+	public void generate_shouldRenderRaml08ControllersAndModels() throws Exception {
+		InMemoryCodeGenerator generator = new InMemoryCodeGenerator(new RamlParser("com.gen.test", "/api", false, false),
+				new Spring4ControllerStubRule());
+
+		Map<String, String> sources = generator.generate("rules/test-single-controller.raml");
+
+		assertThat(sources.keySet(), hasItems("com/gen/test/BaseController.java", "com/gen/test/model/NamedResponseType.java"));
+		assertThat(sources.get("com/gen/test/BaseController.java"), containsString("public class BaseController"));
+		assertThat(sources.get("com/gen/test/BaseController.java"), containsString("import com.gen.test.model.NamedResponseType;"));
+		assertThat(sources.get("com/gen/test/model/NamedResponseType.java"), containsString("public class NamedResponseType"));
+	}
+
+	@Test
+	public void generate_shouldRenderRaml10ControllersAndTypes() throws Exception {
+		InMemoryCodeGenerator generator = new InMemoryCodeGenerator(new RamlParser("com.gen.test", "/api", false, false),
+				new Spring4ControllerStubRule());
+
+		Map<String, String> sources = generator.generate("rules/issue-235.raml");
+
+		assertThat(sources.keySet(), hasItems("com/gen/test/TestController.java", "com/gen/test/model/DeleteObject.java"));
+		assertThat(sources.get("com/gen/test/TestController.java"), containsString("DeleteObject deleteObject"));
+		assertThat(sources.get("com/gen/test/model/DeleteObject.java"), containsString("public class DeleteObject"));
+	}
+}
@@ -0,0 +1,70 @@
+package com.phoenixnap.oss.ramlapisync.generation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JMod;
+
+/**
+ * @since 0.10.15
+ */
+public class IncrementalCodeWriterTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void build_shouldOnlyWriteChangedFilesAndDeleteStaleOnes() throws Exception {
+		File outputDir = folder.newFolder("generated");
+		File manifest = new File(folder.getRoot(), "springmvc-raml/" + IncrementalCodeWriter.MANIFEST_FILE_NAME);
+		File userFile = new File(outputDir, "com/gen/test/Handwritten.java");
+		userFile.getParentFile().mkdirs();
+		Files.write(userFile.toPath(), "class Handwritten {}".getBytes(StandardCharsets.UTF_8));
+
+		IncrementalCodeWriter firstRun = new IncrementalCodeWriter(outputDir, manifest);
+		buildModel(true, "name").build(firstRun);
+		firstRun.finish();
+		assertThat(firstRun.getWrittenCount(), is(2));
+		assertThat(manifest.isFile(), is(true));
+		assertThat(outputDir.list(), is(new String[] { "com" }));
+
+		File song = new File(outputDir, "com/gen/test/model/Song.java");
+		File album = new File(outputDir, "com/gen/test/model/Album.java");
+		assertThat(song.setLastModified(1000L), is(true));
+
+		IncrementalCodeWriter secondRun = new IncrementalCodeWriter(outputDir, manifest);
+		buildModel(false, "name").build(secondRun);
+		secondRun.finish();
+		assertThat(secondRun.getWrittenCount(), is(0));
+		assertThat(secondRun.getUnchangedCount(), is(1));
+		assertThat(secondRun.getDeletedCount(), is(1));
+		assertThat(song.lastModified(), is(1000L));
+		assertThat(album.exists(), is(false));
+		assertThat(userFile.exists(), is(true));
+
+		IncrementalCodeWriter thirdRun = new IncrementalCodeWriter(outputDir, manifest);
+		boolean written = thirdRun.write("com/gen/test/model/Song.java", "changed".getBytes(StandardCharsets.UTF_8));
+		thirdRun.finish();
+		assertThat(written, is(true));
+		assertThat(new String(Files.readAllBytes(song.toPath()), StandardCharsets.UTF_8), equalTo("changed"));
+	}
+
+	private JCodeModel buildModel(boolean withAlbum, String fieldName) throws Exception {
+		JCodeModel codeModel = new JCodeModel();
+		codeModel._class("com.gen.test.model.Song").field(JMod.PRIVATE, String.class, fieldName);
+		if (withAlbum) {
+			codeModel._class("com.gen.test.model.Album");
+		}
+		return codeModel;
+	}
+}
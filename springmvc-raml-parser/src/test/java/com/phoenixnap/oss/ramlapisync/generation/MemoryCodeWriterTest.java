@@ -0,0 +1,46 @@
+package com.phoenixnap.oss.ramlapisync.generation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JMod;
+
+/**
+ * @since 0.10.15
+ */
+public class MemoryCodeWriterTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void build_shouldRenderSameContentAsFileCodeWriter() throws Exception {
+		JCodeModel codeModel = new JCodeModel();
+		JDefinedClass song = codeModel._class("com.gen.test.model.Song");
+		song.field(JMod.PRIVATE, codeModel.ref(java.util.List.class).narrow(String.class), "tags");
+		codeModel._class("com.gen.test.SongController");
+
+		MemoryCodeWriter writer = new MemoryCodeWriter();
+		codeModel.build(writer);
+		Map<String, byte[]> files = writer.getFiles();
+
+		File expectedDir = folder.newFolder("expected");
+		codeModel.build(expectedDir, (PrintStream) null);
+		assertThat(files.keySet(), containsInAnyOrder("com/gen/test/SongController.java", "com/gen/test/model/Song.java"));
+		for (Map.Entry<String, byte[]> file : files.entrySet()) {
+			assertThat(file.getValue(), equalTo(Files.readAllBytes(new File(expectedDir, file.getKey()).toPath())));
+		}
+	}
+}
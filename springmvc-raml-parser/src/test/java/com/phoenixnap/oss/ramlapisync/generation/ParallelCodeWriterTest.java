@@ -0,0 +1,71 @@
+package com.phoenixnap.oss.ramlapisync.generation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JMod;
+
+/**
+ * @since 0.10.15
+ */
+public class ParallelCodeWriterTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void build_shouldWriteSameContentAsFileCodeWriter() throws Exception {
+		JCodeModel codeModel = new JCodeModel();
+		JDefinedClass song = codeModel._class("com.gen.test.model.Song");
+		song.field(JMod.PRIVATE, codeModel.ref(java.util.List.class).narrow(String.class), "tags");
+		codeModel._class("com.gen.test.model.Person");
+		codeModel._class("com.gen.test.SongController");
+
+		File actualDir = folder.newFolder("actual");
+		ParallelCodeWriter writer = new ParallelCodeWriter(actualDir, 3);
+		codeModel.build(writer);
+		writer.finish();
+
+		File expectedDir = folder.newFolder("expected");
+		codeModel.build(expectedDir, (PrintStream) null);
+		long bytes = 0;
+		for (String path : new String[] { "com/gen/test/model/Song.java", "com/gen/test/model/Person.java", "com/gen/test/SongController.java" }) {
+			byte[] expected = Files.readAllBytes(new File(expectedDir, path).toPath());
+			assertThat(Files.readAllBytes(new File(actualDir, path).toPath()), equalTo(expected));
+			bytes += expected.length;
+		}
+		assertThat(writer.getFileCount(), is(3));
+		assertThat(writer.getByteCount(), is(bytes));
+		assertThat(writer.getFilesPerSecond(), is(greaterThan(0d)));
+	}
+
+	@Test
+	public void write_shouldKeepLastContentWrittenToSamePath() throws Exception {
+		File targetDir = folder.newFolder("generated");
+		File existing = new File(targetDir, "com/gen/test/Song.java");
+		existing.getParentFile().mkdirs();
+		Files.write(existing.toPath(), "a much longer previous content".getBytes(StandardCharsets.UTF_8));
+
+		ParallelCodeWriter writer = new ParallelCodeWriter(targetDir, 4);
+		for (int i = 0; i < 50; i++) {
+			writer.write("com/gen/test/Song.java", ("version " + i).getBytes(StandardCharsets.UTF_8));
+		}
+		writer.finish();
+
+		assertThat(new String(Files.readAllBytes(existing.toPath()), StandardCharsets.UTF_8), is("version 49"));
+		assertThat(writer.getFileCount(), is(50));
+	}
+}
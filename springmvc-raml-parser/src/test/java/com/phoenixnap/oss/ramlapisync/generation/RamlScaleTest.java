@@ -0,0 +1,146 @@
+package com.phoenixnap.oss.ramlapisync.generation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.phoenixnap.oss.ramlapisync.data.ApiResourceMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.rules.RamlLoader;
+import com.phoenixnap.oss.ramlapisync.generation.rules.Spring4ControllerStubRule;
+import com.phoenixnap.oss.ramlapisync.naming.SchemaCodeModelCache;
+import com.phoenixnap.oss.ramlapisync.raml.RamlRoot;
+import com.phoenixnap.oss.ramlapisync.raml.RamlVersion;
+import com.phoenixnap.oss.ramlapisync.raml.SyntheticRamlGenerator;
+import com.sun.codemodel.JCodeModel;
+
+/**
+ * Extracts and generates the controllers of large synthetic RAML documents of N and 2N resources, so that helpers
+ * growing worse than linearly with the size of a document are caught. Time and heap are compared between both sizes
+ * rather than against absolute budgets, which depend on the machine. N can be raised with the raml.scale.resources
+ * system property (eg. -Draml.scale.resources=5000). Below the default, the heap retained is small enough for the
+ * measurement to be dominated by noise.
+ *
+ * The large runs are skipped unless the raml.scale.tests system property is set, which the scale-tests profile does
+ * (eg. mvn test -Pscale-tests).
+ *
+ * @since 0.10.15
+ */
+public class RamlScaleTest {
+
+	private static final int RESOURCES = Integer.getInteger("raml.scale.resources", 300);
+
+	private static final int NESTING_DEPTH = 6;
+
+	/**
+	 * Doubling the resources of a linear process doubles its cost, a quadratic one would quadruple it
+	 */
+	private static final double MAX_GROWTH = 3.0;
+
+	/**
+	 * Runs per size, the fastest of which is compared to leave out pauses of the JVM
+	 */
+	private static final int RUNS = 3;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void generate_shouldBeDeterministic() {
+		SyntheticRamlGenerator generator = createGenerator(1, RESOURCES);
+		assertThat(generator.generate(RamlVersion.V10), is(createGenerator(1, RESOURCES).generate(RamlVersion.V10)));
+		assertThat(generator.generate(RamlVersion.V08), is(createGenerator(1, RESOURCES).generate(RamlVersion.V08)));
+		assertThat(generator.generate(RamlVersion.V10), is(not(createGenerator(2, RESOURCES).generate(RamlVersion.V10))));
+	}
+
+	@Test
+	public void raml10_shouldExtractAndGenerateControllersInLinearTime() throws Exception {
+		assertGrowsLinearly(RamlVersion.V10);
+	}
+
+	@Test
+	public void raml08_shouldExtractAndGenerateControllersInLinearTime() throws Exception {
+		assertGrowsLinearly(RamlVersion.V08);
+	}
+
+	private SyntheticRamlGenerator createGenerator(long seed, int resources) {
+		return new SyntheticRamlGenerator(seed).withResources(resources).withNestingDepth(NESTING_DEPTH)
+				.withTypes(resources / 5).withLibraries(8).withUnions(resources / 20);
+	}
+
+	private void assertGrowsLinearly(RamlVersion version) throws Exception {
+		Assume.assumeTrue("Large RAML documents are only generated with -Draml.scale.tests", Boolean.getBoolean("raml.scale.tests"));
+		// Warms up class loading and the JIT, which would otherwise be charged to the first size
+		measure(version, RESOURCES / 2);
+		long[] single = measure(version, RESOURCES);
+		long[] doubled = measure(version, 2 * RESOURCES);
+
+		double timeGrowth = (double) doubled[0] / Math.max(single[0], 1);
+		double heapGrowth = (double) doubled[1] / Math.max(single[1], 1);
+		assertThat(version + " generation time growth from " + RESOURCES + " to " + 2 * RESOURCES + " resources ("
+				+ single[0] + "ms, " + doubled[0] + "ms)", timeGrowth, is(lessThan(MAX_GROWTH)));
+		assertThat(version + " retained heap growth from " + RESOURCES + " to " + 2 * RESOURCES + " resources ("
+				+ single[1] + " bytes, " + doubled[1] + " bytes)", heapGrowth, is(lessThan(MAX_GROWTH)));
+	}
+
+	/**
+	 * @return The fastest time in milliseconds and the least heap retained by a run
+	 */
+	private long[] measure(RamlVersion version, int resources) throws Exception {
+		File raml = createGenerator(resources, resources).generate(folder.newFolder(), version);
+		long[] best = { Long.MAX_VALUE, Long.MAX_VALUE };
+		for (int i = 0; i < RUNS; i++) {
+			long[] run = run(raml, version, resources);
+			best[0] = Math.min(best[0], run[0]);
+			best[1] = Math.min(best[1], run[1]);
+		}
+		return best;
+	}
+
+	/**
+	 * Measures a single run. Nothing generated is referenced once it returns, so it is not counted by the next run
+	 *
+	 * @return The time in milliseconds and the heap retained by the generated controllers
+	 */
+	private long[] run(File raml, RamlVersion version, int resources) throws Exception {
+		long usedBefore = usedHeap();
+		long startTime = System.currentTimeMillis();
+
+		RamlRoot ramlRoot = RamlLoader.loadRamlFromFile(raml.toURI().toString());
+		JCodeModel codeModel = new JCodeModel();
+		RamlParser parser = new RamlParser("com.gen.scale", "/api", false, false);
+		if (version == RamlVersion.V08) {
+			parser.setSchemaCodeModelCache(new SchemaCodeModelCache(codeModel,
+					new File(raml.getParentFile(), SyntheticRamlGenerator.SCHEMAS_DIRECTORY).toURI().toString(), null, null));
+		}
+		Set<ApiResourceMetadata> controllers = parser.extractControllers(codeModel, ramlRoot);
+		List<JCodeModel> controllerCodeModels = new ArrayList<>();
+		for (ApiResourceMetadata controller : controllers) {
+			JCodeModel controllerCodeModel = new JCodeModel();
+			new Spring4ControllerStubRule().apply(controller, controllerCodeModel);
+			controllerCodeModels.add(controllerCodeModel);
+		}
+
+		long elapsed = System.currentTimeMillis() - startTime;
+		long retained = usedHeap() - usedBefore;
+		assertThat(controllerCodeModels.size(), is((resources + NESTING_DEPTH - 1) / NESTING_DEPTH));
+		return new long[] { elapsed, retained };
+	}
+
+	private static long usedHeap() {
+		System.gc();
+		System.gc();
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+}
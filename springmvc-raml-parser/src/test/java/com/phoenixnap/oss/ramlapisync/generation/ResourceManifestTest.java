@@ -0,0 +1,65 @@
+package com.phoenixnap.oss.ramlapisync.generation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.File;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.codemodel.JCodeModel;
+
+/**
+ * @since 0.10.15
+ */
+public class ResourceManifestTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void getUpToDateEntry_shouldRequireMatchingFingerprintsAndFiles() throws Exception {
+		File outputDir = folder.newFolder("generated");
+		File controller = new File(outputDir, "com/gen/test/SongController.java");
+		controller.getParentFile().mkdirs();
+		controller.createNewFile();
+
+		ResourceManifest manifest = new ResourceManifest("global");
+		ResourceManifest.Entry entry = manifest.addEntry("/songs", "songs-1");
+		entry.setControllerNames(Collections.singletonList("Song"));
+		entry.addFiles(Collections.singleton("com/gen/test/SongController.java"));
+		File manifestFile = new File(folder.getRoot(), "springmvc-raml/" + ResourceManifest.MANIFEST_FILE_NAME);
+		manifest.save(manifestFile);
+
+		ResourceManifest loaded = ResourceManifest.load(manifestFile);
+		assertThat(loaded, is(notNullValue()));
+		ResourceManifest.Entry loadedEntry = loaded.getUpToDateEntry("global", "/songs", "songs-1", outputDir);
+		assertThat(loadedEntry, is(notNullValue()));
+		assertThat(loadedEntry.getControllerNames(), contains("Song"));
+
+		assertThat(loaded.getUpToDateEntry("changed", "/songs", "songs-1", outputDir), is(nullValue()));
+		assertThat(loaded.getUpToDateEntry("global", "/songs", "songs-2", outputDir), is(nullValue()));
+		assertThat(loaded.getUpToDateEntry("global", "/people", "songs-1", outputDir), is(nullValue()));
+
+		controller.delete();
+		assertThat(loaded.getUpToDateEntry("global", "/songs", "songs-1", outputDir), is(nullValue()));
+	}
+
+	@Test
+	public void getFiles_shouldListDefinedClasses() throws Exception {
+		JCodeModel codeModel = new JCodeModel();
+		codeModel._class("com.gen.test.SongController");
+		codeModel._class("com.gen.test.model.Song");
+		codeModel._class("com.gen.test.model.Hidden").hide();
+
+		assertThat(ResourceManifest.getFiles(codeModel),
+				containsInAnyOrder("com/gen/test/SongController.java", "com/gen/test/model/Song.java"));
+	}
+}
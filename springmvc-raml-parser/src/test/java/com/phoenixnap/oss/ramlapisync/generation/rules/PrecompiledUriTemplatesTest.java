@@ -0,0 +1,159 @@
+package com.phoenixnap.oss.ramlapisync.generation.rules;
+
+import static com.phoenixnap.oss.ramlapisync.generation.rules.Spring4RestTemplateClientRule.PRECOMPILE_URI_TEMPLATES_CONFIGURATION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.phoenixnap.oss.ramlapisync.generation.InMemoryCodeGenerator;
+import com.phoenixnap.oss.ramlapisync.generation.RamlParser;
+
+/**
+ * Compiles a client generated with precompiled URI templates and checks that the URIs it requests match those of the
+ * UriComponentsBuilder used by the default client
+ *
+ * @since 0.10.15
+ */
+public class PrecompiledUriTemplatesTest {
+
+	private static final String BASE_URL = "http://localhost:8080/api";
+
+	private static final String[] VALUES = { "plain", "", "a b", "a/b", "a+b", "a%20b", "ä€日本", "?#[]@!$&'()*,;=",
+			"x=1&y=2", null };
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static Map<String, String> sources;
+
+	private final List<URI> requestedUris = new ArrayList<>();
+
+	@BeforeClass
+	public static void generateClient() throws Exception {
+		Spring4RestTemplateClientRule rule = new Spring4RestTemplateClientRule();
+		rule.applyConfiguration(Collections.singletonMap(PRECOMPILE_URI_TEMPLATES_CONFIGURATION, "true"));
+		sources = new InMemoryCodeGenerator(new RamlParser("com.gen.test", "/api", false, false), rule)
+				.generate(AbstractRuleTestBase.RESOURCE_BASE + "test-single-controller.raml");
+	}
+
+	@Test
+	public void precompiledUris_shouldMatchUriComponentsBuilder_forPathVariables() throws Exception {
+		Object client = compileClient();
+		Method getBaseById = client.getClass().getMethod("getBaseById", String.class);
+		for (String id : VALUES) {
+			getBaseById.invoke(client, id);
+			assertRequested(UriComponentsBuilder.fromHttpUrl(BASE_URL + "/base/{id}").build()
+					.expand(Collections.singletonMap("id", id)).encode().toUri());
+		}
+	}
+
+	@Test
+	public void precompiledUris_shouldMatchUriComponentsBuilder_forQueryParameters() throws Exception {
+		Object client = compileClient();
+		Method getElements = client.getClass().getMethod("getElements", String.class, Long.class, String.class,
+				BigDecimal.class, Long.class, String.class);
+		for (String value : VALUES) {
+			for (Long number : new Long[] { 42L, null }) {
+				BigDecimal decimal = number == null ? new BigDecimal("-1.5") : null;
+				getElements.invoke(client, value, number, value, decimal, null, null);
+
+				UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(BASE_URL + "/base/{id}/elements");
+				if (number != null) {
+					builder.queryParam("requiredQueryParam", number);
+				}
+				if (value != null) {
+					builder.queryParam("optionalQueryParam", value);
+				}
+				if (decimal != null) {
+					builder.queryParam("optionalQueryParam2", decimal);
+				}
+				assertRequested(builder.build().expand(Collections.singletonMap("id", value)).encode().toUri());
+			}
+		}
+	}
+
+	@Test
+	public void precompiledUris_shouldMatchUriComponentsBuilder_forEndpointsWithoutParameters() throws Exception {
+		Object client = compileClient();
+		client.getClass().getMethod("getBase").invoke(client);
+		assertRequested(UriComponentsBuilder.fromHttpUrl(BASE_URL + "/base").build().encode().toUri());
+	}
+
+	private void assertRequested(URI expected) {
+		assertEquals(1, requestedUris.size());
+		assertEquals(expected.toString(), requestedUris.remove(0).toString());
+	}
+
+	/**
+	 * Compiles the generated sources and creates a client which records the URI of each call instead of sending it
+	 */
+	private Object compileClient() throws Exception {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		Assume.assumeNotNull(compiler);
+		File sourceDir = folder.newFolder("src");
+		File classesDir = folder.newFolder("classes");
+		List<String> arguments = new ArrayList<>();
+		arguments.add("-d");
+		arguments.add(classesDir.getPath());
+		arguments.add("-classpath");
+		arguments.add(System.getProperty("java.class.path"));
+		for (Map.Entry<String, String> source : sources.entrySet()) {
+			File sourceFile = new File(sourceDir, source.getKey());
+			sourceFile.getParentFile().mkdirs();
+			Files.write(sourceFile.toPath(), source.getValue().getBytes(StandardCharsets.UTF_8));
+			arguments.add(sourceFile.getPath());
+		}
+		assertEquals("Generated client does not compile", 0,
+				compiler.run(null, null, null, arguments.toArray(new String[arguments.size()])));
+
+		ClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toURI().toURL() }, getClass().getClassLoader());
+		Class<?> clientClass = classLoader.loadClass("com.gen.test.BaseClientImpl");
+		Object client = clientClass.newInstance();
+		setField(client, "restTemplate", new RestTemplate() {
+			@Override
+			public <T> ResponseEntity<T> exchange(URI url, HttpMethod method, HttpEntity<?> requestEntity, Class<T> responseType) {
+				requestedUris.add(url);
+				return null;
+			}
+		});
+		setField(client, "baseUrl", BASE_URL);
+		Method initUrls = clientClass.getDeclaredMethod("initUrls");
+		initUrls.setAccessible(true);
+		initUrls.invoke(client);
+		assertTrue(requestedUris.isEmpty());
+		return client;
+	}
+
+	private void setField(Object target, String name, Object value) throws Exception {
+		Field field = target.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(target, value);
+	}
+}
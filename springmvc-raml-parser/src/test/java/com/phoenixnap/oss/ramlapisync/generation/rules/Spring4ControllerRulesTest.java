@@ -1,8 +1,10 @@
 package com.phoenixnap.oss.ramlapisync.generation.rules;
 
+import static com.phoenixnap.oss.ramlapisync.generation.rules.spring.SpringConfigurableRule.ASYNC_RESPONSE_TYPE_CONFIGURATION;
 import static com.phoenixnap.oss.ramlapisync.generation.rules.spring.SpringConfigurableRule.CALLABLE_RESPONSE_CONFIGURATION;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.junit.Test;
@@ -87,4 +89,70 @@ public class Spring4ControllerRulesTest extends AbstractRuleTestBase {
         verifyGeneratedCode("BaseControllerDecoratorAsync");
     }
 
+    @Test
+    public void applyDeferredResultSpring4ControllerStubRule_shouldCreate_validCode() throws Exception {
+        rule = new Spring4ControllerStubRule();
+        Map<String, String> configuration = new HashMap<>();
+        configuration.put(ASYNC_RESPONSE_TYPE_CONFIGURATION,"deferredResult");
+        rule.applyConfiguration(configuration);
+        rule.apply(getControllerMetadata(), jCodeModel);
+        verifyGeneratedCode("BaseControllerStubDeferredResult");
+    }
+
+    @Test
+    public void applyCompletableFutureSpring4ControllerDecoratorRule_shouldCreate_validCode() throws Exception {
+        rule = new Spring4ControllerDecoratorRule();
+        Map<String, String> configuration = new HashMap<>();
+        configuration.put(ASYNC_RESPONSE_TYPE_CONFIGURATION,"completableFuture");
+        rule.applyConfiguration(configuration);
+        rule.apply(getControllerMetadata(), jCodeModel);
+        verifyGeneratedCode("BaseControllerDecoratorCompletableFuture");
+    }
+
+    @Test
+    public void applyMonoSpring4ControllerInterfaceRule_shouldCreate_validCode() throws Exception {
+        rule = new Spring4ControllerInterfaceRule();
+        Map<String, String> configuration = new HashMap<>();
+        configuration.put(ASYNC_RESPONSE_TYPE_CONFIGURATION,"mono");
+        rule.applyConfiguration(configuration);
+        rule.apply(getControllerMetadata(), jCodeModel);
+        verifyGeneratedCode("BaseControllerInterfaceMono");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void applyConfiguration_shouldFail_forUnknownAsyncResponseType() throws Exception {
+        rule = new Spring4ControllerStubRule();
+        Map<String, String> configuration = new HashMap<>();
+        configuration.put(ASYNC_RESPONSE_TYPE_CONFIGURATION,"future");
+        rule.applyConfiguration(configuration);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void applyConfiguration_shouldFail_forCallableResponseConflictingWithAsyncResponseType() throws Exception {
+        rule = new Spring4ControllerStubRule();
+        Map<String, String> configuration = new LinkedHashMap<>();
+        configuration.put(CALLABLE_RESPONSE_CONFIGURATION,"true");
+        configuration.put(ASYNC_RESPONSE_TYPE_CONFIGURATION,"deferredResult");
+        rule.applyConfiguration(configuration);
+    }
+
+    @Test
+    public void applySpring4ControllerStubRule_shouldRebuildPipeline_whenReconfigured() throws Exception {
+        rule = new Spring4ControllerStubRule();
+        rule.apply(getControllerMetadata(), new JCodeModel());
+        Map<String, String> configuration = new HashMap<>();
+        configuration.put(CALLABLE_RESPONSE_CONFIGURATION,"true");
+        rule.applyConfiguration(configuration);
+        rule.apply(getControllerMetadata(), jCodeModel);
+        verifyGeneratedCode("BaseControllerStubAsync");
+    }
+
+    @Test
+    public void applySpring4ControllerDecoratorRule_shouldCreate_sameCode_whenReused() throws Exception {
+        rule = new Spring4ControllerDecoratorRule();
+        rule.apply(getControllerMetadata(), new JCodeModel());
+        rule.apply(getControllerMetadata(), jCodeModel);
+        verifyGeneratedCode("BaseControllerDecorator");
+    }
+
 }
@@ -1,5 +1,13 @@
 package com.phoenixnap.oss.ramlapisync.generation.rules;
 
+import static com.phoenixnap.oss.ramlapisync.generation.rules.Spring4RestTemplateClientRule.ASYNC_CLIENT_CONFIGURATION;
+import static com.phoenixnap.oss.ramlapisync.generation.rules.Spring4RestTemplateClientRule.PRECOMPILE_URI_TEMPLATES_CONFIGURATION;
+import static com.phoenixnap.oss.ramlapisync.generation.rules.Spring4RestTemplateClientRule.PRECOMPUTE_CONSTANTS_CONFIGURATION;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.junit.Test;
 
 import com.phoenixnap.oss.ramlapisync.data.ApiResourceMetadata;
@@ -20,5 +28,32 @@ public class Spring4RestTemplateClientRulesTest extends AbstractRuleTestBase {
         rule.apply(getControllerMetadata(), jCodeModel);
         verifyGeneratedCode("Spring4BaseClient");
     }
+
+    @Test
+    public void applySpring4SpringTemplateClient_shouldCreate_precomputedConstants() throws Exception {
+        Spring4RestTemplateClientRule clientRule = new Spring4RestTemplateClientRule();
+        clientRule.applyConfiguration(Collections.singletonMap(PRECOMPUTE_CONSTANTS_CONFIGURATION, "true"));
+        clientRule.apply(getControllerMetadata(), jCodeModel);
+        verifyGeneratedCode("Spring4BaseClientPrecomputedConstants");
+    }
+
+    @Test
+    public void applySpring4SpringTemplateClient_shouldCreate_precompiledUriTemplates() throws Exception {
+        Spring4RestTemplateClientRule clientRule = new Spring4RestTemplateClientRule();
+        Map<String, String> configuration = new HashMap<>();
+        configuration.put(PRECOMPUTE_CONSTANTS_CONFIGURATION, "true");
+        configuration.put(PRECOMPILE_URI_TEMPLATES_CONFIGURATION, "true");
+        clientRule.applyConfiguration(configuration);
+        clientRule.apply(getControllerMetadata(), jCodeModel);
+        verifyGeneratedCode("Spring4BaseClientPrecompiledUriTemplates");
+    }
+
+    @Test
+    public void applySpring4SpringTemplateClient_shouldCreate_asyncClient() throws Exception {
+        Spring4RestTemplateClientRule clientRule = new Spring4RestTemplateClientRule();
+        clientRule.applyConfiguration(Collections.singletonMap(ASYNC_CLIENT_CONFIGURATION, "true"));
+        clientRule.apply(getControllerMetadata(), jCodeModel);
+        verifyGeneratedCode("Spring4BaseAsyncClient");
+    }
     
 }
@@ -0,0 +1,29 @@
+package com.phoenixnap.oss.ramlapisync.generation.rules;
+
+import org.junit.Test;
+
+import com.phoenixnap.oss.ramlapisync.data.ApiResourceMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.RamlParser;
+
+/**
+ * @since 0.10.15
+ */
+public class Spring5WebClientRulesTest extends AbstractRuleTestBase {
+
+    @Test
+    public void applySpring5WebClient_shouldCreate_validCode() throws Exception {
+        Spring5WebClientRule rule = new Spring5WebClientRule();
+        rule.apply(getControllerMetadata(), jCodeModel);
+        verifyGeneratedCode("Spring5BaseWebClient");
+    }
+
+    @Test
+    public void applySpring5WebClient_shouldCreate_requestBodiesAndFluxResponses() throws Exception {
+        RamlParser parser = new RamlParser("com.gen.test", "/api", false, true);
+        ApiResourceMetadata controllerMetadata = parser.extractControllers(jCodeModel,
+                RamlLoader.loadRamlFromFile(RESOURCE_BASE + "web-client.raml")).iterator().next();
+        Spring5WebClientRule rule = new Spring5WebClientRule();
+        rule.apply(controllerMetadata, jCodeModel);
+        verifyGeneratedCode("Spring5OrderWebClient", removeSerialVersionUID(serializeModel()));
+    }
+}
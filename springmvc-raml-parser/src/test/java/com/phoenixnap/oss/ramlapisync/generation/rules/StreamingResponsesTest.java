@@ -0,0 +1,77 @@
+package com.phoenixnap.oss.ramlapisync.generation.rules;
+
+import static com.phoenixnap.oss.ramlapisync.generation.rules.Spring4RestTemplateClientRule.STREAM_ARRAY_RESPONSES_CONFIGURATION;
+import static com.phoenixnap.oss.ramlapisync.generation.rules.spring.SpringConfigurableRule.ASYNC_RESPONSE_TYPE_CONFIGURATION;
+import static com.phoenixnap.oss.ramlapisync.generation.rules.spring.SpringConfigurableRule.STREAMING_RESPONSES_CONFIGURATION;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.phoenixnap.oss.ramlapisync.data.ApiResourceMetadata;
+import com.phoenixnap.oss.ramlapisync.raml.InvalidRamlResourceException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+
+/**
+ * @since 0.10.15
+ */
+public class StreamingResponsesTest extends AbstractRuleTestBase {
+
+	private ConfigurableRule<JCodeModel, JDefinedClass, ApiResourceMetadata> rule;
+
+	@BeforeClass
+	public static void initRaml() throws InvalidRamlResourceException {
+		AbstractRuleTestBase.RAML = RamlLoader.loadRamlFromFile(AbstractRuleTestBase.RESOURCE_BASE + "streaming-responses.raml");
+	}
+
+	@Test
+	public void applySpring4ControllerInterfaceRule_shouldCreate_streamingResponses() throws Exception {
+		rule = new Spring4ControllerInterfaceRule();
+		rule.applyConfiguration(getStreamingConfiguration());
+		rule.apply(getControllerMetadata(), jCodeModel);
+		verifyGeneratedCode("Spring4ControllerInterfaceStreamingResponses", removeSerialVersionUID(serializeModel()));
+	}
+
+	@Test
+	public void applySpring4ControllerInterfaceRuleWithObjectReturnType_shouldCreate_streamingResponses() throws Exception {
+		rule = new Spring4ControllerInterfaceRule();
+		((Spring4ControllerInterfaceRule) rule).setSimpleReturnTypes(true);
+		rule.applyConfiguration(getStreamingConfiguration());
+		rule.apply(getControllerMetadata(), jCodeModel);
+		verifyGeneratedCode("Spring4ControllerInterfaceStreamingObjectResponses", removeSerialVersionUID(serializeModel()));
+	}
+
+	@Test
+	public void applySpring4ControllerStubRule_shouldCreate_streamingResponses() throws Exception {
+		rule = new Spring4ControllerStubRule();
+		rule.applyConfiguration(getStreamingConfiguration());
+		rule.apply(getControllerMetadata(), jCodeModel);
+		verifyGeneratedCode("Spring4ControllerStubStreamingResponses", removeSerialVersionUID(serializeModel()));
+	}
+
+	@Test
+	public void applySpring4RestTemplateClientRule_shouldCreate_streamedArrayResponses() throws Exception {
+		Spring4RestTemplateClientRule clientRule = new Spring4RestTemplateClientRule();
+		clientRule.applyConfiguration(Collections.singletonMap(STREAM_ARRAY_RESPONSES_CONFIGURATION, "true"));
+		clientRule.apply(getControllerMetadata(), jCodeModel);
+		verifyGeneratedCode("Spring4ClientStreamedArrayResponses", removeSerialVersionUID(serializeModel()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void applyConfiguration_shouldFail_forStreamingMonoResponses() throws Exception {
+		rule = new Spring4ControllerInterfaceRule();
+		Map<String, String> configuration = getStreamingConfiguration();
+		configuration.put(ASYNC_RESPONSE_TYPE_CONFIGURATION, "mono");
+		rule.applyConfiguration(configuration);
+	}
+
+	private Map<String, String> getStreamingConfiguration() {
+		Map<String, String> configuration = new HashMap<>();
+		configuration.put(STREAMING_RESPONSES_CONFIGURATION, "true");
+		return configuration;
+	}
+}
@@ -2,6 +2,7 @@ package com.phoenixnap.oss.ramlapisync.generation.rules.pojogen;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
@@ -20,7 +21,11 @@ import org.junit.Test;
 import com.google.common.base.Charsets;
 import com.google.common.io.Resources;
 import com.phoenixnap.oss.ramlapisync.data.ApiBodyMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.CodeModelHelper;
+import com.phoenixnap.oss.ramlapisync.naming.SchemaCodeModelCache;
 import com.phoenixnap.oss.ramlapisync.naming.SchemaHelper;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.writer.SingleStreamCodeWriter;
 
 /**
@@ -191,6 +196,61 @@ public class JsonSchema2PojoTest {
         assertThat(mapSchemaToPojo.isArray(), is(true));
         assertThat(mapSchemaToPojo.getName(), is("Address"));
     }
+
+	@Test
+    public void schemaHelper_ReusesCodeModel_forSameSchema() throws Exception {
+		URL url = Resources.getResource(path + "B.json");
+		String text = Resources.toString(url, Charsets.UTF_8);
+		SchemaCodeModelCache cache = new SchemaCodeModelCache();
+        ApiBodyMetadata request = SchemaHelper.mapSchemaToPojo(null, text, "com.test", "Fallback", null, cache);
+        ApiBodyMetadata response = SchemaHelper.mapSchemaToPojo(null, text, "com.test", "Fallback", null, cache);
+        ApiBodyMetadata otherPackage = SchemaHelper.mapSchemaToPojo(null, text, "com.other", "Fallback", null, cache);
+
+        assertThat(response.getCodeModel(), is(sameInstance(request.getCodeModel())));
+        assertThat(response.getName(), is(request.getName()));
+        assertThat(otherPackage.getCodeModel() == request.getCodeModel(), is(false));
+        assertThat(cache.getGeneratedCount(), is(2));
+        assertThat(cache.getReusedCount(), is(1));
+    }
+
+	@Test
+    public void schemaHelper_GeneratesReferencedSchemas_inEachCodeModel() throws Exception {
+		String schema = "{ \"type\": \"object\", \"properties\": { \"item\": { \"$ref\": \"pojogen/B.json\" } } }";
+		SchemaCodeModelCache cache = new SchemaCodeModelCache();
+        ApiBodyMetadata holder = SchemaHelper.mapSchemaToPojo(null, schema, "com.test", "Holder", null, cache);
+        ApiBodyMetadata other = SchemaHelper.mapSchemaToPojo(null, schema, "com.test", "Other", null, cache);
+
+        assertThat(holder.getCodeModel() == other.getCodeModel(), is(false));
+        assertThat(holder.getCodeModel().countArtifacts(), is(2));
+        assertThat(other.getCodeModel().countArtifacts(), is(2));
+        JDefinedClass otherClass = (JDefinedClass) CodeModelHelper.findFirstClassBySimpleName(other.getCodeModel(), "Other");
+        assertThat(otherClass.fields().get("item").type(), is(sameInstance(CodeModelHelper.findFirstClassBySimpleName(other.getCodeModel(), "Item"))));
+    }
+
+    @Test
+    public void schemaHelper_GeneratesSharedSchemasOnce_inUnifiedCodeModel() throws Exception {
+		String schema = "{ \"type\": \"object\", \"properties\": { \"item\": { \"$ref\": \"pojogen/B.json\" } } }";
+		JCodeModel codeModel = new JCodeModel();
+		SchemaCodeModelCache cache = new SchemaCodeModelCache(codeModel, "classpath:/", null, null);
+        ApiBodyMetadata holder = SchemaHelper.mapSchemaToPojo(null, schema, "com.test", "Holder", null, cache);
+        ApiBodyMetadata other = SchemaHelper.mapSchemaToPojo(null, schema, "com.test", "Other", null, cache);
+
+        assertThat(holder.getCodeModel(), is(sameInstance(codeModel)));
+        assertThat(other.getCodeModel(), is(sameInstance(codeModel)));
+        assertThat(holder.getName(), is("Holder"));
+        assertThat(other.getName(), is("Other"));
+        assertThat(codeModel.countArtifacts(), is(3));
+        JDefinedClass otherClass = (JDefinedClass) CodeModelHelper.findFirstClassBySimpleName(codeModel, "Other");
+        assertThat(otherClass.fields().get("item").type(), is(sameInstance(CodeModelHelper.findFirstClassBySimpleName(codeModel, "Item"))));
+        assertThat(cache.getLoadedDocumentCount(), is(1));
+
+        // A schema which only refers to a shared schema is named after the shared class
+        String collection = Resources.toString(Resources.getResource(path + "A.json"), Charsets.UTF_8);
+        ApiBodyMetadata items = SchemaHelper.mapSchemaToPojo(null, collection, "com.test", "Fallback", null, cache);
+        assertThat(items.getName(), is("Item"));
+        assertThat(items.isArray(), is(true));
+        assertThat(codeModel.countArtifacts(), is(3));
+    }
     
 
 }
@@ -0,0 +1,64 @@
+package com.phoenixnap.oss.ramlapisync.pojo;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
+
+import com.phoenixnap.oss.ramlapisync.raml.InvalidRamlResourceException;
+import com.phoenixnap.oss.ramlapisync.raml.RamlRoot;
+import com.phoenixnap.oss.ramlapisync.raml.rjp.raml10v2.RJP10V2RamlModelFactory;
+
+/**
+ * @since 0.10.15
+ */
+public class RamlInterpreterFactoryTest {
+
+	private static RamlRoot ramlRoot;
+
+	@BeforeClass
+	public static void initRamlRoot() throws InvalidRamlResourceException {
+		ramlRoot = new RJP10V2RamlModelFactory().buildRamlRoot("raml/raml-root-test-v10.raml");
+	}
+
+	@Test
+	public void getInterpreterForType_shouldDispatchOnProxyClass() {
+		TypeDeclaration person = ramlRoot.getTypes().get("Person").getType();
+		TypeDeclaration persons = ramlRoot.getTypes().get("Persons").getType();
+
+		assertThat(RamlInterpreterFactory.getInterpreterForType(person), instanceOf(ObjectTypeInterpreter.class));
+		assertThat(RamlInterpreterFactory.getInterpreterForType(persons), instanceOf(ArrayTypeInterpreter.class));
+		assertThat(RamlInterpreterFactory.getInterpreterForType(person),
+				sameInstance(RamlInterpreterFactory.getInterpreterForType(ramlRoot.getTypes().get("Manager").getType())));
+	}
+
+	@Test
+	public void getInterpreterForType_shouldBeSafeFromMultipleThreads() throws Exception {
+		TypeDeclaration person = ramlRoot.getTypes().get("Person").getType();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Callable<RamlTypeInterpreter>> lookups = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				lookups.add(() -> RamlInterpreterFactory.getInterpreterForType(person));
+			}
+			List<RamlTypeInterpreter> interpreters = new ArrayList<>();
+			for (Future<RamlTypeInterpreter> future : executor.invokeAll(lookups)) {
+				interpreters.add(future.get());
+			}
+			assertThat(interpreters, everyItem(instanceOf(ObjectTypeInterpreter.class)));
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package com.phoenixnap.oss.ramlapisync.raml;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.phoenixnap.oss.ramlapisync.generation.rules.RamlLoader;
+import com.phoenixnap.oss.ramlapisync.raml.rjp.raml08v1.RJP08V1RamlRoot;
+
+/**
+ * @since 0.10.15
+ */
+public class RamlModelCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File ramlFile;
+
+	private File schemaFile;
+
+	private File cacheDirectory;
+
+	private RamlModelCache cache;
+
+	@Before
+	public void setupRaml() throws IOException {
+		File specFolder = folder.newFolder("spec");
+		schemaFile = new File(specFolder, "person.json");
+		write(schemaFile, "{ \"type\": \"object\", \"properties\": { \"name\": { \"type\": \"string\" } } }");
+		ramlFile = new File(specFolder, "api.raml");
+		write(ramlFile, "#%RAML 0.8\n" +
+				"title: cached\n" +
+				"schemas:\n" +
+				"  - person: !include person.json\n" +
+				"/people:\n" +
+				"  get:\n" +
+				"    responses:\n" +
+				"      200:\n" +
+				"        body:\n" +
+				"          application/json:\n" +
+				"            schema: person\n");
+		cacheDirectory = folder.newFolder("cache");
+		cache = new RamlModelCache(cacheDirectory);
+	}
+
+	@Test
+	public void contentHash_shouldChangeWhenIncludedFileChanges() throws IOException {
+		String hash = cache.computeContentHash(ramlFile.toURI().toString());
+		assertThat(hash, is(notNullValue()));
+		assertThat(cache.computeContentHash(ramlFile.toURI().toString()), equalTo(hash));
+
+		write(schemaFile, "{ \"type\": \"object\" }");
+		assertThat(cache.computeContentHash(ramlFile.toURI().toString()), not(equalTo(hash)));
+	}
+
+	@Test
+	public void loadRamlFromFile_shouldRestoreRaml08ModelFromCache() throws Exception {
+		String ramlFileUrl = ramlFile.toURI().toString();
+		String hash = cache.computeContentHash(ramlFileUrl);
+		assertThat(cache.get(hash, ramlFileUrl), is(nullValue()));
+
+		RamlRoot loaded = RamlLoader.loadRamlFromFile(ramlFileUrl, cache);
+		RamlRoot cached = cache.get(hash, ramlFileUrl);
+
+		assertThat(cached, instanceOf(RJP08V1RamlRoot.class));
+		assertThat(cached.getResources().keySet(), equalTo(loaded.getResources().keySet()));
+		assertThat(cached.getSchemas().toString(), equalTo(loaded.getSchemas().toString()));
+	}
+
+	@Test
+	public void put_shouldEvictLeastRecentlyUsedEntries() throws Exception {
+		String ramlFileUrl = ramlFile.toURI().toString();
+		RamlRoot ramlRoot = RamlLoader.loadRamlFromFile(ramlFileUrl);
+		int entries = RamlModelCache.MAX_PERSISTED_ENTRIES;
+		for (int i = 0; i < entries; i++) {
+			cache.put("entry" + i, null, ramlRoot);
+			new File(cacheDirectory, "entry" + i + ".raml08.ser").setLastModified(i * 1000L);
+		}
+		assertThat(cacheDirectory.list().length, is(entries));
+
+		// Reading an entry marks it as recently used
+		assertThat(cache.get("entry0", ramlFileUrl), is(notNullValue()));
+		cache.put("entry" + entries, null, ramlRoot);
+
+		assertThat(cacheDirectory.list().length, is(entries));
+		assertThat(cache.get("entry0", ramlFileUrl), is(notNullValue()));
+		assertThat(cache.get("entry1", ramlFileUrl), is(nullValue()));
+		assertThat(cache.get("entry" + entries, ramlFileUrl), is(notNullValue()));
+	}
+
+	private void write(File file, String content) throws IOException {
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,88 @@
+package com.phoenixnap.oss.ramlapisync.raml;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @since 0.10.15
+ */
+public class RamlSpecFingerprintTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File ramlFile;
+
+	private File schemaFile;
+
+	@Before
+	public void setupRaml() throws IOException {
+		schemaFile = folder.newFile("person.json");
+		write(schemaFile, "{ \"type\": \"object\" }");
+		ramlFile = folder.newFile("api.raml");
+		write(ramlFile, raml("songs", "200"));
+	}
+
+	@Test
+	public void compute_shouldOnlyChangeHashOfModifiedResource() throws IOException {
+		RamlSpecFingerprint original = RamlSpecFingerprint.compute(ramlFile.toURI().toString());
+		assertThat(original, is(notNullValue()));
+		assertThat(original.getResourceHash("/songs"), is(notNullValue()));
+		assertThat(original.getResourceHash("/people"), is(notNullValue()));
+		assertThat(original.getResourceHash("/missing"), is(nullValue()));
+
+		write(ramlFile, raml("songs", "201"));
+		RamlSpecFingerprint modified = RamlSpecFingerprint.compute(ramlFile.toURI().toString());
+		assertThat(modified.getGlobalHash(), equalTo(original.getGlobalHash()));
+		assertThat(modified.getResourceHash("/people"), equalTo(original.getResourceHash("/people")));
+		assertThat(modified.getResourceHash("/songs"), not(equalTo(original.getResourceHash("/songs"))));
+	}
+
+	@Test
+	public void compute_shouldChangeGlobalHashWhenIncludeOrTitleChanges() throws IOException {
+		RamlSpecFingerprint original = RamlSpecFingerprint.compute(ramlFile.toURI().toString());
+
+		write(schemaFile, "{ \"type\": \"string\" }");
+		RamlSpecFingerprint includeChanged = RamlSpecFingerprint.compute(ramlFile.toURI().toString());
+		assertThat(includeChanged.getGlobalHash(), not(equalTo(original.getGlobalHash())));
+		assertThat(includeChanged.getResourceHash("/songs"), equalTo(original.getResourceHash("/songs")));
+
+		write(ramlFile, raml("tracks", "200"));
+		RamlSpecFingerprint titleChanged = RamlSpecFingerprint.compute(ramlFile.toURI().toString());
+		assertThat(titleChanged.getGlobalHash(), not(equalTo(includeChanged.getGlobalHash())));
+	}
+
+	private String raml(String title, String status) {
+		return "#%RAML 0.8\n" +
+				"title: " + title + "\n" +
+				"schemas:\n" +
+				"  - person: !include person.json\n" +
+				"/songs:\n" +
+				"  get:\n" +
+				"    responses:\n" +
+				"      " + status + ":\n" +
+				"        body:\n" +
+				"          application/json:\n" +
+				"            schema: person\n" +
+				"/people:\n" +
+				"  get:\n";
+	}
+
+	private void write(File file, String content) throws IOException {
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,404 @@
+package com.phoenixnap.oss.ramlapisync.raml;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates large RAML documents for scale tests and benchmarks. The same seed and settings always produce the same
+ * documents.
+ *
+ * Each top level resource is the root of a chain of collection and item resources, nested up to the configured depth,
+ * until the requested amount of resources is reached. Resources use a type hierarchy in which types extend and refer
+ * to previously declared types. Each top level resource is stored in its own file and included in the main document.
+ *
+ * RAML 1.0 documents spread their types over libraries, where each library uses the previous ones, and declare union
+ * types in the main document. RAML 0.8 documents have no unions or libraries. Their JSON schemas are stored in the
+ * {@link #SCHEMAS_DIRECTORY} and refer to each other by file name, so that directory should be used as the schema
+ * location when mapping them. Since array and extended schemas can only be resolved from the class path, RAML 0.8
+ * collections return a page object holding the array and schemas repeat the properties of the types they extend.
+ *
+ * @since 0.10.15
+ */
+public class SyntheticRamlGenerator {
+
+	/**
+	 * Directory within the output directory containing the JSON schemas of RAML 0.8 documents
+	 */
+	public static final String SCHEMAS_DIRECTORY = "schemas";
+
+	private static final String[] TYPE_NAMES = { "Account", "Order", "Invoice", "Customer", "Product", "Shipment",
+			"Payment", "Address", "Contract", "Device", "Ticket", "Review" };
+
+	private static final String[] PROPERTY_NAMES = { "name", "code", "status", "amount", "created", "reference",
+			"quantity", "active", "description", "rating" };
+
+	private static final String[][] PROPERTY_TYPES = { { "string", "string" }, { "integer", "integer" },
+			{ "number", "number" }, { "boolean", "boolean" }, { "datetime", "string" } };
+
+	private final long seed;
+
+	private int resourceCount = 100;
+
+	private int nestingDepth = 4;
+
+	private int typeCount = 50;
+
+	private int hierarchyDepth = 3;
+
+	private int unionCount = 5;
+
+	private int libraryCount = 4;
+
+	/**
+	 * @param seed The seed of the random choices made while generating
+	 */
+	public SyntheticRamlGenerator(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * @param resourceCount The total amount of resources, including nested ones
+	 * @return This generator
+	 */
+	public SyntheticRamlGenerator withResources(int resourceCount) {
+		this.resourceCount = resourceCount;
+		return this;
+	}
+
+	/**
+	 * @param nestingDepth The depth of the resources nested within each top level resource
+	 * @return This generator
+	 */
+	public SyntheticRamlGenerator withNestingDepth(int nestingDepth) {
+		this.nestingDepth = Math.max(1, nestingDepth);
+		return this;
+	}
+
+	/**
+	 * @param typeCount The amount of object types (or schemas)
+	 * @return This generator
+	 */
+	public SyntheticRamlGenerator withTypes(int typeCount) {
+		this.typeCount = Math.max(1, typeCount);
+		return this;
+	}
+
+	/**
+	 * @param hierarchyDepth The maximum amount of types in an inheritance chain
+	 * @return This generator
+	 */
+	public SyntheticRamlGenerator withHierarchyDepth(int hierarchyDepth) {
+		this.hierarchyDepth = Math.max(1, hierarchyDepth);
+		return this;
+	}
+
+	/**
+	 * @param unionCount The amount of union types, used by RAML 1.0 documents only
+	 * @return This generator
+	 */
+	public SyntheticRamlGenerator withUnions(int unionCount) {
+		this.unionCount = unionCount;
+		return this;
+	}
+
+	/**
+	 * @param libraryCount The amount of libraries declaring the types, used by RAML 1.0 documents only. If 0 the types
+	 *            are declared in the main document
+	 * @return This generator
+	 */
+	public SyntheticRamlGenerator withLibraries(int libraryCount) {
+		this.libraryCount = libraryCount;
+		return this;
+	}
+
+	/**
+	 * Writes the documents
+	 *
+	 * @param directory The directory to write the main document and the files it includes to
+	 * @param version The RAML version of the documents
+	 * @return The main document
+	 * @throws IOException If the documents cannot be written
+	 */
+	public File generate(File directory, RamlVersion version) throws IOException {
+		Map<String, String> documents = generate(version);
+		for (Map.Entry<String, String> document : documents.entrySet()) {
+			File file = new File(directory, document.getKey());
+			file.getParentFile().mkdirs();
+			Files.write(file.toPath(), document.getValue().getBytes(StandardCharsets.UTF_8));
+		}
+		return new File(directory, documents.keySet().iterator().next());
+	}
+
+	/**
+	 * Generates the documents in memory
+	 *
+	 * @param version The RAML version of the documents
+	 * @return The content of each document keyed by its path relative to the main document, which comes first
+	 */
+	public Map<String, String> generate(RamlVersion version) {
+		Random random = new Random(seed);
+		List<SyntheticType> types = createTypes(random);
+		Map<String, String> documents = new LinkedHashMap<>();
+		documents.put("api.raml", "");
+
+		StringBuilder api = new StringBuilder();
+		boolean v10 = version == RamlVersion.V10;
+		api.append(v10 ? "#%RAML 1.0\n" : "#%RAML 0.8\n");
+		api.append("title: Synthetic API ").append(seed).append("\n");
+		api.append("version: v1\n");
+		api.append("baseUri: http://localhost/api\n");
+		api.append("mediaType: application/json\n");
+
+		List<String> unions = new ArrayList<>();
+		if (v10) {
+			appendTypes(api, documents, types, random, unions);
+		} else {
+			appendSchemas(api, documents, types);
+		}
+
+		int resources = 0;
+		for (int group = 0; resources < resourceCount; group++) {
+			int depth = Math.min(nestingDepth, resourceCount - resources);
+			String name = lowerCamel(types.get(group % types.size()).name) + "s" + group;
+			StringBuilder resource = new StringBuilder();
+			appendResource(resource, "", name, depth, types, unions, random, v10);
+			String file = "resources/" + name + ".yaml";
+			documents.put(file, resource.toString());
+			api.append("/").append(name).append(": !include ").append(file).append("\n");
+			resources += depth;
+		}
+		documents.put("api.raml", api.toString());
+		return documents;
+	}
+
+	private List<SyntheticType> createTypes(Random random) {
+		List<SyntheticType> types = new ArrayList<>();
+		for (int i = 0; i < typeCount; i++) {
+			SyntheticType type = new SyntheticType(TYPE_NAMES[i % TYPE_NAMES.length] + i);
+			type.library = libraryCount > 0 ? i * libraryCount / typeCount : -1;
+			if (i > 0 && random.nextBoolean()) {
+				SyntheticType parent = types.get(random.nextInt(i));
+				if (parent.depth + 1 < hierarchyDepth) {
+					type.parent = parent;
+					type.depth = parent.depth + 1;
+				}
+			}
+			int propertyCount = 2 + random.nextInt(5);
+			for (int p = 0; p < propertyCount; p++) {
+				String propertyName = PROPERTY_NAMES[random.nextInt(PROPERTY_NAMES.length)] + i + "_" + p;
+				if (i > 0 && random.nextInt(4) == 0) {
+					// Only refer to previously declared types, so that the types do not form cycles
+					SyntheticType reference = types.get(random.nextInt(i));
+					type.properties.put(propertyName, new SyntheticProperty(reference, random.nextBoolean()));
+				} else {
+					type.properties.put(propertyName, new SyntheticProperty(PROPERTY_TYPES[random.nextInt(PROPERTY_TYPES.length)]));
+				}
+			}
+			types.add(type);
+		}
+		return types;
+	}
+
+	private void appendTypes(StringBuilder api, Map<String, String> documents, List<SyntheticType> types, Random random,
+			List<String> unions) {
+		if (libraryCount > 0) {
+			api.append("uses:\n");
+			for (int library = 0; library < libraryCount; library++) {
+				api.append("  lib").append(library).append(": libraries/lib").append(library).append(".raml\n");
+				StringBuilder content = new StringBuilder("#%RAML 1.0 Library\n");
+				if (library > 0) {
+					content.append("uses:\n");
+					for (int used = 0; used < library; used++) {
+						content.append("  lib").append(used).append(": lib").append(used).append(".raml\n");
+					}
+				}
+				content.append("types:\n");
+				for (SyntheticType type : types) {
+					if (type.library == library) {
+						appendType(content, type, library);
+					}
+				}
+				documents.put("libraries/lib" + library + ".raml", content.toString());
+			}
+		}
+		api.append("types:\n");
+		if (libraryCount <= 0) {
+			for (SyntheticType type : types) {
+				appendType(api, type, -1);
+			}
+		}
+		for (int i = 0; i < unionCount && types.size() > 1; i++) {
+			SyntheticType first = types.get(random.nextInt(types.size()));
+			SyntheticType second = types.get(random.nextInt(types.size()));
+			if (first == second) {
+				continue;
+			}
+			String union = "Union" + i;
+			api.append("  ").append(union).append(":\n");
+			api.append("    type: ").append(typeReference(first, -1)).append(" | ").append(typeReference(second, -1)).append("\n");
+			unions.add(union);
+		}
+	}
+
+	private void appendType(StringBuilder content, SyntheticType type, int library) {
+		content.append("  ").append(type.name).append(":\n");
+		content.append("    type: ").append(type.parent == null ? "object" : typeReference(type.parent, library)).append("\n");
+		content.append("    properties:\n");
+		for (Map.Entry<String, SyntheticProperty> property : type.properties.entrySet()) {
+			SyntheticProperty value = property.getValue();
+			content.append("      ").append(property.getKey()).append(": ");
+			if (value.reference == null) {
+				content.append(value.ramlType);
+			} else {
+				content.append(typeReference(value.reference, library)).append(value.array ? "[]" : "");
+			}
+			content.append("\n");
+		}
+	}
+
+	private void appendSchemas(StringBuilder api, Map<String, String> documents, List<SyntheticType> types) {
+		api.append("schemas:\n");
+		for (SyntheticType type : types) {
+			StringBuilder schema = new StringBuilder();
+			schema.append("{\n");
+			schema.append("  \"$schema\": \"http://json-schema.org/draft-04/schema\",\n");
+			schema.append("  \"type\": \"object\",\n");
+			schema.append("  \"properties\": {\n");
+			// jsonschema2pojo can only resolve extended schemas relative to the class path, so ancestors are flattened
+			Map<String, SyntheticProperty> properties = new LinkedHashMap<>();
+			for (SyntheticType ancestor = type; ancestor != null; ancestor = ancestor.parent) {
+				properties.putAll(ancestor.properties);
+			}
+			int index = 0;
+			for (Map.Entry<String, SyntheticProperty> property : properties.entrySet()) {
+				SyntheticProperty value = property.getValue();
+				schema.append("    \"").append(property.getKey()).append("\": ");
+				if (value.reference == null) {
+					schema.append("{ \"type\": \"").append(value.schemaType).append("\"");
+					if ("datetime".equals(value.ramlType)) {
+						schema.append(", \"format\": \"date-time\"");
+					}
+					schema.append(" }");
+				} else if (value.array) {
+					schema.append("{ \"type\": \"array\", \"items\": { \"$ref\": \"").append(value.reference.name).append(".json\" } }");
+				} else {
+					schema.append("{ \"$ref\": \"").append(value.reference.name).append(".json\" }");
+				}
+				schema.append(++index < properties.size() ? ",\n" : "\n");
+			}
+			schema.append("  }\n");
+			schema.append("}\n");
+			String file = SCHEMAS_DIRECTORY + "/" + type.name + ".json";
+			documents.put(file, schema.toString());
+			api.append("  - ").append(type.name).append(": !include ").append(file).append("\n");
+			api.append("  - ").append(type.name).append("Page: |\n");
+			api.append("      { \"$schema\": \"http://json-schema.org/draft-04/schema\", \"type\": \"object\", \"properties\": {")
+					.append(" \"total\": { \"type\": \"integer\" }, \"items\": { \"type\": \"array\", \"items\": { \"$ref\": \"")
+					.append(type.name).append(".json\" } } } }\n");
+		}
+	}
+
+	private void appendResource(StringBuilder content, String indent, String name, int depth, List<SyntheticType> types,
+			List<String> unions, Random random, boolean v10) {
+		SyntheticType type = types.get(random.nextInt(types.size()));
+		String typeName = typeReference(type, -1);
+		content.append(indent).append("description: ").append(name).append(" of ").append(type.name).append("\n");
+		content.append(indent).append("get:\n");
+		content.append(indent).append("  queryParameters:\n");
+		content.append(indent).append("    page:\n");
+		content.append(indent).append("      type: integer\n");
+		content.append(indent).append("      required: false\n");
+		appendResponse(content, indent + "  ", v10 ? typeName + "[]" : type.name + "Page", v10);
+		content.append(indent).append("post:\n");
+		appendBody(content, indent + "  ", v10 ? typeName : type.name, v10);
+		if (depth == 1) {
+			return;
+		}
+
+		String itemIndent = indent + "  ";
+		content.append(indent).append("/{").append(name).append("Id}:\n");
+		content.append(itemIndent).append("get:\n");
+		String itemType = v10 ? typeName : type.name;
+		if (v10 && !unions.isEmpty() && random.nextInt(4) == 0) {
+			itemType = unions.get(random.nextInt(unions.size()));
+		}
+		appendResponse(content, itemIndent + "  ", itemType, v10);
+		content.append(itemIndent).append("put:\n");
+		appendBody(content, itemIndent + "  ", v10 ? typeName : type.name, v10);
+		content.append(itemIndent).append("delete:\n");
+		if (depth > 2) {
+			String child = "sub" + (depth - 2) + name.substring(0, 1).toUpperCase() + name.substring(1);
+			content.append(itemIndent).append("/").append(child).append(":\n");
+			appendResource(content, itemIndent + "  ", child, depth - 2, types, unions, random, v10);
+		}
+	}
+
+	private void appendResponse(StringBuilder content, String indent, String type, boolean v10) {
+		content.append(indent).append("responses:\n");
+		content.append(indent).append("  200:\n");
+		appendBody(content, indent + "    ", type, v10);
+	}
+
+	private void appendBody(StringBuilder content, String indent, String type, boolean v10) {
+		content.append(indent).append("body:\n");
+		content.append(indent).append("  application/json:\n");
+		content.append(indent).append(v10 ? "    type: " : "    schema: ").append(type).append("\n");
+	}
+
+	private String typeReference(SyntheticType type, int library) {
+		return type.library < 0 || type.library == library ? type.name : "lib" + type.library + "." + type.name;
+	}
+
+	private static String lowerCamel(String name) {
+		return name.substring(0, 1).toLowerCase() + name.substring(1);
+	}
+
+	private static class SyntheticType {
+
+		private final String name;
+
+		private final Map<String, SyntheticProperty> properties = new LinkedHashMap<>();
+
+		private SyntheticType parent;
+
+		private int depth;
+
+		private int library;
+
+		private SyntheticType(String name) {
+			this.name = name;
+		}
+	}
+
+	private static class SyntheticProperty {
+
+		private final String ramlType;
+
+		private final String schemaType;
+
+		private final SyntheticType reference;
+
+		private final boolean array;
+
+		private SyntheticProperty(String[] type) {
+			this.ramlType = type[0];
+			this.schemaType = type[1];
+			this.reference = null;
+			this.array = false;
+		}
+
+		private SyntheticProperty(SyntheticType reference, boolean array) {
+			this.ramlType = null;
+			this.schemaType = null;
+			this.reference = reference;
+			this.array = array;
+		}
+	}
+}
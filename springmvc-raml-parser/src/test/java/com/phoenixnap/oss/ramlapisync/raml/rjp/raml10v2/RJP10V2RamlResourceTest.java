@@ -0,0 +1,54 @@
+package com.phoenixnap.oss.ramlapisync.raml.rjp.raml10v2;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.phoenixnap.oss.ramlapisync.raml.InvalidRamlResourceException;
+import com.phoenixnap.oss.ramlapisync.raml.RamlActionType;
+import com.phoenixnap.oss.ramlapisync.raml.RamlResource;
+import com.phoenixnap.oss.ramlapisync.raml.RamlRoot;
+import com.phoenixnap.oss.ramlapisync.raml.RamlUriParameter;
+
+/**
+ * @since 0.10.15
+ */
+public class RJP10V2RamlResourceTest {
+
+	private static RamlResource ramlManagerResource;
+	private static RamlResource ramlSubresourceByIdResource;
+
+	@BeforeClass
+	public static void initRamlRoot() throws InvalidRamlResourceException {
+		RamlRoot ramlRoot = new RJP10V2RamlModelFactory().buildRamlRoot("raml/raml-action-test-v10.raml");
+		ramlManagerResource = ramlRoot.getResource("/managers").getResource("/{managerId}");
+		ramlSubresourceByIdResource = ramlManagerResource.getResource("/subresources").getResource("/{subresourceId}");
+	}
+
+	@Test
+	public void ramlResourceShouldMemoizeDerivedViews() {
+		assertThat(ramlSubresourceByIdResource.getActions(), is(sameInstance(ramlSubresourceByIdResource.getActions())));
+		assertThat(ramlSubresourceByIdResource.getUriParameters(), is(sameInstance(ramlSubresourceByIdResource.getUriParameters())));
+		assertThat(ramlSubresourceByIdResource.getResolvedUriParameters(), is(sameInstance(ramlSubresourceByIdResource.getResolvedUriParameters())));
+	}
+
+	@Test
+	public void ramlResourceShouldShareParentWithChildren() {
+		assertThat(ramlSubresourceByIdResource.getParentResource().getParentResource(), is(sameInstance(ramlManagerResource)));
+		assertThat(ramlSubresourceByIdResource.getAction(RamlActionType.GET).getResource(), is(sameInstance(ramlSubresourceByIdResource)));
+	}
+
+	@Test
+	public void ramlResourceShouldResolveUriParametersOfAllAncestors() {
+		assertThat(ramlSubresourceByIdResource.getResolvedUriParameters().keySet(), hasItems("managerId", "subresourceId"));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void ramlResourceShouldReturnImmutableUriParameters() {
+		ramlSubresourceByIdResource.getResolvedUriParameters().put("other", (RamlUriParameter) null);
+	}
+}
@@ -9,11 +9,14 @@ import static org.hamcrest.Matchers.emptyIterable;
 import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.isA;
 import static org.hamcrest.Matchers.isEmptyOrNullString;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 
 import java.util.List;
 import java.util.Map;
@@ -21,6 +24,8 @@ import java.util.stream.Collectors;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.raml.v2.api.RamlModelBuilder;
+import org.raml.v2.api.RamlModelResult;
 import org.raml.v2.api.model.v10.datamodel.ArrayTypeDeclaration;
 import org.raml.v2.api.model.v10.datamodel.ObjectTypeDeclaration;
 import org.raml.v2.api.model.v10.datamodel.StringTypeDeclaration;
@@ -33,6 +38,7 @@ import com.phoenixnap.oss.ramlapisync.raml.RamlDocumentationItem;
 import com.phoenixnap.oss.ramlapisync.raml.RamlMimeType;
 import com.phoenixnap.oss.ramlapisync.raml.RamlResource;
 import com.phoenixnap.oss.ramlapisync.raml.RamlRoot;
+import com.phoenixnap.oss.ramlapisync.raml.RamlTypeRegistry;
 
 /**
  * @author aweisser
@@ -53,6 +59,15 @@ public class RJP10V2RamlRootTest {
         assertThat(ramlRootEmptyValues, is(notNullValue()));
     }
 
+    @Test
+    public void factoryShouldCreateRamlRootFromParsedResult() throws InvalidRamlResourceException {
+        RamlModelResult ramlModelResult = new RamlModelBuilder().buildApi("raml/raml-root-test-v10.raml");
+        RamlRoot parsedRamlRoot = new RJP10V2RamlModelFactory().buildRamlRoot(ramlModelResult, "raml/raml-root-test-v10.raml");
+        assertThat(parsedRamlRoot, is(notNullValue()));
+        assertThat(parsedRamlRoot.getBaseUri(), equalTo(ramlRoot.getBaseUri()));
+        assertThat(parsedRamlRoot.getResources().keySet(), equalTo(ramlRoot.getResources().keySet()));
+    }
+
     @Test
     public void ramlRootShouldReflectBaseUri() {
         assertThat(ramlRoot.getBaseUri(), equalTo("api"));
@@ -116,6 +131,29 @@ public class RJP10V2RamlRootTest {
 		assertThat(personsDataType.items().type(), equalTo("Person"));
 	}
 	
+	@Test
+	public void ramlRootShouldBuildTypeRegistryOnce() {
+		assertThat(ramlRoot.getTypeRegistry(), is(sameInstance(ramlRoot.getTypeRegistry())));
+		assertThat(ramlRoot.getTypes(), is(sameInstance(ramlRoot.getTypes())));
+	}
+
+	@Test
+	public void typeRegistryShouldLookupLibraryQualifiedTypes() {
+		RamlTypeRegistry typeRegistry = ramlRoot.getTypeRegistry();
+
+		assertThat(typeRegistry.getType("TestLib.Song"), is(sameInstance(typeRegistry.getType("Song"))));
+		assertThat(typeRegistry.getType("Unknown"), is(nullValue()));
+	}
+
+	@Test
+	public void typeRegistryShouldExposeTypeHierarchy() {
+		RamlTypeRegistry typeRegistry = ramlRoot.getTypeRegistry();
+
+		assertThat(typeRegistry.getParent("Manager"), is(sameInstance(typeRegistry.getType("Person"))));
+		assertThat(typeRegistry.getParent("Person"), is(nullValue()));
+		assertThat(typeRegistry.getChildren("Person"), hasItem(typeRegistry.getType("Manager")));
+	}
+
 	@Test
 	public void ramlRootShouldReflectDataTypesFromLibraries() {
 		Map<String, RamlDataType> dataTypes = ramlRoot.getTypes();
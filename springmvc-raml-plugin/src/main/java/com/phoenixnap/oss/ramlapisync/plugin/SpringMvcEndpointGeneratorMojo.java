@@ -16,18 +16,26 @@ package com.phoenixnap.oss.ramlapisync.plugin;
 import com.phoenixnap.oss.ramlapisync.data.ApiBodyMetadata;
 import com.phoenixnap.oss.ramlapisync.data.ApiParameterMetadata;
 import com.phoenixnap.oss.ramlapisync.data.ApiResourceMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.GenerationReport;
+import com.phoenixnap.oss.ramlapisync.generation.IncrementalCodeWriter;
+import com.phoenixnap.oss.ramlapisync.generation.MemoryCodeWriter;
+import com.phoenixnap.oss.ramlapisync.generation.ParallelCodeWriter;
 import com.phoenixnap.oss.ramlapisync.generation.RamlParser;
+import com.phoenixnap.oss.ramlapisync.generation.ResourceManifest;
 import com.phoenixnap.oss.ramlapisync.generation.rules.ConfigurableRule;
 import com.phoenixnap.oss.ramlapisync.generation.rules.RamlLoader;
 import com.phoenixnap.oss.ramlapisync.generation.rules.Rule;
 import com.phoenixnap.oss.ramlapisync.generation.rules.Spring4ControllerStubRule;
 import com.phoenixnap.oss.ramlapisync.naming.NamingHelper;
 import com.phoenixnap.oss.ramlapisync.naming.RamlTypeHelper;
+import com.phoenixnap.oss.ramlapisync.naming.SchemaCodeModelCache;
 import com.phoenixnap.oss.ramlapisync.naming.SchemaHelper;
 import com.phoenixnap.oss.ramlapisync.pojo.PojoGenerationConfig;
 import com.phoenixnap.oss.ramlapisync.raml.InvalidRamlResourceException;
 import com.phoenixnap.oss.ramlapisync.raml.RamlDataType;
+import com.phoenixnap.oss.ramlapisync.raml.RamlModelCache;
 import com.phoenixnap.oss.ramlapisync.raml.RamlRoot;
+import com.phoenixnap.oss.ramlapisync.raml.RamlSpecFingerprint;
 import com.phoenixnap.oss.ramlapisync.raml.RamlVersion;
 import com.phoenixnap.oss.ramlapisync.raml.rjp.raml10v2.RJP10V2RamlRoot;
 import com.sun.codemodel.JCodeModel;
@@ -44,23 +52,33 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.classworlds.realm.ClassRealm;
-import org.jsonschema2pojo.Annotator;
-import org.jsonschema2pojo.GenerationConfig;
 import org.jsonschema2pojo.Jackson1Annotator;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
@@ -196,10 +214,75 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
     @Parameter(required = false, readonly = true, defaultValue = "false")
     protected Boolean reverseOrderInClassNames;
 
+    /**
+     * If set to true, parsed RAML models will be cached in target/raml-model-cache keyed by the content of the RAML
+     * document and all the files it includes, so that unchanged specifications are not parsed again
+     */
+    @Parameter(required = false, readonly = true, defaultValue = "false")
+    protected Boolean cacheRamlModel;
+
+    /**
+     * Number of threads generating RAML 0.8 controllers. If set above 1, the rule is applied to each controller in a
+     * code model of its own and the controllers are rendered into memory on a pool of threads. The rendered files are
+     * then written one controller at a time in the same order as with a single thread, so the output is identical.
+     * RAML 1.0 controllers share the unified code model and are always generated on a single thread.
+     */
+    @Parameter(required = false, readonly = true, defaultValue = "1")
+    protected Integer generationThreads;
+
+    /**
+     * If set to true, generated files are only written if their content changed so that unchanged sources are not
+     * recompiled. Files generated by a previous run which are no longer generated are deleted. Top level resources
+     * whose text did not change since the previous run are not generated again. Controllers are still extracted from
+     * the whole specification, and any change outside the top level resources generates every resource again.
+     */
+    @Parameter(required = false, readonly = true, defaultValue = "false")
+    protected Boolean incrementalOutput;
+
+    /**
+     * Number of threads writing generated files to disk. If set above 1, classes are rendered on the generating thread
+     * while previously rendered files are written by these threads. Otherwise each file is written as it is rendered.
+     * Not used with incrementalOutput, which compares each file with the existing one before writing it.
+     */
+    @Parameter(required = false, readonly = true)
+    protected Integer writerThreads;
+
+    /**
+     * If set to true, the wall time, invocation count and allocated bytes of each generation phase (RAML load,
+     * controller extraction, type interpretation, schema to POJO mapping, rule application and writing) are recorded
+     * in total and per resource, and written as JSON to generation-report.json in
+     * target/springmvc-raml/&lt;output directory hash&gt;, next to the incremental manifests. Phases can be nested, eg.
+     * schemas are mapped to POJOs while controllers are extracted.
+     */
+    @Parameter(required = false, readonly = true, defaultValue = "false")
+    protected Boolean generationReport;
+
+    /**
+     * If set to true along with generationReport, the totals of each phase are also published as project properties
+     * named springmvc-raml.&lt;phase&gt;.count, springmvc-raml.&lt;phase&gt;.wallMillis and
+     * springmvc-raml.&lt;phase&gt;.allocatedBytes
+     */
+    @Parameter(required = false, readonly = true, defaultValue = "false")
+    protected Boolean publishGenerationReport;
+
     private ClassRealm classRealm;
 
+    private GenerationReport report;
+
+    private Rule<JCodeModel, JDefinedClass, ApiResourceMetadata> ruleInstance;
+
     private String resolvedSchemaLocation;
 
+    private IncrementalCodeWriter outputWriter;
+
+    private ParallelCodeWriter sourceWriter;
+
+    private ResourceManifest resourceManifest;
+
+    private final Map<ApiResourceMetadata, ResourceManifest.Entry> resourceEntries = new IdentityHashMap<>();
+
+    private SchemaCodeModelCache schemaCodeModelCache;
+
     protected void generateEndpoints()
             throws MojoExecutionException, MojoFailureException, IOException, InvalidRamlResourceException {
 
@@ -237,24 +320,38 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
         // Resolve schema location and add to classpath
         resolvedSchemaLocation = getSchemaLocation();
 
-        RamlRoot loadRamlFromFile = RamlLoader.loadRamlFromFile(new File(resolvedRamlPath).toURI().toString());
-
-        JCodeModel codeModel = null;
-        //In the RJP10V2 we have support for a unified code model. RJP08V1 does not work well with this.
-        //TODO update RJP08V1 to support a unified view.
-        boolean unifiedModel = false;
-        RamlVersion ramlVersion = RamlVersion.V08;
-        if (loadRamlFromFile instanceof RJP10V2RamlRoot) {
-            ramlVersion = RamlVersion.V10;
-            codeModel = new JCodeModel();
-            unifiedModel = true;
+        RamlModelCache ramlModelCache = null;
+        if (Boolean.TRUE.equals(cacheRamlModel)) {
+            ramlModelCache = new RamlModelCache(new File(resolvedPath + "/target/raml-model-cache"));
         }
+        String ramlFileUrl = new File(resolvedRamlPath).toURI().toString();
+        RamlRoot loadRamlFromFile;
+        try (GenerationReport.Phase phase = startPhase("ramlLoad", null)) {
+            loadRamlFromFile = RamlLoader.loadRamlFromFile(ramlFileUrl, ramlModelCache);
+        }
+
+        JCodeModel codeModel = new JCodeModel();
+        RamlVersion ramlVersion = loadRamlFromFile instanceof RJP10V2RamlRoot ? RamlVersion.V10 : RamlVersion.V08;
 
         //Map the jsconschema2pojo config to ours. This will need to eventually take over.
         typeGenerationConfig = mapGenerationConfigMapping();
 
         RamlParser par = new RamlParser(typeGenerationConfig, getBasePath(loadRamlFromFile), seperateMethodsByContentType, injectHttpHeadersParameter, this.resourceDepthInClassNames, this.resourceTopLevelInClassNames, this.reverseOrderInClassNames);
-        Set<ApiResourceMetadata> controllers = par.extractControllers(codeModel, loadRamlFromFile);
+        if (ramlVersion == RamlVersion.V08) {
+            // Schemas are mapped straight into the unified code model with the plugin configuration, so classes
+            // shared by multiple bodies are only generated once
+            par.setSchemaCodeModelCache(new SchemaCodeModelCache(codeModel, resolvedSchemaLocation, generationConfig,
+                    useJackson1xCompatibility ? new Jackson1Annotator(generationConfig) : null));
+        }
+        Map<String, Set<ApiResourceMetadata>> controllersByResource;
+        try (GenerationReport.Phase phase = startPhase("extractControllers", null)) {
+            controllersByResource = par.extractControllersByResource(codeModel, loadRamlFromFile);
+        }
+        schemaCodeModelCache = par.getSchemaCodeModelCache();
+        Set<ApiResourceMetadata> controllers = new LinkedHashSet<>();
+        for (Set<ApiResourceMetadata> resourceControllers : controllersByResource.values()) {
+            controllers.addAll(resourceControllers);
+        }
 
         if (StringUtils.hasText(outputRelativePath)) {
             if (!outputRelativePath.startsWith(File.separator) && !outputRelativePath.startsWith("/")) {
@@ -271,13 +368,180 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
             throw new IOException("Could not create directory:" + rootDir.getAbsolutePath());
         }
 
+        File stateDir = getStateDir(rootDir);
+        Set<ApiResourceMetadata> changedControllers = controllers;
+        if (Boolean.TRUE.equals(incrementalOutput)) {
+            outputWriter = new IncrementalCodeWriter(rootDir, new File(stateDir, IncrementalCodeWriter.MANIFEST_FILE_NAME));
+            changedControllers = findChangedControllers(controllersByResource, ramlFileUrl, rootDir, stateDir);
+        } else if (writerThreads != null && writerThreads > 1) {
+            sourceWriter = new ParallelCodeWriter(rootDir, writerThreads);
+        }
+
         Set<String> allReferencedTypes = getAllReferencedTypeNames(controllers);
-        generateCode(codeModel, controllers, rootDir);
-        generateUnreferencedSchemas(codeModel, resolvedRamlPath, loadRamlFromFile, rootDir, ramlVersion, allReferencedTypes);
+        // RAML 0.8 resources can share a controller name, which the rules would merge into a single class, so their
+        // controllers are still generated into a code model of their own
+        JCodeModel controllerCodeModel = ramlVersion == RamlVersion.V10 ? codeModel : null;
+        generateCode(controllerCodeModel, changedControllers, rootDir);
+        try (GenerationReport.Phase phase = startPhase("unreferencedSchemas", null)) {
+            generateUnreferencedSchemas(codeModel, resolvedRamlPath, loadRamlFromFile, rootDir, ramlVersion, allReferencedTypes);
+        }
+
+        buildCodeModelToDisk(codeModel, "Unified", rootDir);
 
+        if (schemaCodeModelCache.getGeneratedCount() > 0) {
+            this.getLog().info("Mapped " + schemaCodeModelCache.getGeneratedCount() + " distinct schemas, "
+                    + schemaCodeModelCache.getReusedCount() + " references reused, "
+                    + schemaCodeModelCache.getLoadedDocumentCount() + " referenced schema documents loaded");
+        }
 
-        if (unifiedModel) {
-            buildCodeModelToDisk(codeModel, "Unified", rootDir);
+        if (sourceWriter != null) {
+            try (GenerationReport.Phase phase = startPhase("write", null)) {
+                sourceWriter.finish();
+            }
+            this.getLog().info(String.format("Wrote %d files (%d bytes) in %dms: %.0f files/s, %.0f bytes/s",
+                    sourceWriter.getFileCount(), sourceWriter.getByteCount(), sourceWriter.getElapsedMillis(),
+                    sourceWriter.getFilesPerSecond(), sourceWriter.getBytesPerSecond()));
+        }
+
+        if (outputWriter != null) {
+            try (GenerationReport.Phase phase = startPhase("write", null)) {
+                outputWriter.finish();
+            }
+            resourceManifest.save(new File(stateDir, ResourceManifest.MANIFEST_FILE_NAME));
+            this.getLog().info("Incremental output: " + outputWriter.getWrittenCount() + " files written, "
+                    + outputWriter.getUnchangedCount() + " unchanged, " + outputWriter.getDeletedCount() + " stale files deleted");
+        }
+
+        if (report != null) {
+            File reportFile = new File(stateDir, GenerationReport.REPORT_FILE_NAME);
+            report.write(reportFile);
+            this.getLog().info("Generation report written to " + reportFile.getAbsolutePath());
+            if (Boolean.TRUE.equals(publishGenerationReport)) {
+                project.getProperties().putAll(report.toProperties("springmvc-raml"));
+            }
+        }
+    }
+
+    /**
+     * Resolves the directory holding the manifests kept between runs. The output directory is a compile source root,
+     * so they are kept under target/springmvc-raml instead, in a directory of their own for each output directory
+     *
+     * @param rootDir The output directory
+     * @return The directory holding the manifests of the output directory
+     */
+    private File getStateDir(File rootDir) {
+        return new File(project.getBasedir(), "target/springmvc-raml/" + Integer.toHexString(rootDir.getAbsolutePath().hashCode()));
+    }
+
+    /**
+     * Starts recording a phase in the generation report
+     *
+     * @param name The name of the phase
+     * @param resource The resource being generated or null if the phase is not specific to a resource
+     * @return The running phase, which does nothing if no report is generated
+     */
+    private GenerationReport.Phase startPhase(String name, String resource) {
+        return report == null ? GenerationReport.phase(name) : report.start(name, resource);
+    }
+
+    /**
+     * Compares the specification with the manifest of the previous run and selects the controllers which need to be
+     * generated. Top level resources which did not change keep the files generated by the previous run, unless they
+     * share a controller name with a resource which changed. Only the resources themselves are compared, any change
+     * to the rest of the specification (eg. types or includes) or to the plugin configuration results in all
+     * resources being generated.
+     *
+     * @param controllersByResource The controllers keyed by the top level resource they were extracted from
+     * @param ramlFileUrl The raml document
+     * @param rootDir The output directory
+     * @param stateDir The directory holding the manifest of the previous run
+     * @return The controllers which need to be generated
+     */
+    private Set<ApiResourceMetadata> findChangedControllers(Map<String, Set<ApiResourceMetadata>> controllersByResource,
+            String ramlFileUrl, File rootDir, File stateDir) {
+        RamlSpecFingerprint fingerprint = RamlSpecFingerprint.compute(ramlFileUrl);
+        String globalFingerprint = fingerprint == null ? null : fingerprint.getGlobalHash() + "|" + describeConfiguration();
+        ResourceManifest previousManifest = ResourceManifest.load(new File(stateDir, ResourceManifest.MANIFEST_FILE_NAME));
+        resourceManifest = new ResourceManifest(globalFingerprint);
+
+        Map<String, ResourceManifest.Entry> upToDateEntries = new LinkedHashMap<>();
+        Set<String> changedControllerNames = new LinkedHashSet<>();
+        for (Map.Entry<String, Set<ApiResourceMetadata>> resource : controllersByResource.entrySet()) {
+            String resourceFingerprint = fingerprint == null ? null : fingerprint.getResourceHash(resource.getKey());
+            ResourceManifest.Entry entry = previousManifest == null ? null
+                    : previousManifest.getUpToDateEntry(globalFingerprint, resource.getKey(), resourceFingerprint, rootDir);
+            if (entry != null && entry.getControllerNames().equals(getControllerNames(resource.getValue()))) {
+                upToDateEntries.put(resource.getKey(), entry);
+            } else {
+                changedControllerNames.addAll(getControllerNames(resource.getValue()));
+            }
+        }
+        // Resources sharing a controller name are generated into the same class, so they are generated together.
+        // Keeping one of them would leave a class which only holds the methods of the others
+        boolean invalidated = true;
+        while (invalidated) {
+            invalidated = upToDateEntries.entrySet().removeIf(resource ->
+                    !Collections.disjoint(resource.getValue().getControllerNames(), changedControllerNames));
+            if (invalidated) {
+                for (Map.Entry<String, Set<ApiResourceMetadata>> resource : controllersByResource.entrySet()) {
+                    if (!upToDateEntries.containsKey(resource.getKey())) {
+                        changedControllerNames.addAll(getControllerNames(resource.getValue()));
+                    }
+                }
+            }
+        }
+
+        Set<ApiResourceMetadata> changedControllers = new LinkedHashSet<>();
+        int changedResources = 0;
+        for (Map.Entry<String, Set<ApiResourceMetadata>> resource : controllersByResource.entrySet()) {
+            ResourceManifest.Entry entry = upToDateEntries.get(resource.getKey());
+            if (entry != null) {
+                resourceManifest.addEntry(resource.getKey(), entry);
+                outputWriter.keep(entry.getFiles());
+            } else {
+                String resourceFingerprint = fingerprint == null ? null : fingerprint.getResourceHash(resource.getKey());
+                List<String> controllerNames = getControllerNames(resource.getValue());
+                entry = resourceManifest.addEntry(resource.getKey(), resourceFingerprint);
+                entry.setControllerNames(controllerNames);
+                changedResources++;
+                for (ApiResourceMetadata met : resource.getValue()) {
+                    resourceEntries.put(met, entry);
+                    changedControllers.add(met);
+                }
+            }
+        }
+        this.getLog().info("Incremental generation: " + changedResources + " of " + controllersByResource.size() + " resources changed");
+        return changedControllers;
+    }
+
+    private List<String> getControllerNames(Set<ApiResourceMetadata> controllers) {
+        return controllers.stream().map(ApiResourceMetadata::getName).collect(Collectors.toList());
+    }
+
+    /**
+     * @return A description of all the configuration which affects the generated code
+     */
+    private String describeConfiguration() {
+        StringBuilder description = new StringBuilder();
+        description.append(descriptor == null ? null : descriptor.getVersion()).append('|').append(rule).append('|')
+                .append(ruleConfiguration).append('|').append(basePackage).append('|').append(baseUri).append('|')
+                .append(schemaLocation).append('|').append(generateUnreferencedSchemas).append('|')
+                .append(seperateMethodsByContentType).append('|').append(useJackson1xCompatibility).append('|')
+                .append(injectHttpHeadersParameter).append('|').append(resourceDepthInClassNames).append('|')
+                .append(resourceTopLevelInClassNames).append('|').append(reverseOrderInClassNames);
+        if (generationConfig != null) {
+            ReflectionUtils.doWithFields(generationConfig.getClass(), field -> {
+                ReflectionUtils.makeAccessible(field);
+                description.append('|').append(field.getName()).append('=').append(field.get(generationConfig));
+            }, field -> !Modifier.isStatic(field.getModifiers()));
+        }
+        return description.toString();
+    }
+
+    private void recordGeneratedFiles(ApiResourceMetadata met, Collection<String> files) {
+        ResourceManifest.Entry entry = resourceEntries.get(met);
+        if (entry != null) {
+            entry.addFiles(files);
         }
     }
 
@@ -324,9 +588,8 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
                 for (Map<String, String> map : loadRamlFromFile.getSchemas()) {
                     for (String schemaName : map.keySet()) {
                         this.getLog().info("Generating POJO for unreferenced schema " + schemaName);
-                        ApiBodyMetadata tempBodyMetadata = SchemaHelper.mapSchemaToPojo(loadRamlFromFile, schemaName, resolvedRamlPath, schemaName, this.resolvedSchemaLocation);
-                        // TODO Check if this already has been written to disk
-                        generateModelSources(codeModel, tempBodyMetadata, rootDir, this.generationConfig, this.useJackson1xCompatibility ? new Jackson1Annotator(this.generationConfig) : null);
+                        // The schema is mapped into the unified code model, reusing the classes of referenced schemas
+                        SchemaHelper.mapSchemaToPojo(loadRamlFromFile, schemaName, basePackage + NamingHelper.getDefaultModelPackage(), schemaName, this.resolvedSchemaLocation, schemaCodeModelCache);
                     }
                 }
             }
@@ -339,8 +602,7 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
             if (loadRamlFromFile.getTypes() != null && !loadRamlFromFile.getTypes().isEmpty()) {
                 for (Map.Entry<String, RamlDataType> type : loadRamlFromFile.getTypes().entrySet()) {
                     if(!allReferencedTypes.contains(type.getKey())) {
-                        ApiBodyMetadata tempBodyMetadata = RamlTypeHelper.mapTypeToPojo(typeGenerationConfig, codeModel, loadRamlFromFile, type.getValue().getType());
-                        generateModelSources(codeModel, tempBodyMetadata, rootDir, this.generationConfig, this.useJackson1xCompatibility ? new Jackson1Annotator(this.generationConfig) : null);
+                        RamlTypeHelper.mapTypeToPojo(typeGenerationConfig, codeModel, loadRamlFromFile, type.getValue().getType());
                     }
                 }
             }
@@ -348,25 +610,118 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
     }
 
     /**
-     * @param codeModel   If not null this will operated assuming a unified code model for all output
+     * Applies the rule to each controller. The models they use have already been mapped into the unified code model
+     * while the controllers were extracted.
+     *
+     * @param controllerCodeModel If not null controllers are generated into this code model instead of their own
      * @param controllers
      * @param rootDir
+     * @throws MojoExecutionException if the controllers generated in parallel are interrupted or fail unexpectedly
      */
-    private void generateCode(JCodeModel codeModel, Set<ApiResourceMetadata> controllers, File rootDir) {
+    private void generateCode(JCodeModel controllerCodeModel, Set<ApiResourceMetadata> controllers, File rootDir)
+            throws MojoExecutionException {
+        if (generationThreads != null && generationThreads > 1 && controllers.size() > 1) {
+            if (controllerCodeModel == null) {
+                generateCodeInParallel(controllers, rootDir);
+                return;
+            }
+            this.getLog().info("RAML 1.0 controllers share the unified code model, generating them on a single thread");
+        }
         for (ApiResourceMetadata met : controllers) {
             this.getLog().debug("");
             this.getLog().debug("-----------------------------------------------------------");
             this.getLog().info("Generating Code for Resource: " + met.getName());
             this.getLog().debug("");
 
-            if (codeModel == null) {
-                Set<ApiBodyMetadata> dependencies = met.getDependencies();
-                for (ApiBodyMetadata body : dependencies) {
-                    generateModelSources(codeModel, body, rootDir, generationConfig, useJackson1xCompatibility ? new Jackson1Annotator(generationConfig) : null);
-                }
+            generateControllerSource(controllerCodeModel, met, rootDir);
+        }
+    }
+
+    /**
+     * Applies the rule to each controller in a code model of its own and renders it into memory on a pool of threads.
+     * Rules only read the body classes they refer to, apart from the lookups registering simple types in the body code
+     * models, which lock them. Rendering reads these code models without locking them, so every rule is applied before
+     * any controller is rendered. The rendered files are written in the same order as the serial path, so that a file
+     * generated by multiple resources ends up with the same content.
+     *
+     * @param controllers The controllers to generate
+     * @param rootDir The output directory
+     * @throws MojoExecutionException if the generation is interrupted or fails unexpectedly
+     */
+    private void generateCodeInParallel(Set<ApiResourceMetadata> controllers, File rootDir)
+            throws MojoExecutionException {
+        int threads = Math.min(generationThreads, controllers.size());
+        this.getLog().info("Generating Code for " + controllers.size() + " Resources using " + threads + " threads");
+        // Rules assemble their pipeline on first use, so each thread applies an instance of its own
+        loadRule();
+        ThreadLocal<Rule<JCodeModel, JDefinedClass, ApiResourceMetadata>> rules = ThreadLocal.withInitial(this::createRule);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<JCodeModel>> generated = new ArrayList<>(controllers.size());
+            for (ApiResourceMetadata met : controllers) {
+                generated.add(executor.submit(() -> applyRule(rules.get(), met)));
+            }
+            List<JCodeModel> codeModels = new ArrayList<>(controllers.size());
+            for (Future<JCodeModel> codeModel : generated) {
+                codeModels.add(codeModel.get());
             }
+            List<Future<MemoryCodeWriter>> rendered = new ArrayList<>(controllers.size());
+            for (JCodeModel codeModel : codeModels) {
+                rendered.add(executor.submit(() -> renderToMemory(codeModel)));
+            }
+            int index = 0;
+            for (ApiResourceMetadata met : controllers) {
+                this.getLog().info("Generating Code for Resource: " + met.getName());
+                recordGeneratedFiles(met, ResourceManifest.getFiles(codeModels.get(index)));
+                writeToDisk(rendered.get(index).get(), met.getName(), rootDir);
+                index++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while generating code", e);
+        } catch (ExecutionException e) {
+            throw new MojoExecutionException("Unexpected exception while generating code", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private JCodeModel applyRule(Rule<JCodeModel, JDefinedClass, ApiResourceMetadata> rule, ApiResourceMetadata met) {
+        JCodeModel codeModel = new JCodeModel();
+        activateReport();
+        try (GenerationReport.Phase phase = startPhase("ruleApplication", met.getName())) {
+            rule.apply(met, codeModel);
+        } finally {
+            GenerationReport.deactivate();
+        }
+        return codeModel;
+    }
+
+    private MemoryCodeWriter renderToMemory(JCodeModel codeModel) throws IOException {
+        MemoryCodeWriter writer = new MemoryCodeWriter();
+        try (GenerationReport.Phase phase = startPhase("render", null)) {
+            codeModel.build(writer);
+        }
+        return writer;
+    }
 
-            generateControllerSource(codeModel, met, rootDir);
+    private void writeToDisk(MemoryCodeWriter rendered, String name, File dir) {
+        try (GenerationReport.Phase phase = startPhase("write", null)) {
+            for (Map.Entry<String, byte[]> file : rendered.getFiles().entrySet()) {
+                if (outputWriter != null) {
+                    outputWriter.write(file.getKey(), file.getValue());
+                } else if (sourceWriter != null) {
+                    sourceWriter.write(file.getKey(), file.getValue());
+                } else {
+                    File target = new File(dir, file.getKey());
+                    if (!target.getParentFile().exists() && !target.getParentFile().mkdirs()) {
+                        throw new IOException("Could not create directory:" + target.getParentFile().getAbsolutePath());
+                    }
+                    Files.write(target.toPath(), file.getValue());
+                }
+            }
+        } catch (IOException e) {
+            this.getLog().error("Could not build code model for " + name, e);
         }
     }
 
@@ -395,8 +750,19 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
     }
 
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Resolves and configures the rule once per execution. Rules assemble their pipeline on first use and keep no
+     * state between resources, so the same instance is applied to every controller generated on this thread.
+     */
     private Rule<JCodeModel, JDefinedClass, ApiResourceMetadata> loadRule() {
+        if (this.ruleInstance == null) {
+            this.ruleInstance = createRule();
+        }
+        return this.ruleInstance;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Rule<JCodeModel, JDefinedClass, ApiResourceMetadata> createRule() {
         Rule<JCodeModel, JDefinedClass, ApiResourceMetadata> ruleInstance = new Spring4ControllerStubRule();
         try {
             ruleInstance = (Rule<JCodeModel, JDefinedClass, ApiResourceMetadata>) getClassRealm().loadClass(rule).newInstance();
@@ -434,23 +800,6 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
     }
 
 
-    private void generateModelSources(JCodeModel codeModel, ApiBodyMetadata body, File rootDir, GenerationConfig config, Annotator annotator) {
-        boolean build = false;
-        if (codeModel == null) {
-            this.getLog().info("Generating Model object for: " + body.getName());
-            build = true;
-            if (config == null && annotator == null) {
-                codeModel = body.getCodeModel();
-            } else {
-                codeModel = body.getCodeModel(resolvedSchemaLocation, basePackage + NamingHelper.getDefaultModelPackage(), config, annotator);
-            }
-        }
-        if (build && codeModel != null) {
-            buildCodeModelToDisk(codeModel, body.getName(), rootDir);
-        }
-    }
-
-
     private String getSchemaLocation() {
 
         if (StringUtils.hasText(schemaLocation)) {
@@ -497,7 +846,15 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
             codeModel = new JCodeModel();
             build = true;
         }
-        loadRule().apply(met, codeModel);
+        Set<String> existingFiles = resourceEntries.containsKey(met) ? ResourceManifest.getFiles(codeModel) : null;
+        try (GenerationReport.Phase phase = startPhase("ruleApplication", met.getName())) {
+            loadRule().apply(met, codeModel);
+        }
+        if (existingFiles != null) {
+            Set<String> controllerFiles = ResourceManifest.getFiles(codeModel);
+            controllerFiles.removeAll(existingFiles);
+            recordGeneratedFiles(met, controllerFiles);
+        }
         if (build) {
             buildCodeModelToDisk(codeModel, met.getName(), dir);
         }
@@ -505,8 +862,14 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
 
 
     private void buildCodeModelToDisk(JCodeModel codeModel, String name, File dir) {
-        try {
-            codeModel.build(dir);
+        try (GenerationReport.Phase phase = startPhase("write", null)) {
+            if (outputWriter != null) {
+                codeModel.build(outputWriter);
+            } else if (sourceWriter != null) {
+                codeModel.build(sourceWriter);
+            } else {
+                codeModel.build(dir);
+            }
         } catch (IOException e) {
             e.printStackTrace();
             this.getLog().error("Could not build code model for " + name, e);
@@ -519,6 +882,10 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
             throws MojoExecutionException, MojoFailureException {
         long startTime = System.currentTimeMillis();
 
+        if (Boolean.TRUE.equals(generationReport)) {
+            report = new GenerationReport();
+        }
+        activateReport();
         try {
             generateEndpoints();
         } catch (IOException e) {
@@ -527,11 +894,24 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
         } catch (InvalidRamlResourceException e) {
             throw new MojoExecutionException(e, "Supplied RAML has failed validation and cannot be loaded.",
                     e.toString());
+        } finally {
+            GenerationReport.deactivate();
+            if (sourceWriter != null) {
+                // Stops the writing threads when generation failed before they were finished
+                sourceWriter.shutdown();
+            }
         }
 
         this.getLog().info("Endpoint Generation Complete in:" + (System.currentTimeMillis() - startTime) + "ms");
     }
 
+    private void activateReport() {
+        if (report != null) {
+            // Phases recorded deep within the parser use the report of the generating thread
+            report.activate();
+        }
+    }
+
     PojoGenerationConfig mapGenerationConfigMapping() {
         PojoGenerationConfig config = new PojoGenerationConfig()
                 .withPackage(basePackage, null);
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.plugin;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.testing.MojoRule;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.classworlds.ClassWorld;
+import org.codehaus.plexus.classworlds.realm.ClassRealm;
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.phoenixnap.oss.ramlapisync.data.ApiResourceMetadata;
+import com.phoenixnap.oss.ramlapisync.generation.InMemoryCodeGenerator;
+import com.phoenixnap.oss.ramlapisync.generation.RamlParser;
+import com.phoenixnap.oss.ramlapisync.generation.rules.RamlLoader;
+import com.phoenixnap.oss.ramlapisync.raml.RamlRoot;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+
+/**
+ * Checks that the in-memory generator renders the same sources the mojo writes to disk
+ */
+public class InMemoryCodeGeneratorTest
+{
+   private static final String GOAL_NAME = "generate-springmvc-endpoints";
+   private static final String OUTPUT_DIR = "target/generated-sources/spring-mvc";
+
+   @Rule
+   public MojoRule mojoRule = new MojoRule();
+
+   @Rule
+   public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+   @Test
+   public void testRaml08SourcesMatchMojo() throws Exception {
+      assertSourcesMatchMojo("default-config", "classpath:/");
+   }
+
+   @Test
+   public void testRaml10SourcesMatchMojo() throws Exception {
+      assertSourcesMatchMojo("incremental-output", null);
+   }
+
+   private void assertSourcesMatchMojo(final String pomDir, final String schemaLocation) throws Exception {
+      final File projectDir = temporaryFolder.newFolder(pomDir);
+      FileUtils.copyDirectoryStructure(new File("src/test/resources/" + pomDir + "/src"), new File(projectDir, "src"));
+      FileUtils.copyFile(new File("src/test/resources/" + pomDir + "/pom.xml"), new File(projectDir, "pom.xml"));
+
+      final SpringMvcEndpointGeneratorMojo mojo = loadMojo(projectDir);
+      mojo.incrementalOutput = false;
+      mojo.execute();
+
+      final RamlRoot raml = RamlLoader.loadRamlFromFile(new File(projectDir, mojo.ramlPath).toURI().toString());
+      final RamlParser parser = new RamlParser(mojo.mapGenerationConfigMapping(), raml.getBaseUri(),
+         mojo.seperateMethodsByContentType, mojo.injectHttpHeadersParameter, mojo.resourceDepthInClassNames,
+         mojo.resourceTopLevelInClassNames, mojo.reverseOrderInClassNames);
+      @SuppressWarnings("unchecked")
+      final com.phoenixnap.oss.ramlapisync.generation.rules.Rule<JCodeModel, JDefinedClass, ApiResourceMetadata> rule =
+         (com.phoenixnap.oss.ramlapisync.generation.rules.Rule<JCodeModel, JDefinedClass, ApiResourceMetadata>)
+            Class.forName(mojo.rule).newInstance();
+      final Map<String, String> sources = new InMemoryCodeGenerator(parser, rule)
+         .withSchemaLocation(schemaLocation)
+         .withGenerationConfig(mojo.generationConfig)
+         .generate(raml);
+
+      final Map<String, String> writtenSources = readSources(new File(projectDir, OUTPUT_DIR));
+      Assert.assertFalse(writtenSources.isEmpty());
+      Assert.assertEquals(writtenSources, new TreeMap<>(sources));
+   }
+
+   private Map<String, String> readSources(final File dir) throws Exception {
+      final Map<String, String> sources = new TreeMap<>();
+      try (Stream<Path> files = Files.walk(dir.toPath())) {
+         for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+            sources.put(dir.toPath().relativize(file).toString().replace(File.separatorChar, '/'),
+               new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+         }
+      }
+      return sources;
+   }
+
+   private SpringMvcEndpointGeneratorMojo loadMojo(final File projectDir) throws Exception {
+      final MavenProject mavenProject = mojoRule.readMavenProject(projectDir);
+      final ClassWorld classWorld = new ClassWorld();
+      final ClassRealm realm = classWorld.newRealm("test", getClass().getClassLoader());
+      mavenProject.setClassRealm(realm);
+
+      final SpringMvcEndpointGeneratorMojo mojo =
+         (SpringMvcEndpointGeneratorMojo) mojoRule.lookupConfiguredMojo(mavenProject, GOAL_NAME);
+      Assert.assertNotNull(mojo);
+      return mojo;
+   }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.plugin;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.plugin.testing.MojoRule;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.classworlds.ClassWorld;
+import org.codehaus.plexus.classworlds.realm.ClassRealm;
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Runs the mojo twice over the same project with incrementalOutput enabled, changing the specification or the
+ * configuration in between
+ */
+public class IncrementalOutputTest
+{
+   private static final String GOAL_NAME = "generate-springmvc-endpoints";
+   private static final String INCREMENTAL_OUTPUT = "incremental-output";
+   private static final String OUTPUT_DIR = "target/generated-sources/spring-mvc/com/test/samples/";
+
+   @Rule
+   public MojoRule mojoRule = new MojoRule();
+
+   @Rule
+   public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+   private File projectDir;
+   private File songsController;
+   private File albumController;
+   private final List<String> messages = new ArrayList<>();
+
+   @Before
+   public void setUp() throws Exception {
+      projectDir = temporaryFolder.newFolder(INCREMENTAL_OUTPUT);
+      FileUtils.copyDirectoryStructure(new File("src/test/resources/" + INCREMENTAL_OUTPUT), projectDir);
+      songsController = new File(projectDir, OUTPUT_DIR + "SongsController.java");
+      albumController = new File(projectDir, OUTPUT_DIR + "AlbumController.java");
+
+      execute(loadMojo());
+      assertLogged("Incremental generation: 3 of 3 resources changed");
+      Assert.assertTrue(songsController.exists());
+      Assert.assertTrue(albumController.exists());
+      songsController.setLastModified(0);
+      albumController.setLastModified(0);
+   }
+
+   @Test
+   public void testNoChange() throws Exception {
+      execute(loadMojo());
+      assertLogged("Incremental generation: 0 of 3 resources changed");
+      Assert.assertEquals(0, songsController.lastModified());
+      Assert.assertEquals(0, albumController.lastModified());
+   }
+
+   @Test
+   public void testResourceChanged() throws Exception {
+      replaceInRaml("description: albums", "description: all albums");
+      execute(loadMojo());
+      assertLogged("Incremental generation: 1 of 3 resources changed");
+      Assert.assertEquals(0, songsController.lastModified());
+      Assert.assertTrue(readFile(albumController).contains("all albums"));
+   }
+
+   @Test
+   public void testConfigurationChanged() throws Exception {
+      final SpringMvcEndpointGeneratorMojo mojo = loadMojo();
+      mojo.injectHttpHeadersParameter = true;
+      execute(mojo);
+      assertLogged("Incremental generation: 3 of 3 resources changed");
+      Assert.assertTrue(readFile(songsController).contains("HttpHeaders httpHeaders"));
+      Assert.assertTrue(readFile(albumController).contains("HttpHeaders httpHeaders"));
+   }
+
+   @Test
+   public void testResourceRemoved() throws Exception {
+      replaceInRaml("/albums:\n  description: albums\n  get:\n", "");
+      execute(loadMojo());
+      assertLogged("Incremental generation: 0 of 2 resources changed");
+      Assert.assertFalse(albumController.exists());
+      Assert.assertEquals(0, songsController.lastModified());
+   }
+
+   @Test
+   public void testResourceSharingControllerNameChanged() throws Exception {
+      replaceInRaml("description: second version", "description: songs, second version");
+      execute(loadMojo());
+      assertLogged("Incremental generation: 2 of 3 resources changed");
+      final String code = readFile(songsController);
+      Assert.assertTrue(code.contains("getSongs()"));
+      Assert.assertTrue(code.contains("getV2Songs()"));
+      Assert.assertEquals(0, albumController.lastModified());
+   }
+
+   private void replaceInRaml(final String target, final String replacement) throws Exception {
+      final File raml = new File(projectDir, "src/main/resources/api.raml");
+      final String content = readFile(raml);
+      Assert.assertTrue(content.contains(target));
+      Files.write(raml.toPath(), content.replace(target, replacement).getBytes(StandardCharsets.UTF_8));
+   }
+
+   private String readFile(final File file) throws Exception {
+      return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).replace("\r\n", "\n");
+   }
+
+   private void assertLogged(final String message) {
+      Assert.assertTrue("Expected '" + message + "' in " + messages, messages.contains(message));
+   }
+
+   private void execute(final SpringMvcEndpointGeneratorMojo mojo) throws Exception {
+      messages.clear();
+      mojo.setLog(new SystemStreamLog() {
+         @Override
+         public void info(final CharSequence content) {
+            messages.add(content.toString());
+            super.info(content);
+         }
+      });
+      mojo.execute();
+   }
+
+   private SpringMvcEndpointGeneratorMojo loadMojo() throws Exception {
+      final MavenProject mavenProject = mojoRule.readMavenProject(projectDir);
+      final ClassWorld classWorld = new ClassWorld();
+      final ClassRealm realm = classWorld.newRealm("test", getClass().getClassLoader());
+      mavenProject.setClassRealm(realm);
+
+      final SpringMvcEndpointGeneratorMojo mojo =
+         (SpringMvcEndpointGeneratorMojo) mojoRule.lookupConfiguredMojo(mavenProject, GOAL_NAME);
+      Assert.assertNotNull(mojo);
+      return mojo;
+   }
+}
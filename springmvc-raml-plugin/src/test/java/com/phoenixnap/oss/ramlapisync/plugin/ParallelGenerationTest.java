@@ -0,0 +1,108 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlapisync.plugin;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.testing.MojoRule;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.classworlds.ClassWorld;
+import org.codehaus.plexus.classworlds.realm.ClassRealm;
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.phoenixnap.oss.ramlapisync.generation.rules.Spring4ControllerDecoratorRule;
+import com.phoenixnap.oss.ramlapisync.generation.rules.Spring4RestTemplateClientRule;
+
+/**
+ * Checks that generating RAML 0.8 controllers on multiple threads writes the same files as a single thread
+ */
+public class ParallelGenerationTest
+{
+   private static final String GOAL_NAME = "generate-springmvc-endpoints";
+   private static final String PARALLEL_GENERATION = "parallel-generation";
+   private static final String OUTPUT_DIR = "target/generated-sources/spring-mvc";
+
+   @Rule
+   public MojoRule mojoRule = new MojoRule();
+
+   @Rule
+   public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+   @Test
+   public void testControllerStubs() throws Exception {
+      assertParallelOutputMatchesSerial(null);
+   }
+
+   @Test
+   public void testControllerDecorators() throws Exception {
+      assertParallelOutputMatchesSerial(Spring4ControllerDecoratorRule.class.getName());
+   }
+
+   @Test
+   public void testRestTemplateClients() throws Exception {
+      assertParallelOutputMatchesSerial(Spring4RestTemplateClientRule.class.getName());
+   }
+
+   private void assertParallelOutputMatchesSerial(final String rule) throws Exception {
+      final Map<String, String> serialSources = generate("serial", rule, 1);
+      final Map<String, String> parallelSources = generate("parallel", rule, 4);
+      Assert.assertTrue(serialSources.containsKey("com/test/samples/model/Song.java"));
+      Assert.assertEquals(serialSources, parallelSources);
+   }
+
+   private Map<String, String> generate(final String name, final String rule, final int threads) throws Exception {
+      final File projectDir = temporaryFolder.newFolder(name);
+      FileUtils.copyDirectoryStructure(new File("src/test/resources/" + PARALLEL_GENERATION), projectDir);
+
+      final SpringMvcEndpointGeneratorMojo mojo = loadMojo(projectDir);
+      if (rule != null) {
+         mojo.rule = rule;
+      }
+      mojo.generationThreads = threads;
+      mojo.execute();
+      return readSources(new File(projectDir, OUTPUT_DIR));
+   }
+
+   private Map<String, String> readSources(final File dir) throws Exception {
+      final Map<String, String> sources = new TreeMap<>();
+      try (Stream<Path> files = Files.walk(dir.toPath())) {
+         for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+            sources.put(dir.toPath().relativize(file).toString().replace(File.separatorChar, '/'),
+               new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+         }
+      }
+      return sources;
+   }
+
+   private SpringMvcEndpointGeneratorMojo loadMojo(final File projectDir) throws Exception {
+      final MavenProject mavenProject = mojoRule.readMavenProject(projectDir);
+      final ClassWorld classWorld = new ClassWorld();
+      final ClassRealm realm = classWorld.newRealm("test", getClass().getClassLoader());
+      mavenProject.setClassRealm(realm);
+
+      final SpringMvcEndpointGeneratorMojo mojo =
+         (SpringMvcEndpointGeneratorMojo) mojoRule.lookupConfiguredMojo(mavenProject, GOAL_NAME);
+      Assert.assertNotNull(mojo);
+      return mojo;
+   }
+}